@@ -0,0 +1,257 @@
+package com.transport;
+
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableModel;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads the rows of one table model on a background thread and swaps them
+ * into the model on the EDT in a single step. Starting a new load supersedes
+ * the one in flight, whose rows are then dropped.
+ *
+ * With a row query set, single-row changes from the {@link ChangeFeed} are
+ * patched into the model without reloading the rest of the table.
+ *
+ * Each load also builds a {@link TableSearchIndex} over the rows, which row
+ * patches keep up to date.
+ *
+ * A full load reads its rows at some point after it starts, so its snapshot
+ * may predate changes that arrive while it runs. Those changes are patched in
+ * at once and replayed after the load's rows are swapped in.
+ */
+public class AsyncTableLoader {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(3, r -> {
+        Thread t = new Thread(r, "table-loader-" + THREAD_COUNTER.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final DefaultTableModel model;
+    private final JLabel statusLabel;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> pending;
+    private String rowQuery;
+    private RowMapper rowMapper;
+    private boolean prependNewRows;
+    // id (column 0) -> model row, rebuilt lazily after loads and deletes
+    private Map<Object, Integer> rowIndex;
+    private TableSearchIndex searchIndex;
+    // id -> latest change seen while a full load is in flight, null when none is; EDT only
+    private Map<Integer, ChangeFeed.Change> changesDuringLoad;
+
+    public interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+
+    public AsyncTableLoader(DefaultTableModel model, JLabel statusLabel) {
+        this.model = model;
+        this.statusLabel = statusLabel;
+    }
+
+    /**
+     * Starts loading the query results into the model. Must be called on the EDT.
+     */
+    public synchronized void load(String query, RowMapper mapper, Consumer<SQLException> onError) {
+        long loadId = generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(true);
+        }
+        setLoading(true);
+        if (changesDuringLoad == null) {
+            changesDuringLoad = new LinkedHashMap<>();
+        }
+
+        pending = EXECUTOR.submit(() -> {
+            try {
+                List<Object[]> rows = DatabaseConnection.read(query, rs -> {
+                    List<Object[]> snapshot = new ArrayList<>();
+                    while (rs.next()) {
+                        if (isSuperseded(loadId)) {
+                            return null;
+                        }
+                        snapshot.add(mapper.map(rs));
+                    }
+                    return Collections.unmodifiableList(snapshot);
+                });
+                if (rows != null) {
+                    TableSearchIndex index = TableSearchIndex.build(rows);
+                    SwingUtilities.invokeLater(() -> swapRows(loadId, rows, index));
+                }
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (loadId == generation.get()) {
+                        // The model keeps its rows, which already have the changes patched in
+                        changesDuringLoad = null;
+                        setLoading(false);
+                        onError.accept(e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Sets the query used to re-read one row; it must take the row id as its
+     * only parameter and map to the same columns as the full load.
+     *
+     * @param prependNewRows add inserted rows at the top instead of the bottom
+     */
+    public void setRowQuery(String rowQuery, RowMapper mapper, boolean prependNewRows) {
+        this.rowQuery = rowQuery;
+        this.rowMapper = mapper;
+        this.prependNewRows = prependNewRows;
+    }
+
+    /**
+     * Patches the row named by the change into the model. Must be called on
+     * the EDT. Deletes are applied at once; inserts and updates re-read the
+     * row in the background first. A change that arrives during a full load
+     * is applied again once the load's rows are in.
+     */
+    public void applyChange(ChangeFeed.Change change) {
+        if (changesDuringLoad != null) {
+            changesDuringLoad.remove(change.getId());
+            changesDuringLoad.put(change.getId(), change);
+        }
+        if (change.getKind() == ChangeFeed.Kind.DELETED) {
+            removeRow(change.getId());
+            return;
+        }
+        if (rowQuery == null) {
+            throw new IllegalStateException("No row query set");
+        }
+        long loadId = generation.get();
+        int id = change.getId();
+        EXECUTOR.submit(() -> {
+            try {
+                Object[] row = DatabaseConnection.read(rowQuery,
+                    pstmt -> pstmt.setInt(1, id),
+                    rs -> rs.next() ? rowMapper.map(rs) : null);
+                SwingUtilities.invokeLater(() -> {
+                    // A full load started since then replays the change after its swap
+                    if (loadId == generation.get()) {
+                        putRow(id, row);
+                    }
+                });
+            } catch (SQLException e) {
+                System.err.println("❌ Error reloading row " + id + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void putRow(int id, Object[] row) {
+        Integer index = indexOf(id);
+        if (row == null) {
+            if (index != null) {
+                removeRow(id);
+            }
+        } else if (index != null) {
+            if (searchIndex != null) {
+                searchIndex.setRow(index, row);
+            }
+            // One update event for the row rather than one per cell
+            model.getDataVector().set(index, new Vector<>(Arrays.asList(row)));
+            model.fireTableRowsUpdated(index, index);
+        } else if (prependNewRows) {
+            if (searchIndex != null) {
+                searchIndex.insertRow(0, row);
+            }
+            model.insertRow(0, row);
+            rowIndex = null;
+        } else {
+            if (searchIndex != null) {
+                searchIndex.setRow(searchIndex.size(), row);
+            }
+            model.addRow(row);
+            rowIndex.put(row[0], model.getRowCount() - 1);
+        }
+        setLoading(false);
+    }
+
+    private void removeRow(int id) {
+        Integer index = indexOf(id);
+        if (index != null) {
+            if (searchIndex != null) {
+                searchIndex.removeRow(index);
+            }
+            model.removeRow(index);
+            rowIndex = null;
+            setLoading(false);
+        }
+    }
+
+    private Integer indexOf(int id) {
+        if (rowIndex == null) {
+            rowIndex = new HashMap<>();
+            for (int row = 0; row < model.getRowCount(); row++) {
+                rowIndex.put(model.getValueAt(row, 0), row);
+            }
+        }
+        return rowIndex.get(id);
+    }
+
+    /**
+     * Search index over the rows currently in the model, or null before the
+     * first load. Only use it on the EDT.
+     */
+    public TableSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    private boolean isSuperseded(long loadId) {
+        return loadId != generation.get() || Thread.currentThread().isInterrupted();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void swapRows(long loadId, List<Object[]> rows, TableSearchIndex index) {
+        if (loadId != generation.get()) {
+            return;
+        }
+        // Replace the data vector directly so listeners see one change event, not one per row
+        Vector data = model.getDataVector();
+        data.clear();
+        for (Object[] row : rows) {
+            data.add(new Vector<>(Arrays.asList(row)));
+        }
+        rowIndex = null;
+        // Swap the index first: the change event makes the row sorter filter again
+        searchIndex = index;
+        model.fireTableDataChanged();
+        setLoading(false);
+
+        // The snapshot may have been read before these changes were committed
+        Map<Integer, ChangeFeed.Change> changes = changesDuringLoad;
+        changesDuringLoad = null;
+        for (ChangeFeed.Change change : changes.values()) {
+            applyChange(change);
+        }
+    }
+
+    private void setLoading(boolean loading) {
+        if (statusLabel != null) {
+            statusLabel.setText(loading ? "⏳ Loading..." : model.getRowCount() + " rows");
+        }
+    }
+
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online backups of the database and restore from them.
+ *
+ * A backup is taken with VACUUM INTO on a dedicated connection. In WAL mode
+ * that reads one consistent snapshot without blocking the writer, so bookings
+ * keep flowing while it runs. Each backup is checked with PRAGMA
+ * integrity_check and gets a SHA-256 sidecar file (transport_backup_*.db.sha256)
+ * that restore verifies before touching the live database.
+ *
+ * Automatic backups run on a low-priority background thread driven by the
+ * auto_backup / backup_interval settings; old backups beyond the retention
+ * count are pruned.
+ */
+public class BackupService {
+    private static final String PREFIX = "transport_backup_";
+    private static final String SUFFIX = ".db";
+    private static final String CHECKSUM_SUFFIX = ".sha256";
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "db-backup");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    private static ScheduledFuture<?> scheduled;
+
+    private BackupService() {
+    }
+
+    /**
+     * (Re)schedules automatic backups. The first run is timed from the newest
+     * existing backup, so restarting the app does not trigger a backup every
+     * time.
+     */
+    public static synchronized void configure(boolean enabled, int intervalHours, String backupDir, int retention) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        if (!enabled) {
+            return;
+        }
+        long intervalMs = TimeUnit.HOURS.toMillis(Math.max(1, intervalHours));
+        File newest = newestBackup(new File(backupDir));
+        long age = newest != null ? System.currentTimeMillis() - newest.lastModified() : Long.MAX_VALUE;
+        long initialDelay = Math.max(0, intervalMs - age);
+        scheduled = SCHEDULER.scheduleAtFixedRate(() -> {
+            try {
+                backup(new File(backupDir));
+                prune(new File(backupDir), retention);
+            } catch (IOException | SQLException e) {
+                System.err.println("❌ Automatic backup failed: " + e.getMessage());
+            }
+        }, initialDelay, intervalMs, TimeUnit.MILLISECONDS);
+        System.out.println("✅ Automatic backups every " + intervalHours + "h, next in " +
+            TimeUnit.MILLISECONDS.toMinutes(initialDelay) + " min");
+    }
+
+    /**
+     * Takes a backup into the directory and returns the backup file.
+     */
+    public static synchronized File backup(File backupDir) throws IOException, SQLException {
+        if (!backupDir.exists() && !backupDir.mkdirs()) {
+            throw new IOException("Cannot create backup directory " + backupDir);
+        }
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        File target = new File(backupDir, PREFIX + timestamp + SUFFIX);
+        File partial = new File(backupDir, target.getName() + ".partial");
+        Files.deleteIfExists(partial.toPath());
+
+        long start = System.currentTimeMillis();
+        try (Connection conn = DatabaseConnection.openDedicatedConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("VACUUM INTO '" + partial.getAbsolutePath().replace("'", "''") + "'");
+        }
+        try {
+            verifyIntegrity(partial);
+            // Only a verified backup gets its final name, so a crash never leaves a bad *.db behind
+            Files.move(partial.toPath(), target.toPath());
+        } finally {
+            Files.deleteIfExists(partial.toPath());
+        }
+        String checksum = sha256(target);
+        Files.write(checksumFile(target).toPath(),
+            (checksum + "  " + target.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+
+        System.out.println("✅ Backup " + target.getName() + " written in " + (System.currentTimeMillis() - start) +
+            "ms (" + target.length() / 1024 + " KB)");
+        return target;
+    }
+
+    /**
+     * Verifies the backup and copies it over the live database through the
+     * writer connection, then repeats the startup steps on it: brings the
+     * schema up to date, finishes a data generation the backup caught half
+     * way and starts the backfills. Callers must reload what they show.
+     */
+    public static synchronized void restore(File backupFile) throws IOException, SQLException {
+        File sidecar = checksumFile(backupFile);
+        if (sidecar.exists()) {
+            String expected = new String(Files.readAllBytes(sidecar.toPath()), StandardCharsets.UTF_8).trim().split("\\s+")[0];
+            if (!expected.equalsIgnoreCase(sha256(backupFile))) {
+                throw new IOException("Checksum mismatch: " + backupFile.getName() + " is corrupt or was modified");
+            }
+        }
+        verifyIntegrity(backupFile);
+
+        DatabaseConnection.withWriter(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                // sqlite-jdbc extension: copies the file page by page into the open database
+                stmt.executeUpdate("restore from \"" + backupFile.getAbsolutePath() + "\"");
+            }
+            MigrationRunner.migrate(conn, Migrations.all());
+            FleetDataGenerator.restoreInterruptedLoad(conn);
+            return null;
+        });
+        MigrationRunner.startBackfills(Migrations.all());
+        DataVersion.bump();
+        NotificationBus.resync();
+        System.out.println("✅ Database restored from " + backupFile.getName());
+    }
+
+    /**
+     * Deletes all but the newest retention backups.
+     */
+    public static List<File> prune(File backupDir, int retention) {
+        List<File> deleted = new ArrayList<>();
+        File[] backups = listBackups(backupDir);
+        for (int i = 0; i < backups.length - Math.max(1, retention); i++) {
+            if (backups[i].delete()) {
+                checksumFile(backups[i]).delete();
+                deleted.add(backups[i]);
+            }
+        }
+        if (!deleted.isEmpty()) {
+            System.out.println("🗑️ Pruned " + deleted.size() + " old backup(s)");
+        }
+        return deleted;
+    }
+
+    public static synchronized void shutdown() {
+        SCHEDULER.shutdownNow();
+    }
+
+    private static void verifyIntegrity(File file) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA integrity_check")) {
+            String result = rs.next() ? rs.getString(1) : "no result";
+            if (!"ok".equals(result)) {
+                throw new SQLException("Integrity check failed for " + file.getName() + ": " + result);
+            }
+        }
+    }
+
+    static String sha256(File file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()),
+                MessageDigest.getInstance("SHA-256"))) {
+            byte[] buffer = new byte[64 * 1024];
+            while (in.read(buffer) != -1) {
+                // reading feeds the digest
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : ((DigestInputStream) in).getMessageDigest().digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static File checksumFile(File backup) {
+        return new File(backup.getPath() + CHECKSUM_SUFFIX);
+    }
+
+    private static File[] listBackups(File backupDir) {
+        File[] backups = backupDir.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (backups == null) {
+            return new File[0];
+        }
+        // The timestamp in the name sorts chronologically
+        Arrays.sort(backups, (a, b) -> a.getName().compareTo(b.getName()));
+        return backups;
+    }
+
+    private static File newestBackup(File backupDir) {
+        File[] backups = listBackups(backupDir);
+        return backups.length > 0 ? backups[backups.length - 1] : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.transport;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One vertical bar per category, in the given order. Category names that
+ * do not fit under their bar are shortened; the hover label has them in
+ * full.
+ */
+public final class BarChart extends Chart {
+    private final String[] categories;
+    private final double[] values;
+
+    public BarChart(String valueFormat, String[] categories, double[] values) {
+        super(valueFormat);
+        this.categories = categories;
+        this.values = values;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    double getMaxValue() {
+        double max = 0;
+        for (double value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @Override
+    List<Hotspot> plot(Graphics2D g, Rectangle plot, double max) {
+        FontMetrics metrics = g.getFontMetrics();
+        double slot = (double) plot.width / values.length;
+        int barWidth = Math.max(1, (int) (slot * 0.7));
+        int bottom = plot.y + plot.height;
+
+        List<Hotspot> hotspots = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            int center = plot.x + (int) Math.round(slot * i + slot / 2);
+            int top = toY(plot, values[i], max);
+            g.setColor(SERIES);
+            g.fillRect(center - barWidth / 2, top, barWidth, bottom - top);
+            hotspots.add(new Hotspot(center, top, categories[i] + ": " + formatValue(values[i])));
+
+            String label = fit(metrics, categories[i], (int) slot - 4);
+            if (!label.isEmpty()) {
+                g.setColor(TEXT);
+                g.drawString(label, center - metrics.stringWidth(label) / 2, bottom + metrics.getAscent() + 4);
+            }
+        }
+        return hotspots;
+    }
+
+    /**
+     * The text, cut down with a trailing "…" to fit the width, or "" if not
+     * even one character fits.
+     */
+    private static String fit(FontMetrics metrics, String text, int width) {
+        if (text == null) {
+            return "";
+        }
+        if (metrics.stringWidth(text) <= width) {
+            return text;
+        }
+        for (int length = text.length() - 1; length > 0; length--) {
+            String shortened = text.substring(0, length) + "…";
+            if (metrics.stringWidth(shortened) <= width) {
+                return shortened;
+            }
+        }
+        return "";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.transport;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Cancels a background job together with the query it is running. Passed
+ * to {@link DatabaseConnection#read(String, DatabaseConnection.ParameterBinder,
+ * DatabaseConnection.ResultSetHandler, CancelToken)}, which registers its
+ * statement for as long as the query runs; {@link #cancel()} from any thread
+ * then interrupts SQLite and the query fails with an SQLException. Callers
+ * tell a cancellation from a real failure by {@link #isCancelled()}.
+ */
+public final class CancelToken {
+    private volatile boolean cancelled;
+    private Statement running;
+
+    public synchronized void cancel() {
+        cancelled = true;
+        if (running != null) {
+            try {
+                running.cancel();
+            } catch (SQLException e) {
+                System.err.println("❌ Error cancelling query: " + e.getMessage());
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers the statement about to run, or fails if the job was already
+     * cancelled.
+     */
+    synchronized void attach(Statement statement) throws SQLException {
+        checkCancelled();
+        running = statement;
+    }
+
+    /**
+     * Unregisters the statement. Must happen before its connection goes
+     * back to the pool, or a late cancel() would interrupt the next user.
+     */
+    synchronized void detach() {
+        running = null;
+    }
+
+    void checkCancelled() throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.transport;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Row-level change notifications. Code that inserts, updates or deletes a
+ * row publishes the entity and its id, and the table models showing that
+ * entity patch just the one row instead of reloading the whole table.
+ *
+ * Listeners are always called on the EDT, whichever thread published.
+ */
+public class ChangeFeed {
+    public enum Entity { DRIVER, VEHICLE, TRIP, ROUTE, TICKET, MAINTENANCE }
+
+    public enum Kind { INSERTED, UPDATED, DELETED }
+
+    public static final class Change {
+        private final Entity entity;
+        private final Kind kind;
+        private final int id;
+
+        public Change(Entity entity, Kind kind, int id) {
+            this.entity = entity;
+            this.kind = kind;
+            this.id = id;
+        }
+
+        public Entity getEntity() {
+            return entity;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return entity + " " + id + " " + kind;
+        }
+    }
+
+    public interface Listener {
+        void changed(Change change);
+    }
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private ChangeFeed() {
+    }
+
+    public static void subscribe(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unsubscribe(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static void publish(Entity entity, Kind kind, int id) {
+        Change change = new Change(entity, kind, id);
+        if (SwingUtilities.isEventDispatchThread()) {
+            deliver(change);
+        } else {
+            SwingUtilities.invokeLater(() -> deliver(change));
+        }
+    }
+
+    private static void deliver(Change change) {
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.changed(change);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Change listener failed for " + change + ": " + e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.transport;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A chart drawn with Java2D at any size. A chart holds a fixed snapshot of
+ * its data and is never changed, so {@link ChartPanel} can render it on a
+ * worker thread while the EDT keeps painting the previous image.
+ *
+ * Subclasses draw the series into the plot area; the background, the value
+ * axis and its grid lines are drawn here.
+ */
+public abstract class Chart {
+    static final Color BACKGROUND = Color.WHITE;
+    static final Color AXIS = Color.GRAY;
+    static final Color GRID = new Color(230, 230, 230);
+    static final Color SERIES = new Color(33, 150, 243);
+    static final Color TEXT = Color.DARK_GRAY;
+    static final Font LABEL_FONT = new Font("Arial", Font.PLAIN, 11);
+    // Room for the value labels on the left and the x labels below the plot
+    private static final int LEFT = 52;
+    private static final int RIGHT = 12;
+    private static final int TOP = 12;
+    private static final int BOTTOM = 24;
+    private static final int VALUE_TICKS = 5;
+
+    /**
+     * A point of the chart that shows a label while the mouse is over it,
+     * in pixels of the rendered image.
+     */
+    public static final class Hotspot {
+        private final int x;
+        private final int y;
+        private final String label;
+
+        Hotspot(int x, int y, String label) {
+            this.x = x;
+            this.y = y;
+            this.label = label;
+        }
+
+        public int getX() { return x; }
+        public int getY() { return y; }
+        public String getLabel() { return label; }
+    }
+
+    // String.format pattern for one value in hover labels, e.g. "$%,.2f"
+    private final String valueFormat;
+
+    protected Chart(String valueFormat) {
+        this.valueFormat = valueFormat;
+    }
+
+    /**
+     * Draws the chart over the whole width x height area and returns its
+     * hotspots in ascending x order.
+     */
+    public final List<Hotspot> render(Graphics2D g, int width, int height) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        g.setFont(LABEL_FONT);
+
+        Rectangle plot = new Rectangle(LEFT, TOP, width - LEFT - RIGHT, height - TOP - BOTTOM);
+        if (plot.width < 10 || plot.height < 10) {
+            return Collections.emptyList();
+        }
+        if (isEmpty()) {
+            drawCentered(g, "No data for this period", width / 2, height / 2);
+            return Collections.emptyList();
+        }
+        double max = niceCeiling(getMaxValue());
+        drawValueAxis(g, plot, max);
+        return plot(g, plot, max);
+    }
+
+    abstract boolean isEmpty();
+
+    abstract double getMaxValue();
+
+    /**
+     * Draws the series into the plot area, where max is the value at its
+     * top edge and 0 the value at its bottom edge.
+     */
+    abstract List<Hotspot> plot(Graphics2D g, Rectangle plot, double max);
+
+    String formatValue(double value) {
+        return String.format(valueFormat, value);
+    }
+
+    static int toY(Rectangle plot, double value, double max) {
+        return plot.y + plot.height - (int) Math.round(Math.max(value, 0) / max * plot.height);
+    }
+
+    static void drawCentered(Graphics2D g, String text, int x, int y) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.setColor(TEXT);
+        g.drawString(text, x - metrics.stringWidth(text) / 2, y + metrics.getAscent() / 2);
+    }
+
+    private void drawValueAxis(Graphics2D g, Rectangle plot, double max) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.setStroke(new BasicStroke(1f));
+        for (int tick = 0; tick <= VALUE_TICKS; tick++) {
+            double value = max * tick / VALUE_TICKS;
+            int y = toY(plot, value, max);
+            g.setColor(tick == 0 ? AXIS : GRID);
+            g.drawLine(plot.x, y, plot.x + plot.width, y);
+            String label = compact(value);
+            g.setColor(TEXT);
+            g.drawString(label, plot.x - 6 - metrics.stringWidth(label), y + metrics.getAscent() / 2 - 1);
+        }
+    }
+
+    /**
+     * The smallest 1, 2, 2.5 or 5 times a power of ten at or above the
+     * value, so the value ticks fall on round numbers.
+     */
+    static double niceCeiling(double value) {
+        if (value <= 0) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(value)));
+        for (double step : new double[]{1, 2, 2.5, 5, 10}) {
+            if (value <= step * magnitude) {
+                return step * magnitude;
+            }
+        }
+        return 10 * magnitude;
+    }
+
+    /** E.g. "950", "12.5k", "3.2M", for axis labels. */
+    static String compact(double value) {
+        if (value >= 1_000_000) {
+            return trim(value / 1_000_000) + "M";
+        }
+        if (value >= 1_000) {
+            return trim(value / 1_000) + "k";
+        }
+        return trim(value);
+    }
+
+    private static String trim(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.1f", value);
+    }
+}
\ No newline at end of file
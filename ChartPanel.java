@@ -0,0 +1,196 @@
+package com.transport;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shows a {@link Chart} from an image rendered on a background thread.
+ * Painting only copies the last image to the screen, stretched while the
+ * image for a new size is being rendered, so resizing never draws the chart
+ * on the EDT. Hovering draws just the label of the nearest point on top.
+ */
+public class ChartPanel extends JComponent {
+    private static final ExecutorService RENDERER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "chart-renderer");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final int HOVER_RADIUS = 4;
+    private static final Color HOVER_BACKGROUND = new Color(255, 255, 255, 230);
+
+    private final AtomicLong generation = new AtomicLong();
+    private Chart chart;
+    private BufferedImage image;
+    private List<Chart.Hotspot> hotspots = Collections.emptyList();
+    private Chart.Hotspot hover;
+    private int requestedWidth;
+    private int requestedHeight;
+
+    public ChartPanel() {
+        setOpaque(true);
+        setPreferredSize(new Dimension(200, 150));
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                render();
+            }
+        });
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHover(nearest(e.getX()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHover(null);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    /**
+     * Shows the chart, or nothing for null. Must be called on the EDT.
+     */
+    public void setChart(Chart chart) {
+        this.chart = chart;
+        hover = null;
+        if (chart == null) {
+            generation.incrementAndGet();
+            image = null;
+            hotspots = Collections.emptyList();
+            repaint();
+            return;
+        }
+        requestedWidth = 0;
+        requestedHeight = 0;
+        render();
+    }
+
+    /**
+     * Renders the chart at the current size on the renderer thread, unless
+     * that size is already rendered or on its way.
+     */
+    private void render() {
+        int width = getWidth();
+        int height = getHeight();
+        if (chart == null || width <= 0 || height <= 0 || (width == requestedWidth && height == requestedHeight)) {
+            return;
+        }
+        requestedWidth = width;
+        requestedHeight = height;
+        long renderId = generation.incrementAndGet();
+        Chart snapshot = chart;
+        RENDERER.execute(() -> {
+            // A drag-resize queues one render per step; only the latest is drawn
+            if (renderId != generation.get()) {
+                return;
+            }
+            BufferedImage rendered = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rendered.createGraphics();
+            List<Chart.Hotspot> renderedHotspots;
+            try {
+                renderedHotspots = snapshot.render(g, width, height);
+            } finally {
+                g.dispose();
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (renderId == generation.get()) {
+                    image = rendered;
+                    hotspots = renderedHotspots;
+                    hover = null;
+                    repaint();
+                }
+            });
+        });
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (image == null) {
+            g.setColor(Chart.BACKGROUND);
+            g.fillRect(0, 0, width, height);
+            return;
+        }
+        if (image.getWidth() == width && image.getHeight() == height) {
+            g.drawImage(image, 0, 0, null);
+            if (hover != null) {
+                paintHover((Graphics2D) g);
+            }
+        } else {
+            g.drawImage(image, 0, 0, width, height, null);
+        }
+    }
+
+    private void paintHover(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(Chart.SERIES.darker());
+        g.fillOval(hover.getX() - HOVER_RADIUS, hover.getY() - HOVER_RADIUS, HOVER_RADIUS * 2, HOVER_RADIUS * 2);
+
+        g.setFont(Chart.LABEL_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        String label = hover.getLabel();
+        int boxWidth = metrics.stringWidth(label) + 8;
+        int boxHeight = metrics.getHeight() + 4;
+        // Right of and above the point, kept inside the panel
+        int x = Math.max(0, Math.min(hover.getX() + 8, getWidth() - boxWidth - 1));
+        int y = Math.max(0, hover.getY() - boxHeight - 8);
+        g.setColor(HOVER_BACKGROUND);
+        g.fillRect(x, y, boxWidth, boxHeight);
+        g.setColor(Chart.AXIS);
+        g.drawRect(x, y, boxWidth, boxHeight);
+        g.setColor(Chart.TEXT);
+        g.drawString(label, x + 4, y + 2 + metrics.getAscent());
+    }
+
+    private void setHover(Chart.Hotspot hotspot) {
+        if (hotspot != hover) {
+            hover = hotspot;
+            repaint();
+        }
+    }
+
+    /**
+     * The hotspot closest to x; hotspots are in ascending x order.
+     */
+    private Chart.Hotspot nearest(int x) {
+        if (hotspots.isEmpty()) {
+            return null;
+        }
+        int low = 0;
+        int high = hotspots.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (hotspots.get(mid).getX() < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        // low is the first hotspot at or right of x; the one before may be closer
+        if (low > 0 && x - hotspots.get(low - 1).getX() <= hotspots.get(low).getX() - x) {
+            low--;
+        }
+        return hotspots.get(low);
+    }
+}
\ No newline at end of file
@@ -2,16 +2,14 @@ package com.transport;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.Timer;
-import javax.swing.RowFilter;
 
 public class CompleteTransportSystem extends JFrame {
     private JPanel mainPanel;
@@ -22,17 +20,60 @@ public class CompleteTransportSystem extends JFrame {
     private JPanel routesPanel, ticketsPanel, maintenancePanel, reportsPanel, settingsPanel;
 
     // Data models
-    private DefaultTableModel driversTableModel, vehiclesTableModel, tripsTableModel;
-    private DefaultTableModel routesTableModel, ticketsTableModel, maintenanceTableModel;
+    private DefaultTableModel driversTableModel, vehiclesTableModel;
+    private DefaultTableModel routesTableModel, maintenanceTableModel;
+    
+    // Trips and tickets grow with history, so they are paged from the database
+    private PagedTableModel tripsTableModel, ticketsTableModel;
+    private Map<String, PagedTableModel> pagedModels = new HashMap<>();
+    private static final String[] TRIP_SEARCH_COLUMNS = {
+        "t.order_number", "t.start_location", "t.end_location", "t.status", "v.name", "d.full_name"
+    };
+    private static final String[] TICKET_SEARCH_COLUMNS = {
+        "ticket_number", "passenger_name", "passenger_phone", "seat_number", "status"
+    };
+
+    // Paged trips query, newest first
+    static final String TRIPS_SELECT = TripDao.COLUMNS;
+    static final String TRIPS_FROM = TripDao.FROM;
+    static final AsyncTableLoader.RowMapper TRIP_ROW = rs -> tripRow(TripDao.map(rs));
+    static final AsyncTableLoader.RowMapper TICKET_ROW = rs -> ticketRow(TicketDao.map(rs));
+
+    // Queries for the fully loaded tables, shared by the full load (+ ORDER BY)
+    // and the single-row reload after a change (+ WHERE id = ?)
+    static final String DRIVERS_QUERY = DriverDao.SELECT;
+    static final AsyncTableLoader.RowMapper DRIVER_ROW = rs -> driverRow(DriverDao.map(rs));
+    static final String VEHICLES_QUERY = VehicleDao.SELECT;
+    static final AsyncTableLoader.RowMapper VEHICLE_ROW = rs -> vehicleRow(VehicleDao.map(rs));
+    static final String ROUTES_QUERY = RouteDao.SELECT;
+    static final AsyncTableLoader.RowMapper ROUTE_ROW = rs -> routeRow(RouteDao.map(rs));
+    static final String MAINTENANCE_QUERY = MaintenanceDao.SELECT;
+    static final AsyncTableLoader.RowMapper MAINTENANCE_ROW = rs -> maintenanceRow(MaintenanceDao.map(rs));
+
+    // Background loaders and their per-panel loading indicators
+    private AsyncTableLoader driversLoader, vehiclesLoader;
+    private AsyncTableLoader routesLoader, maintenanceLoader;
+    private Map<String, JLabel> loadingLabels = new HashMap<>();
+    private final ChangeFeed.Listener changeListener = this::applyChange;
+
+    // Dashboard card value labels, updated in place
+    private Map<String, JLabel> dashboardValueLabels = new HashMap<>();
 
     // Search components
     private Map<String, JTextField> searchFields = new HashMap<>();
-    private Map<String, TableRowSorter<?>> tableSorters = new HashMap<>();
+    private Map<String, TableRowSorter<? extends TableModel>> tableSorters = new HashMap<>();
+    private Map<String, AsyncTableLoader> searchLoaders = new HashMap<>();
+    private static final int SEARCH_DEBOUNCE_MS = 200;
+    private static final int MAX_FULL_TEXT_HITS = 10000;
 
     // Real-time components
-    private Timer notificationTimer;
+    private final NotificationBus.Listener notificationListener = unread -> {
+        unreadNotifications = unread;
+        updateNotificationBadge();
+    };
     private JLabel notificationBadge;
     private int unreadNotifications = 0;
+    private NotificationInbox notificationInbox;
 
     public CompleteTransportSystem() {
         // Initialize data models FIRST
@@ -44,8 +85,8 @@ public class CompleteTransportSystem extends JFrame {
         
         // Then load data and start services
         loadAllDataFromDatabase();
+        ChangeFeed.subscribe(changeListener);
         startNotificationService();
-        refreshDashboard();
     }
 
     private void setupNavigation() {
@@ -96,11 +137,22 @@ public class CompleteTransportSystem extends JFrame {
     }
 
     private void cleanup() {
-        // Stop notification timer
-        if (notificationTimer != null) {
-            notificationTimer.cancel();
-        }
-        
+        // Stop notification delivery
+        NotificationBus.unsubscribe(notificationListener);
+        NotificationBus.shutdown();
+        
+        // Stop background table loads
+        ChangeFeed.unsubscribe(changeListener);
+        AsyncTableLoader.shutdown();
+        PagedTableModel.shutdown();
+        TableSearchIndex.shutdown();
+        FullTextSearch.shutdown();
+        BackupService.shutdown();
+        NotificationRetention.shutdown();
+
+        // Write queued notifications before the connection goes away
+        NotificationWriter.shutdown();
+
         // Close database connection
         DatabaseConnection.closeConnection();
         
@@ -174,16 +226,9 @@ public class CompleteTransportSystem extends JFrame {
         
         // Trips table model
         String[] tripColumns = {"ID", "Order Number", "Date", "Start Location", "End Location", "Status", "Amount", "Vehicle", "Driver"};
-        tripsTableModel = new DefaultTableModel(tripColumns, 0) {
-            @Override 
-            public boolean isCellEditable(int row, int column) { 
-                return false; 
-            }
-            @Override
-            public Class<?> getColumnClass(int column) {
-                return String.class;
-            }
-        };
+        tripsTableModel = new PagedTableModel(tripColumns, TRIPS_SELECT, TRIPS_FROM, "FROM trips t",
+            "t.date", "date", "t.trip_id", "trip_id", true, TRIP_ROW, createLoadingLabel("TRIPS"));
+        pagedModels.put("TRIPS", tripsTableModel);
         
         // Routes table model
         String[] routeColumns = {"ID", "Route Name", "Start Point", "End Point", "Distance (km)", "Estimated Time", "Fare/km", "Status"};
@@ -200,16 +245,10 @@ public class CompleteTransportSystem extends JFrame {
         
         // Tickets table model
         String[] ticketColumns = {"ID", "Ticket Number", "Passenger Name", "Phone", "Seat", "Price", "Status", "Trip ID"};
-        ticketsTableModel = new DefaultTableModel(ticketColumns, 0) {
-            @Override 
-            public boolean isCellEditable(int row, int column) { 
-                return false; 
-            }
-            @Override
-            public Class<?> getColumnClass(int column) {
-                return String.class;
-            }
-        };
+        ticketsTableModel = new PagedTableModel(ticketColumns, TicketDao.COLUMNS, TicketDao.FROM, TicketDao.FROM,
+            null, null, "ticket_id", "ticket_id", false, TICKET_ROW,
+            createLoadingLabel("TICKETS"));
+        pagedModels.put("TICKETS", ticketsTableModel);
         
         // Maintenance table model
         String[] maintenanceColumns = {"ID", "Reference", "Description", "Date", "Completion", "Cost", "Status", "Vehicle"};
@@ -223,6 +262,27 @@ public class CompleteTransportSystem extends JFrame {
                 return String.class;
             }
         };
+        
+        // Background loaders, one per table model
+        driversLoader = new AsyncTableLoader(driversTableModel, createLoadingLabel("DRIVERS"));
+        vehiclesLoader = new AsyncTableLoader(vehiclesTableModel, createLoadingLabel("VEHICLES"));
+        routesLoader = new AsyncTableLoader(routesTableModel, createLoadingLabel("ROUTES"));
+        maintenanceLoader = new AsyncTableLoader(maintenanceTableModel, createLoadingLabel("MAINTENANCE"));
+        driversLoader.setRowQuery(DRIVERS_QUERY + " WHERE driver_id = ?", DRIVER_ROW, false);
+        vehiclesLoader.setRowQuery(VEHICLES_QUERY + " WHERE v.vehicle_id = ?", VEHICLE_ROW, false);
+        routesLoader.setRowQuery(ROUTES_QUERY + " WHERE route_id = ?", ROUTE_ROW, false);
+        maintenanceLoader.setRowQuery(MAINTENANCE_QUERY + " WHERE m.maintenance_id = ?", MAINTENANCE_ROW, true);
+        searchLoaders.put("DRIVERS", driversLoader);
+        searchLoaders.put("VEHICLES", vehiclesLoader);
+        searchLoaders.put("ROUTES", routesLoader);
+        searchLoaders.put("MAINTENANCE", maintenanceLoader);
+    }
+
+    private JLabel createLoadingLabel(String module) {
+        JLabel label = new JLabel();
+        label.setForeground(Color.GRAY);
+        loadingLabels.put(module, label);
+        return label;
     }
 
     private void loadAllDataFromDatabase() {
@@ -236,152 +296,66 @@ public class CompleteTransportSystem extends JFrame {
     }
 
     private void loadDriversData() {
-        try {
-            driversTableModel.setRowCount(0);
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT driver_id, full_name, license_number, phone, email, status FROM drivers ORDER BY driver_id"
-            );
-            while (rs.next()) {
-                driversTableModel.addRow(new Object[]{
-                    rs.getInt("driver_id"),
-                    rs.getString("full_name"),
-                    rs.getString("license_number"),
-                    rs.getString("phone"),
-                    rs.getString("email"),
-                    rs.getString("status")
-                });
-            }
-            rs.getStatement().close();
-        } catch (SQLException e) {
-            showError("Error loading drivers: " + e.getMessage());
-        }
+        driversLoader.load(DRIVERS_QUERY + " ORDER BY driver_id", DRIVER_ROW,
+            e -> showError("Error loading drivers: " + e.getMessage()));
     }
 
     private void loadVehiclesData() {
-        try {
-            vehiclesTableModel.setRowCount(0);
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT v.vehicle_id, v.name, v.identifier, v.type, v.capacity, v.status, v.location, d.full_name " +
-                "FROM vehicles v LEFT JOIN drivers d ON v.driver_id = d.driver_id ORDER BY v.vehicle_id"
-            );
-            while (rs.next()) {
-                vehiclesTableModel.addRow(new Object[]{
-                    rs.getInt("vehicle_id"),
-                    rs.getString("name"),
-                    rs.getString("identifier"),
-                    rs.getString("type"),
-                    rs.getInt("capacity"),
-                    rs.getString("status"),
-                    rs.getString("location"),
-                    rs.getString("full_name") != null ? rs.getString("full_name") : "Unassigned"
-                });
-            }
-            rs.getStatement().close();
-        } catch (SQLException e) {
-            showError("Error loading vehicles: " + e.getMessage());
-        }
+        vehiclesLoader.load(VEHICLES_QUERY + " ORDER BY v.vehicle_id", VEHICLE_ROW,
+            e -> showError("Error loading vehicles: " + e.getMessage()));
     }
 
     private void loadTripsData() {
-        try {
-            tripsTableModel.setRowCount(0);
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT t.trip_id, t.order_number, t.date, t.start_location, t.end_location, t.status, " +
-                "t.total_amount, v.name as vehicle_name, d.full_name as driver_name " +
-                "FROM trips t " +
-                "LEFT JOIN vehicles v ON t.vehicle_id = v.vehicle_id " +
-                "LEFT JOIN drivers d ON t.driver_id = d.driver_id " +
-                "ORDER BY t.date DESC"
-            );
-            while (rs.next()) {
-                tripsTableModel.addRow(new Object[]{
-                    rs.getInt("trip_id"),
-                    rs.getString("order_number"),
-                    rs.getString("date"),
-                    rs.getString("start_location"),
-                    rs.getString("end_location"),
-                    rs.getString("status"),
-                    String.format("$%.2f", rs.getDouble("total_amount")),
-                    rs.getString("vehicle_name"),
-                    rs.getString("driver_name")
-                });
-            }
-            rs.getStatement().close();
-        } catch (SQLException e) {
-            showError("Error loading trips: " + e.getMessage());
-        }
+        tripsTableModel.refresh();
     }
 
     private void loadRoutesData() {
-        try {
-            routesTableModel.setRowCount(0);
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT route_id, route_name, start_point, end_point, distance_km, estimated_time_minutes, fare_per_km, status FROM routes ORDER BY route_id"
-            );
-            while (rs.next()) {
-                routesTableModel.addRow(new Object[]{
-                    rs.getInt("route_id"),
-                    rs.getString("route_name"),
-                    rs.getString("start_point"),
-                    rs.getString("end_point"),
-                    rs.getDouble("distance_km"),
-                    rs.getInt("estimated_time_minutes"),
-                    String.format("$%.2f", rs.getDouble("fare_per_km")),
-                    rs.getString("status")
-                });
-            }
-            rs.getStatement().close();
-        } catch (SQLException e) {
-            showError("Error loading routes: " + e.getMessage());
-        }
+        routesLoader.load(ROUTES_QUERY + " ORDER BY route_id", ROUTE_ROW,
+            e -> showError("Error loading routes: " + e.getMessage()));
     }
 
     private void loadTicketsData() {
-        try {
-            ticketsTableModel.setRowCount(0);
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT ticket_id, ticket_number, passenger_name, passenger_phone, seat_number, price, status, trip_id FROM tickets ORDER BY ticket_id"
-            );
-            while (rs.next()) {
-                ticketsTableModel.addRow(new Object[]{
-                    rs.getInt("ticket_id"),
-                    rs.getString("ticket_number"),
-                    rs.getString("passenger_name"),
-                    rs.getString("passenger_phone"),
-                    rs.getString("seat_number"),
-                    String.format("$%.2f", rs.getDouble("price")),
-                    rs.getString("status"),
-                    rs.getInt("trip_id")
-                });
-            }
-            rs.getStatement().close();
-        } catch (SQLException e) {
-            showError("Error loading tickets: " + e.getMessage());
-        }
+        ticketsTableModel.refresh();
     }
 
     private void loadMaintenanceData() {
-        try {
-            maintenanceTableModel.setRowCount(0);
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT m.maintenance_id, m.reference_id, m.description, m.maintenance_date, m.completion_date, m.cost, m.status, v.name " +
-                "FROM maintenance m JOIN vehicles v ON m.vehicle_id = v.vehicle_id ORDER BY m.maintenance_date DESC"
-            );
-            while (rs.next()) {
-                maintenanceTableModel.addRow(new Object[]{
-                    rs.getInt("maintenance_id"),
-                    rs.getString("reference_id"),
-                    rs.getString("description"),
-                    rs.getString("maintenance_date"),
-                    rs.getString("completion_date"),
-                    String.format("$%.2f", rs.getDouble("cost")),
-                    rs.getString("status"),
-                    rs.getString("name")
-                });
-            }
-            rs.getStatement().close();
-        } catch (SQLException e) {
-            showError("Error loading maintenance: " + e.getMessage());
+        maintenanceLoader.load(MAINTENANCE_QUERY + " ORDER BY m.maintenance_date DESC", MAINTENANCE_ROW,
+            e -> showError("Error loading maintenance: " + e.getMessage()));
+    }
+
+    /**
+     * Patches a single changed row into the table showing it. Tables that
+     * display the changed entity's name through a join are refreshed too.
+     */
+    private void applyChange(ChangeFeed.Change change) {
+        boolean renamedOrRemoved = change.getKind() != ChangeFeed.Kind.INSERTED;
+        switch (change.getEntity()) {
+            case DRIVER:
+                driversLoader.applyChange(change);
+                if (renamedOrRemoved) {
+                    loadVehiclesData();
+                    tripsTableModel.invalidatePages();
+                }
+                break;
+            case VEHICLE:
+                vehiclesLoader.applyChange(change);
+                if (renamedOrRemoved) {
+                    loadMaintenanceData();
+                    tripsTableModel.invalidatePages();
+                }
+                break;
+            case TRIP:
+                tripsTableModel.applyChange(change);
+                break;
+            case ROUTE:
+                routesLoader.applyChange(change);
+                break;
+            case TICKET:
+                ticketsTableModel.applyChange(change);
+                break;
+            case MAINTENANCE:
+                maintenanceLoader.applyChange(change);
+                break;
         }
     }
 
@@ -407,8 +381,21 @@ public class CompleteTransportSystem extends JFrame {
         notificationBadge.setBorder(BorderFactory.createEmptyBorder(3, 6, 3, 6));
         notificationBadge.setVisible(false);
         
+        JButton inboxButton = new JButton("🔔");
+        inboxButton.setToolTipText("Notifications");
+        inboxButton.setFocusPainted(false);
+        inboxButton.setBorder(BorderFactory.createEmptyBorder(3, 6, 3, 6));
+        inboxButton.setContentAreaFilled(false);
+        inboxButton.setForeground(Color.WHITE);
+        inboxButton.addActionListener(e -> showNotificationInbox());
+        
+        JPanel notificationPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 2, 0));
+        notificationPanel.setOpaque(false);
+        notificationPanel.add(inboxButton);
+        notificationPanel.add(notificationBadge);
+        
         headerPanel.add(logo, BorderLayout.WEST);
-        headerPanel.add(notificationBadge, BorderLayout.EAST);
+        headerPanel.add(notificationPanel, BorderLayout.EAST);
         sidebar.add(headerPanel);
         sidebar.add(Box.createRigidArea(new Dimension(0, 20)));
 
@@ -483,15 +470,23 @@ public class CompleteTransportSystem extends JFrame {
     private void showPanel(String panelName) {
         cardLayout.show((Container) mainPanel.getComponent(1), panelName);
         if ("DASHBOARD".equals(panelName)) {
-            refreshDashboard();
+            updateDashboardStats();
         }
     }
 
     private void loadNotificationsCount() {
-        unreadNotifications = DatabaseConnection.getUnreadNotificationCount();
+        unreadNotifications = NotificationBus.getUnreadCount();
         updateNotificationBadge();
     }
 
+    private void showNotificationInbox() {
+        if (notificationInbox == null || !notificationInbox.isDisplayable()) {
+            notificationInbox = new NotificationInbox(this);
+        }
+        notificationInbox.setVisible(true);
+        notificationInbox.toFront();
+    }
+
     private void updateNotificationBadge() {
         SwingUtilities.invokeLater(() -> {
             notificationBadge.setText(String.valueOf(unreadNotifications));
@@ -527,73 +522,41 @@ public class CompleteTransportSystem extends JFrame {
         JPanel statsPanel = new JPanel(new GridLayout(2, 4, 15, 15));
         statsPanel.setBorder(BorderFactory.createEmptyBorder(20, 0, 20, 0));
         
-        try {
-            Map<String, String> stats = getDashboardStatistics();
-            
-            DashboardStat[] dashboardStats = {
-                new DashboardStat("Active Drivers", stats.get("active_drivers"), "👥", new Color(74, 144, 226)),
-                new DashboardStat("Available Vehicles", stats.get("available_vehicles"), "🚚", new Color(86, 188, 138)),
-                new DashboardStat("Today's Trips", stats.get("today_trips"), "🛣️", new Color(242, 120, 75)),
-                new DashboardStat("Pending Tickets", stats.get("pending_tickets"), "🎫", new Color(155, 81, 224)),
-                new DashboardStat("Active Routes", stats.get("active_routes"), "📍", new Color(242, 201, 76)),
-                new DashboardStat("Maintenance Due", stats.get("maintenance_due"), "🔧", new Color(237, 85, 100)),
-                new DashboardStat("Monthly Revenue", stats.get("monthly_revenue"), "💰", new Color(47, 194, 175)),
-                new DashboardStat("System Uptime", "99.8%", "🟢", new Color(120, 120, 120))
-            };
-            
-            for (DashboardStat stat : dashboardStats) {
-                statsPanel.add(createStatCard(stat));
-            }
-            
-        } catch (SQLException e) {
-            showError("Error loading dashboard statistics: " + e.getMessage());
+        // Values are filled in by updateDashboardStats() from the stats snapshot
+        String[] keys = {
+            "active_drivers", "available_vehicles", "today_trips", "pending_tickets",
+            "active_routes", "maintenance_due", "monthly_revenue", null
+        };
+        DashboardStat[] dashboardStats = {
+            new DashboardStat("Active Drivers", "…", "👥", new Color(74, 144, 226)),
+            new DashboardStat("Available Vehicles", "…", "🚚", new Color(86, 188, 138)),
+            new DashboardStat("Today's Trips", "…", "🛣️", new Color(242, 120, 75)),
+            new DashboardStat("Pending Tickets", "…", "🎫", new Color(155, 81, 224)),
+            new DashboardStat("Active Routes", "…", "📍", new Color(242, 201, 76)),
+            new DashboardStat("Maintenance Due", "…", "🔧", new Color(237, 85, 100)),
+            new DashboardStat("Monthly Revenue", "…", "💰", new Color(47, 194, 175)),
+            new DashboardStat("System Uptime", "99.8%", "🟢", new Color(120, 120, 120))
+        };
+        
+        for (int i = 0; i < dashboardStats.length; i++) {
+            statsPanel.add(createStatCard(keys[i], dashboardStats[i]));
         }
         
         return statsPanel;
     }
 
-    private Map<String, String> getDashboardStatistics() throws SQLException {
-        Map<String, String> stats = new HashMap<>();
-        
-        // Active drivers
-        ResultSet rs = DatabaseConnection.executeQuery("SELECT COUNT(*) as count FROM drivers WHERE status = 'Active'");
-        stats.put("active_drivers", rs.next() ? String.valueOf(rs.getInt("count")) : "0");
-        rs.getStatement().close();
-        
-        // Available vehicles
-        rs = DatabaseConnection.executeQuery("SELECT COUNT(*) as count FROM vehicles WHERE status = 'Available'");
-        stats.put("available_vehicles", rs.next() ? String.valueOf(rs.getInt("count")) : "0");
-        rs.getStatement().close();
-        
-        // Today's trips
-        rs = DatabaseConnection.executeQuery("SELECT COUNT(*) as count FROM trips WHERE DATE(date) = DATE('now')");
-        stats.put("today_trips", rs.next() ? String.valueOf(rs.getInt("count")) : "0");
-        rs.getStatement().close();
-        
-        // Pending tickets
-        rs = DatabaseConnection.executeQuery("SELECT COUNT(*) as count FROM tickets WHERE status = 'Pending'");
-        stats.put("pending_tickets", rs.next() ? String.valueOf(rs.getInt("count")) : "0");
-        rs.getStatement().close();
-        
-        // Active routes
-        rs = DatabaseConnection.executeQuery("SELECT COUNT(*) as count FROM routes WHERE status = 'Active'");
-        stats.put("active_routes", rs.next() ? String.valueOf(rs.getInt("count")) : "0");
-        rs.getStatement().close();
-        
-        // Maintenance due
-        rs = DatabaseConnection.executeQuery("SELECT COUNT(*) as count FROM maintenance WHERE status = 'Scheduled'");
-        stats.put("maintenance_due", rs.next() ? String.valueOf(rs.getInt("count")) : "0");
-        rs.getStatement().close();
-        
-        // Monthly revenue
-        rs = DatabaseConnection.executeQuery("SELECT SUM(total_amount) as revenue FROM trips WHERE strftime('%Y-%m', date) = strftime('%Y-%m', 'now')");
-        stats.put("monthly_revenue", rs.next() ? String.format("$%.2f", rs.getDouble("revenue")) : "$0.00");
-        rs.getStatement().close();
-        
-        return stats;
+    private void updateDashboardStats() {
+        try {
+            DashboardStatsService.Snapshot stats = DashboardStatsService.getSnapshot();
+            for (Map.Entry<String, JLabel> entry : dashboardValueLabels.entrySet()) {
+                entry.getValue().setText(stats.get(entry.getKey()));
+            }
+        } catch (SQLException e) {
+            showError("Error loading dashboard statistics: " + e.getMessage());
+        }
     }
 
-    private JPanel createStatCard(DashboardStat stat) {
+    private JPanel createStatCard(String key, DashboardStat stat) {
         JPanel card = new JPanel(new BorderLayout());
         card.setBackground(Color.WHITE);
         card.setBorder(BorderFactory.createCompoundBorder(
@@ -610,6 +573,9 @@ public class CompleteTransportSystem extends JFrame {
         JLabel valueLabel = new JLabel(stat.getValue());
         valueLabel.setFont(new Font("Arial", Font.BOLD, 24));
         valueLabel.setForeground(stat.getColor());
+        if (key != null) {
+            dashboardValueLabels.put(key, valueLabel);
+        }
         
         topPanel.add(iconLabel, BorderLayout.WEST);
         topPanel.add(valueLabel, BorderLayout.EAST);
@@ -638,21 +604,22 @@ public class CompleteTransportSystem extends JFrame {
         JButton addButton = new JButton("➕ Add Driver");
         JButton refreshButton = new JButton("🔄 Refresh");
         JButton sampleDataButton = new JButton("📊 Add Sample Data");
+        JButton generateButton = new JButton("🏭 Generate Fleet");
         
         addButton.addActionListener(e -> showAddDriverDialog());
         refreshButton.addActionListener(e -> refreshDriversTable());
         sampleDataButton.addActionListener(e -> addSampleData());
+        generateButton.addActionListener(e -> generateFleet(generateButton));
         
         buttonPanel.add(sampleDataButton);
+        buttonPanel.add(generateButton);
         buttonPanel.add(refreshButton);
         buttonPanel.add(addButton);
         
         headerPanel.add(header, BorderLayout.WEST);
         headerPanel.add(buttonPanel, BorderLayout.EAST);
-        panel.add(headerPanel, BorderLayout.NORTH);
         
-        // Search panel
-        panel.add(createSearchPanel("DRIVERS"), BorderLayout.NORTH);
+        panel.add(northPanel(headerPanel, "DRIVERS"), BorderLayout.NORTH);
         
         // Drivers table
         JTable driversTable = new JTable(driversTableModel);
@@ -699,6 +666,17 @@ public class CompleteTransportSystem extends JFrame {
         return panel;
     }
 
+    /**
+     * The header above the module's search bar, for the NORTH slot of a
+     * module panel (BorderLayout holds one component per slot).
+     */
+    private JPanel northPanel(JPanel header, String module) {
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.add(header, BorderLayout.NORTH);
+        northPanel.add(createSearchPanel(module), BorderLayout.SOUTH);
+        return northPanel;
+    }
+
     private JPanel createSearchPanel(String module) {
         JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         searchPanel.add(new JLabel("Search:"));
@@ -706,28 +684,86 @@ public class CompleteTransportSystem extends JFrame {
         JTextField searchField = new JTextField(20);
         searchFields.put(module, searchField);
         
+        // Search once typing pauses instead of on every keystroke
+        javax.swing.Timer debounce = new javax.swing.Timer(SEARCH_DEBOUNCE_MS, e -> performSearch(module));
+        debounce.setRepeats(false);
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { performSearch(module); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { performSearch(module); }
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { performSearch(module); }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { debounce.restart(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { debounce.restart(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { debounce.restart(); }
         });
         
         searchPanel.add(searchField);
+        
+        JLabel loadingLabel = loadingLabels.get(module);
+        if (loadingLabel != null) {
+            searchPanel.add(loadingLabel);
+        }
         return searchPanel;
     }
 
     private void performSearch(String module) {
         JTextField searchField = searchFields.get(module);
-        TableRowSorter<?> sorter = tableSorters.get(module);
-        
-        if (searchField != null && sorter != null) {
-            String text = searchField.getText();
-            if (text.trim().length() == 0) {
+        TableRowSorter<? extends TableModel> sorter = tableSorters.get(module);
+        PagedTableModel pagedModel = pagedModels.get(module);
+        
+        if (searchField != null && pagedModel != null) {
+            String text = searchField.getText().trim();
+            String matchQuery = FullTextSearch.toMatchQuery(text);
+            if (text.length() == 0) {
+                pagedModel.setFilter(null);
+            } else if (matchQuery == null) {
+                // Punctuation only, nothing for the full-text index to match
+                String[] columns = "TRIPS".equals(module) ? TRIP_SEARCH_COLUMNS : TICKET_SEARCH_COLUMNS;
+                pagedModel.setFilter(buildLikeCondition(columns), repeat(likePattern(text), columns.length));
+            } else if ("TRIPS".equals(module)) {
+                // Vehicle and driver names live in their own (small) tables
+                pagedModel.setFilter(FullTextSearch.matchCondition(FullTextSearch.Index.TRIPS, "t.trip_id") +
+                    " OR t.vehicle_id IN (SELECT vehicle_id FROM vehicles WHERE name LIKE ? ESCAPE '\\')" +
+                    " OR t.driver_id IN (SELECT driver_id FROM drivers WHERE full_name LIKE ? ESCAPE '\\')",
+                    matchQuery, likePattern(text), likePattern(text));
+            } else {
+                pagedModel.setFilter(FullTextSearch.matchCondition(FullTextSearch.Index.TICKETS, "ticket_id"), matchQuery);
+            }
+        } else if (searchField != null && sorter != null) {
+            String text = searchField.getText().trim();
+            if (text.length() == 0) {
                 sorter.setRowFilter(null);
             } else {
-                sorter.setRowFilter(RowFilter.regexFilter("(?i)" + text));
+                // Plain substring match through the table's trigram index
+                AsyncTableLoader loader = searchLoaders.get(module);
+                sorter.setRowFilter(TableSearchIndex.rowFilter(loader::getSearchIndex, text));
+                if ("MAINTENANCE".equals(module)) {
+                    // Add full-text hits on the description and remarks, which the table does not show
+                    FullTextSearch.searchAsync(FullTextSearch.Index.MAINTENANCE, text, MAX_FULL_TEXT_HITS, ids -> {
+                        if (text.equals(searchField.getText().trim()) && !ids.isEmpty()) {
+                            sorter.setRowFilter(TableSearchIndex.rowFilter(loader::getSearchIndex, text, ids));
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static String buildLikeCondition(String[] columns) {
+        StringBuilder condition = new StringBuilder();
+        for (String column : columns) {
+            if (condition.length() > 0) {
+                condition.append(" OR ");
             }
+            condition.append(column).append(" LIKE ? ESCAPE '\\'");
         }
+        return condition.toString();
+    }
+
+    private static String likePattern(String text) {
+        return "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static Object[] repeat(Object value, int times) {
+        Object[] values = new Object[times];
+        Arrays.fill(values, value);
+        return values;
     }
 
     // VEHICLES MANAGEMENT PANEL
@@ -752,10 +788,8 @@ public class CompleteTransportSystem extends JFrame {
         
         headerPanel.add(header, BorderLayout.WEST);
         headerPanel.add(buttonPanel, BorderLayout.EAST);
-        panel.add(headerPanel, BorderLayout.NORTH);
         
-        // Search panel
-        panel.add(createSearchPanel("VEHICLES"), BorderLayout.NORTH);
+        panel.add(northPanel(headerPanel, "VEHICLES"), BorderLayout.NORTH);
         
         // Vehicles table
         JTable vehiclesTable = new JTable(vehiclesTableModel);
@@ -813,30 +847,29 @@ public class CompleteTransportSystem extends JFrame {
         JButton addButton = new JButton("➕ Add Trip");
         JButton refreshButton = new JButton("🔄 Refresh");
         
+        JButton importButton = new JButton("📥 Import CSV");
+        
         addButton.addActionListener(e -> showAddTripDialog());
         refreshButton.addActionListener(e -> refreshTripsTable());
+        importButton.addActionListener(e -> importCsv(CsvImporter.Target.TRIPS));
         
+        buttonPanel.add(importButton);
         buttonPanel.add(refreshButton);
         buttonPanel.add(addButton);
         
         headerPanel.add(header, BorderLayout.WEST);
         headerPanel.add(buttonPanel, BorderLayout.EAST);
-        panel.add(headerPanel, BorderLayout.NORTH);
         
-        // Search panel
-        panel.add(createSearchPanel("TRIPS"), BorderLayout.NORTH);
+        panel.add(northPanel(headerPanel, "TRIPS"), BorderLayout.NORTH);
         
         // Trips table
         JTable tripsTable = new JTable(tripsTableModel);
         tripsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         tripsTable.getTableHeader().setReorderingAllowed(false);
         
-        // Add row sorter for search
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(tripsTableModel);
-        tripsTable.setRowSorter(sorter);
-        tableSorters.put("TRIPS", sorter);
-        
+        // Rows are paged in as the viewport moves; search filters in SQL
         JScrollPane scrollPane = new JScrollPane(tripsTable);
+        tripsTableModel.attachTo(tripsTable, scrollPane.getViewport());
         panel.add(scrollPane, BorderLayout.CENTER);
         
         // Action buttons for selected row
@@ -892,10 +925,8 @@ public class CompleteTransportSystem extends JFrame {
         
         headerPanel.add(header, BorderLayout.WEST);
         headerPanel.add(buttonPanel, BorderLayout.EAST);
-        panel.add(headerPanel, BorderLayout.NORTH);
         
-        // Search panel
-        panel.add(createSearchPanel("ROUTES"), BorderLayout.NORTH);
+        panel.add(northPanel(headerPanel, "ROUTES"), BorderLayout.NORTH);
         
         // Routes table
         JTable routesTable = new JTable(routesTableModel);
@@ -947,26 +978,26 @@ public class CompleteTransportSystem extends JFrame {
         JButton addButton = new JButton("➕ Add Ticket");
         JButton refreshButton = new JButton("🔄 Refresh");
         
+        JButton importButton = new JButton("📥 Import CSV");
+        
         addButton.addActionListener(e -> showTicketForm());
         refreshButton.addActionListener(e -> loadTicketsData());
+        importButton.addActionListener(e -> importCsv(CsvImporter.Target.TICKETS));
         
+        buttonPanel.add(importButton);
         buttonPanel.add(refreshButton);
         buttonPanel.add(addButton);
         
         headerPanel.add(header, BorderLayout.WEST);
         headerPanel.add(buttonPanel, BorderLayout.EAST);
-        panel.add(headerPanel, BorderLayout.NORTH);
         
-        // Search panel
-        panel.add(createSearchPanel("TICKETS"), BorderLayout.NORTH);
+        panel.add(northPanel(headerPanel, "TICKETS"), BorderLayout.NORTH);
         
         // Tickets table
         JTable ticketsTable = new JTable(ticketsTableModel);
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(ticketsTableModel);
-        ticketsTable.setRowSorter(sorter);
-        tableSorters.put("TICKETS", sorter);
         
         JScrollPane scrollPane = new JScrollPane(ticketsTable);
+        ticketsTableModel.attachTo(ticketsTable, scrollPane.getViewport());
         panel.add(scrollPane, BorderLayout.CENTER);
         
         // Action buttons
@@ -1018,10 +1049,8 @@ public class CompleteTransportSystem extends JFrame {
         
         headerPanel.add(header, BorderLayout.WEST);
         headerPanel.add(buttonPanel, BorderLayout.EAST);
-        panel.add(headerPanel, BorderLayout.NORTH);
         
-        // Search panel
-        panel.add(createSearchPanel("MAINTENANCE"), BorderLayout.NORTH);
+        panel.add(northPanel(headerPanel, "MAINTENANCE"), BorderLayout.NORTH);
         
         // Maintenance table
         JTable maintenanceTable = new JTable(maintenanceTableModel);
@@ -1077,26 +1106,17 @@ public class CompleteTransportSystem extends JFrame {
 
     // SETTINGS PANEL
     private JPanel createSettingsPanel() {
-        return new SettingsPanel();
+        return new SettingsPanel(() -> {
+            loadAllDataFromDatabase();
+            updateDashboardStats();
+        });
     }
 
     // REAL-TIME SERVICES
     private void startNotificationService() {
-        notificationTimer = new Timer(true);
-        notificationTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                checkForNewNotifications();
-            }
-        }, 0, 30000); // Check every 30 seconds
-    }
-
-    private void checkForNewNotifications() {
-        int newCount = DatabaseConnection.getUnreadNotificationCount();
-        if (newCount != unreadNotifications) {
-            unreadNotifications = newCount;
-            updateNotificationBadge();
-        }
+        // Counts are pushed when notifications are added; the bus only polls for other processes' writes
+        NotificationBus.subscribe(notificationListener);
+        NotificationBus.start();
     }
 
     private void loadRealTimeData() {
@@ -1104,16 +1124,14 @@ public class CompleteTransportSystem extends JFrame {
     }
 
     private void refreshDashboard() {
-        loadAllDataFromDatabase();
+        DashboardStatsService.invalidate();
+        updateDashboardStats();
     }
 
     // DRIVER OPERATIONS
     private void showAddDriverDialog() {
         DriverFormDialog dialog = new DriverFormDialog(this, null);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            refreshDriversTable();
-        }
     }
 
     private void addSampleData() {
@@ -1146,6 +1164,7 @@ public class CompleteTransportSystem extends JFrame {
                 "('Sample Route Kigali-Huye', 'Kigali City', 'Huye District', 120.5, 150, 2.75)," +
                 "('Sample Route Kigali-Musanze', 'Kigali City', 'Musanze Town', 105.0, 120, 3.00)"
             );
+            DataVersion.bump();
 
             JOptionPane.showMessageDialog(this, 
                 "Sample data added successfully!\n\n" +
@@ -1167,6 +1186,88 @@ public class CompleteTransportSystem extends JFrame {
         }
     }
 
+    // Load-test data: replaces the fleet with a generated one of the chosen size
+    private void generateFleet(JButton generateButton) {
+        JSpinner driversSpinner = new JSpinner(new SpinnerNumberModel(2000, 1, 1000000, 100));
+        JSpinner vehiclesSpinner = new JSpinner(new SpinnerNumberModel(3000, 1, 500000, 100));
+        JSpinner tripsSpinner = new JSpinner(new SpinnerNumberModel(1000000, 0, 100000000, 100000));
+        JSpinner ticketedSpinner = new JSpinner(new SpinnerNumberModel(10, 0, 100, 5));
+        JSpinner seedSpinner = new JSpinner(new SpinnerNumberModel(FleetDataGenerator.DEFAULT_SEED, 0L, Long.MAX_VALUE, 1L));
+        
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
+        form.add(new JLabel("Drivers:"));
+        form.add(driversSpinner);
+        form.add(new JLabel("Vehicles:"));
+        form.add(vehiclesSpinner);
+        form.add(new JLabel("Trips (2 years):"));
+        form.add(tripsSpinner);
+        form.add(new JLabel("Ticketed Trips (%):"));
+        form.add(ticketedSpinner);
+        form.add(new JLabel("Seed:"));
+        form.add(seedSpinner);
+        
+        if (JOptionPane.showConfirmDialog(this, form, "Generate Fleet",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "All drivers, vehicles, routes, trips, tickets and maintenance records\n" +
+            "will be replaced by the generated fleet. Continue?",
+            "Replace Data", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        FleetDataGenerator.Scale scale = new FleetDataGenerator.Scale(
+            (Integer) driversSpinner.getValue(), (Integer) vehiclesSpinner.getValue(),
+            (Integer) tripsSpinner.getValue(), (Integer) ticketedSpinner.getValue());
+        long seed = ((Number) seedSpinner.getValue()).longValue();
+        JLabel statusLabel = loadingLabels.get("DRIVERS");
+        generateButton.setEnabled(false);
+        
+        // Millions of rows take minutes, so keep it off the EDT
+        Thread generatorThread = new Thread(() -> {
+            try {
+                FleetDataGenerator.Result result = FleetDataGenerator.generate(seed, scale, java.time.LocalDate.now(),
+                    (table, rows) -> SwingUtilities.invokeLater(() -> statusLabel.setText(
+                        table.equals(FleetDataGenerator.INDEX_STAGE) ? "⏳ Rebuilding indexes..." : "⏳ Generating " + table + "... " + rows + " rows")));
+                
+                DatabaseConnection.addNotification(
+                    "Fleet Generated",
+                    result.getTotalRows() + " rows generated with seed " + seed,
+                    "system",
+                    "Low"
+                );
+                
+                SwingUtilities.invokeLater(() -> {
+                    generateButton.setEnabled(true);
+                    statusLabel.setText("");
+                    loadAllDataFromDatabase();
+                    updateDashboardStats();
+                    JOptionPane.showMessageDialog(this,
+                        "Generated:\n" +
+                        "• " + result.getRows("drivers") + " Drivers\n" +
+                        "• " + result.getRows("vehicles") + " Vehicles\n" +
+                        "• " + result.getRows("routes") + " Routes\n" +
+                        "• " + result.getRows("trips") + " Trips\n" +
+                        "• " + result.getRows("tickets") + " Tickets\n" +
+                        "• " + result.getRows("maintenance") + " Maintenance Records\n\n" +
+                        "Written in " + result.getLoadMillis() / 1000 + "s (" + result.getRowsPerSecond() + " rows/sec), " +
+                        "indexes rebuilt in " + result.getIndexMillis() / 1000 + "s.",
+                        "Fleet Generated", JOptionPane.INFORMATION_MESSAGE);
+                });
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    generateButton.setEnabled(true);
+                    statusLabel.setText("");
+                    loadAllDataFromDatabase();
+                    showError("Error generating fleet: " + e.getMessage());
+                });
+            }
+        }, "fleet-generator");
+        generatorThread.setDaemon(true);
+        generatorThread.start();
+    }
+
     private void refreshDriversTable() {
         loadDriversData();
         JOptionPane.showMessageDialog(this, "Drivers table refreshed!");
@@ -1176,9 +1277,6 @@ public class CompleteTransportSystem extends JFrame {
         int driverId = (int) driversTableModel.getValueAt(modelRow, 0);
         DriverFormDialog dialog = new DriverFormDialog(this, driverId);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            refreshDriversTable();
-        }
     }
 
     private void deleteDriver(int modelRow) {
@@ -1191,11 +1289,7 @@ public class CompleteTransportSystem extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                String query = "DELETE FROM drivers WHERE driver_id = ?";
-                java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setInt(1, driverId);
-                pstmt.executeUpdate();
-                pstmt.close();
+                DriverDao.delete(driverId);
                 
                 DatabaseConnection.addNotification(
                     "Driver Deleted",
@@ -1204,7 +1298,6 @@ public class CompleteTransportSystem extends JFrame {
                     "High"
                 );
                 
-                refreshDriversTable();
                 JOptionPane.showMessageDialog(this, "Driver deleted successfully!");
                 
             } catch (java.sql.SQLException e) {
@@ -1217,18 +1310,12 @@ public class CompleteTransportSystem extends JFrame {
     private void showVehicleForm() {
         VehicleFormDialog dialog = new VehicleFormDialog(this, null);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadVehiclesData();
-        }
     }
 
     private void editVehicle(int modelRow) {
         int vehicleId = (int) vehiclesTableModel.getValueAt(modelRow, 0);
         VehicleFormDialog dialog = new VehicleFormDialog(this, vehicleId);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadVehiclesData();
-        }
     }
 
     private void deleteVehicle(int modelRow) {
@@ -1243,12 +1330,10 @@ public class CompleteTransportSystem extends JFrame {
         if (confirm == JOptionPane.YES_OPTION) {
             try {
                 // First check if vehicle has associated trips
-                ResultSet rs = DatabaseConnection.executeQuery(
-                    "SELECT COUNT(*) as trip_count FROM trips WHERE vehicle_id = " + vehicleId
-                );
-                if (rs.next() && rs.getInt("trip_count") > 0) {
+                int tripCount = TripDao.countByVehicle(vehicleId);
+                if (tripCount > 0) {
                     int confirm2 = JOptionPane.showConfirmDialog(this,
-                        "This vehicle has " + rs.getInt("trip_count") + " associated trips.\n" +
+                        "This vehicle has " + tripCount + " associated trips.\n" +
                         "Deleting will remove all trip records. Continue?",
                         "Warning: Associated Data", JOptionPane.YES_NO_OPTION);
                     
@@ -1256,13 +1341,8 @@ public class CompleteTransportSystem extends JFrame {
                         return;
                     }
                 }
-                rs.getStatement().close();
 
-                String query = "DELETE FROM vehicles WHERE vehicle_id = ?";
-                java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setInt(1, vehicleId);
-                pstmt.executeUpdate();
-                pstmt.close();
+                VehicleDao.delete(vehicleId);
                 
                 DatabaseConnection.addNotification(
                     "Vehicle Deleted",
@@ -1271,7 +1351,6 @@ public class CompleteTransportSystem extends JFrame {
                     "High"
                 );
                 
-                loadVehiclesData();
                 JOptionPane.showMessageDialog(this, "Vehicle deleted successfully!");
                 
             } catch (java.sql.SQLException e) {
@@ -1284,18 +1363,12 @@ public class CompleteTransportSystem extends JFrame {
     private void showAddTripDialog() {
         TripFormDialog dialog = new TripFormDialog(this, null);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadTripsData();
-        }
     }
 
     private void editTrip(int modelRow) {
         int tripId = (int) tripsTableModel.getValueAt(modelRow, 0);
         TripFormDialog dialog = new TripFormDialog(this, tripId);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadTripsData();
-        }
     }
 
     private void deleteTrip(int modelRow) {
@@ -1308,11 +1381,7 @@ public class CompleteTransportSystem extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                String query = "DELETE FROM trips WHERE trip_id = ?";
-                java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setInt(1, tripId);
-                pstmt.executeUpdate();
-                pstmt.close();
+                TripDao.delete(tripId);
                 
                 DatabaseConnection.addNotification(
                     "Trip Deleted",
@@ -1321,7 +1390,6 @@ public class CompleteTransportSystem extends JFrame {
                     "High"
                 );
                 
-                loadTripsData();
                 JOptionPane.showMessageDialog(this, "Trip deleted successfully!");
                 
             } catch (java.sql.SQLException e) {
@@ -1335,22 +1403,64 @@ public class CompleteTransportSystem extends JFrame {
         JOptionPane.showMessageDialog(this, "Trips table refreshed!");
     }
 
+    // CSV IMPORT
+    private void importCsv(CsvImporter.Target target) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import " + target.getTable() + " from CSV");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.io.File csvFile = chooser.getSelectedFile();
+        PagedTableModel model = target == CsvImporter.Target.TRIPS ? tripsTableModel : ticketsTableModel;
+        JLabel statusLabel = loadingLabels.get(target == CsvImporter.Target.TRIPS ? "TRIPS" : "TICKETS");
+        
+        // The import can take a while for large files, so keep it off the EDT
+        Thread importThread = new Thread(() -> {
+            try {
+                CsvImporter.ImportResult result = CsvImporter.importFile(target, csvFile,
+                    CsvImporter.defaultRejectsFile(csvFile), CsvImporter.DEFAULT_CHUNK_SIZE,
+                    (read, inserted, rejected) -> SwingUtilities.invokeLater(() ->
+                        statusLabel.setText("⏳ Importing... " + read + " rows read")));
+                
+                DatabaseConnection.addNotification(
+                    "CSV Import",
+                    result.getInserted() + " " + target.getTable() + " imported from " + csvFile.getName(),
+                    target.getTable(),
+                    "Low"
+                );
+                
+                SwingUtilities.invokeLater(() -> {
+                    model.refresh();
+                    String message = "Imported " + result.getInserted() + " of " + result.getRowsRead() +
+                        " rows (" + result.getRowsPerSecond() + " rows/sec).";
+                    if (result.getRejectsFile() != null) {
+                        message += "\n\n" + result.getRejected() + " rows were rejected, see:\n" +
+                            result.getRejectsFile().getAbsolutePath();
+                    }
+                    JOptionPane.showMessageDialog(this, message, "Import Finished", JOptionPane.INFORMATION_MESSAGE);
+                });
+            } catch (java.io.IOException | SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    model.refresh();
+                    showError("Error importing " + csvFile.getName() + ": " + e.getMessage());
+                });
+            }
+        }, "csv-import");
+        importThread.setDaemon(true);
+        importThread.start();
+    }
+
     // ROUTE OPERATIONS
     private void showRouteForm() {
         RouteFormDialog dialog = new RouteFormDialog(this, null);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadRoutesData();
-        }
     }
 
     private void editRoute(int modelRow) {
         int routeId = (int) routesTableModel.getValueAt(modelRow, 0);
         RouteFormDialog dialog = new RouteFormDialog(this, routeId);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadRoutesData();
-        }
     }
 
     private void deleteRoute(int modelRow) {
@@ -1363,11 +1473,7 @@ public class CompleteTransportSystem extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                String query = "DELETE FROM routes WHERE route_id = ?";
-                java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setInt(1, routeId);
-                pstmt.executeUpdate();
-                pstmt.close();
+                RouteDao.delete(routeId);
                 
                 DatabaseConnection.addNotification(
                     "Route Deleted",
@@ -1376,7 +1482,6 @@ public class CompleteTransportSystem extends JFrame {
                     "High"
                 );
                 
-                loadRoutesData();
                 JOptionPane.showMessageDialog(this, "Route deleted successfully!");
                 
             } catch (java.sql.SQLException e) {
@@ -1389,18 +1494,12 @@ public class CompleteTransportSystem extends JFrame {
     private void showTicketForm() {
         TicketFormDialog dialog = new TicketFormDialog(this, null);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadTicketsData();
-        }
     }
 
     private void editTicket(int modelRow) {
         int ticketId = (int) ticketsTableModel.getValueAt(modelRow, 0);
         TicketFormDialog dialog = new TicketFormDialog(this, ticketId);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadTicketsData();
-        }
     }
 
     private void deleteTicket(int modelRow) {
@@ -1413,11 +1512,7 @@ public class CompleteTransportSystem extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                String query = "DELETE FROM tickets WHERE ticket_id = ?";
-                java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setInt(1, ticketId);
-                pstmt.executeUpdate();
-                pstmt.close();
+                TicketDao.delete(ticketId);
                 
                 DatabaseConnection.addNotification(
                     "Ticket Deleted",
@@ -1426,7 +1521,6 @@ public class CompleteTransportSystem extends JFrame {
                     "Medium"
                 );
                 
-                loadTicketsData();
                 JOptionPane.showMessageDialog(this, "Ticket deleted successfully!");
                 
             } catch (java.sql.SQLException e) {
@@ -1439,18 +1533,12 @@ public class CompleteTransportSystem extends JFrame {
     private void showMaintenanceForm() {
         MaintenanceFormDialog dialog = new MaintenanceFormDialog(this, null);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadMaintenanceData();
-        }
     }
 
     private void editMaintenance(int modelRow) {
         int maintenanceId = (int) maintenanceTableModel.getValueAt(modelRow, 0);
         MaintenanceFormDialog dialog = new MaintenanceFormDialog(this, maintenanceId);
         dialog.setVisible(true);
-        if (dialog.isSuccess()) {
-            loadMaintenanceData();
-        }
     }
 
     private void deleteMaintenance(int modelRow) {
@@ -1463,11 +1551,7 @@ public class CompleteTransportSystem extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                String query = "DELETE FROM maintenance WHERE maintenance_id = ?";
-                java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setInt(1, maintenanceId);
-                pstmt.executeUpdate();
-                pstmt.close();
+                MaintenanceDao.delete(maintenanceId);
                 
                 DatabaseConnection.addNotification(
                     "Maintenance Deleted",
@@ -1476,7 +1560,6 @@ public class CompleteTransportSystem extends JFrame {
                     "Medium"
                 );
                 
-                loadMaintenanceData();
                 JOptionPane.showMessageDialog(this, "Maintenance record deleted successfully!");
                 
             } catch (java.sql.SQLException e) {
@@ -1490,11 +1573,7 @@ public class CompleteTransportSystem extends JFrame {
         String referenceId = (String) maintenanceTableModel.getValueAt(modelRow, 1);
         
         try {
-            String query = "UPDATE maintenance SET status = 'Completed', completion_date = datetime('now') WHERE maintenance_id = ?";
-            java.sql.PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, maintenanceId);
-            pstmt.executeUpdate();
-            pstmt.close();
+            MaintenanceDao.complete(maintenanceId);
             
             DatabaseConnection.addNotification(
                 "Maintenance Completed",
@@ -1503,7 +1582,6 @@ public class CompleteTransportSystem extends JFrame {
                 "Low"
             );
             
-            loadMaintenanceData();
             JOptionPane.showMessageDialog(this, "Maintenance marked as completed!");
             
         } catch (java.sql.SQLException e) {
@@ -1511,6 +1589,84 @@ public class CompleteTransportSystem extends JFrame {
         }
     }
 
+    // Table rows for the entities, in the column order of each table model
+    static Object[] driverRow(Driver driver) {
+        return new Object[]{
+            driver.getId(),
+            driver.getFullName(),
+            driver.getLicenseNumber(),
+            driver.getPhone(),
+            driver.getEmail(),
+            driver.getStatus()
+        };
+    }
+
+    static Object[] vehicleRow(Vehicle vehicle) {
+        return new Object[]{
+            vehicle.getId(),
+            vehicle.getName(),
+            vehicle.getIdentifier(),
+            vehicle.getType(),
+            vehicle.getCapacity(),
+            vehicle.getStatus(),
+            vehicle.getLocation(),
+            vehicle.getDriverName() != null ? vehicle.getDriverName() : "Unassigned"
+        };
+    }
+
+    static Object[] tripRow(Trip trip) {
+        return new Object[]{
+            trip.getId(),
+            trip.getOrderNumber(),
+            trip.getDate(),
+            trip.getStartLocation(),
+            trip.getEndLocation(),
+            trip.getStatus(),
+            String.format("$%.2f", trip.getTotalAmount()),
+            trip.getVehicleName(),
+            trip.getDriverName()
+        };
+    }
+
+    static Object[] routeRow(Route route) {
+        return new Object[]{
+            route.getId(),
+            route.getRouteName(),
+            route.getStartPoint(),
+            route.getEndPoint(),
+            route.getDistanceKm(),
+            route.getEstimatedTimeMinutes(),
+            String.format("$%.2f", route.getFarePerKm()),
+            route.getStatus()
+        };
+    }
+
+    static Object[] ticketRow(Ticket ticket) {
+        return new Object[]{
+            ticket.getId(),
+            ticket.getTicketNumber(),
+            ticket.getPassengerName(),
+            ticket.getPassengerPhone(),
+            ticket.getSeatNumber(),
+            String.format("$%.2f", ticket.getPrice()),
+            ticket.getStatus(),
+            ticket.getTripId()
+        };
+    }
+
+    static Object[] maintenanceRow(Maintenance maintenance) {
+        return new Object[]{
+            maintenance.getId(),
+            maintenance.getReferenceId(),
+            maintenance.getDescription(),
+            maintenance.getMaintenanceDate(),
+            maintenance.getCompletionDate(),
+            String.format("$%.2f", maintenance.getCost()),
+            maintenance.getStatus(),
+            maintenance.getVehicleName()
+        };
+    }
+
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
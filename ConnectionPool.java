@@ -0,0 +1,283 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small SQLite connection pool: one dedicated writer connection plus a fixed
+ * number of read-only reader connections. With the database in WAL mode the
+ * readers can run queries at the same time as the writer commits.
+ *
+ * Readers are handed out to one thread at a time and must be given back with
+ * {@link #releaseReader(PooledConnection)}. Connections held for too long are
+ * reported by a background leak check. Every connection carries its own
+ * {@link StatementCache}, and its statements are timed by {@link QueryStats}.
+ */
+public class ConnectionPool {
+    private static final long LEAK_CHECK_INTERVAL_MS = 10000;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    private final String url;
+    private final long checkoutTimeoutMs;
+    private final long leakThresholdMs;
+    private final int statementCacheSize;
+    private final BlockingQueue<PooledConnection> idleReaders;
+    private final Set<PooledConnection> checkedOut = ConcurrentHashMap.newKeySet();
+    private final List<PooledConnection> allConnections = new CopyOnWriteArrayList<>();
+    // Fair, so a writer waiting behind a long job (e.g. a backfill) gets the lock before the job takes it back
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private final ScheduledExecutorService leakDetector;
+    private PooledConnection writer;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, int readerCount, long checkoutTimeoutMs, long leakThresholdMs,
+                          int statementCacheSize) throws SQLException {
+        this.url = url;
+        this.checkoutTimeoutMs = checkoutTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.idleReaders = new ArrayBlockingQueue<>(readerCount);
+
+        // The writer is opened first so WAL mode is in place before any reader attaches
+        writer = openWriter();
+        for (int i = 0; i < readerCount; i++) {
+            idleReaders.add(openReader("reader-" + (i + 1)));
+        }
+
+        leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-leak-detector");
+            t.setDaemon(true);
+            return t;
+        });
+        leakDetector.scheduleAtFixedRate(this::checkForLeaks,
+            LEAK_CHECK_INTERVAL_MS, LEAK_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private PooledConnection openWriter() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            stmt.execute("PRAGMA temp_store = MEMORY");
+        }
+        return register(new PooledConnection(QueryStats.instrument(conn), "writer", statementCacheSize));
+    }
+
+    private PooledConnection openReader(String name) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("PRAGMA query_only = ON");
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            stmt.execute("PRAGMA temp_store = MEMORY");
+        }
+        return register(new PooledConnection(QueryStats.instrument(conn), name, statementCacheSize));
+    }
+
+    private PooledConnection register(PooledConnection conn) {
+        // Replace a dead connection of the same name so stats are not double counted
+        for (PooledConnection existing : allConnections) {
+            if (existing.getName().equals(conn.getName())) {
+                allConnections.remove(existing);
+            }
+        }
+        allConnections.add(conn);
+        return conn;
+    }
+
+    /**
+     * Returns the shared writer connection. Callers that need exclusive use
+     * of it (e.g. for a multi-statement transaction) should hold
+     * {@link #getWriterLock()} while doing so.
+     */
+    public Connection getWriter() throws SQLException {
+        ensureOpen();
+        synchronized (this) {
+            if (writer.getConnection().isClosed()) {
+                writer = openWriter();
+            }
+        }
+        return writer.getConnection();
+    }
+
+    /**
+     * Statement cache of the writer connection. Like the writer itself it is
+     * meant to be used from one thread at a time.
+     */
+    public StatementCache getWriterStatements() throws SQLException {
+        getWriter();
+        return writer.getStatements();
+    }
+
+    public ReentrantLock getWriterLock() {
+        return writerLock;
+    }
+
+    /**
+     * Checks out a reader, waiting at most the configured checkout timeout.
+     */
+    public PooledConnection borrowReader() throws SQLException {
+        ensureOpen();
+        PooledConnection reader;
+        try {
+            reader = idleReaders.poll(checkoutTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection");
+        }
+        if (reader == null) {
+            throw new SQLException("Timed out after " + checkoutTimeoutMs +
+                "ms waiting for a read connection (" + checkedOut.size() + " in use)");
+        }
+        if (reader.getConnection().isClosed()) {
+            try {
+                reader = openReader(reader.getName());
+            } catch (SQLException e) {
+                // Keep the slot so the pool does not shrink on a failed reopen
+                idleReaders.offer(reader);
+                throw e;
+            }
+        }
+        reader.markCheckedOut();
+        checkedOut.add(reader);
+        return reader;
+    }
+
+    public void releaseReader(PooledConnection reader) {
+        if (reader == null || !checkedOut.remove(reader)) {
+            return;
+        }
+        reader.markReturned();
+        if (closed) {
+            reader.close();
+        } else {
+            idleReaders.offer(reader);
+        }
+    }
+
+    private void checkForLeaks() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection conn : checkedOut) {
+            if (!conn.isLeakReported() && now - conn.getCheckoutTime() > leakThresholdMs) {
+                conn.setLeakReported(true);
+                System.err.println("⚠️ Possible connection leak: " + conn.getName() +
+                    " held for " + (now - conn.getCheckoutTime()) + "ms by thread " + conn.getOwnerThread());
+                if (conn.getCheckoutTrace() != null) {
+                    conn.getCheckoutTrace().printStackTrace();
+                }
+            }
+        }
+    }
+
+    public int getIdleReaderCount() {
+        return idleReaders.size();
+    }
+
+    public int getActiveReaderCount() {
+        return checkedOut.size();
+    }
+
+    public long getStatementCacheHits() {
+        long hits = 0;
+        for (PooledConnection conn : allConnections) {
+            hits += conn.getStatements().getHits();
+        }
+        return hits;
+    }
+
+    public long getStatementCacheMisses() {
+        long misses = 0;
+        for (PooledConnection conn : allConnections) {
+            misses += conn.getStatements().getMisses();
+        }
+        return misses;
+    }
+
+    private void ensureOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        closed = true;
+        leakDetector.shutdownNow();
+        PooledConnection reader;
+        while ((reader = idleReaders.poll()) != null) {
+            reader.close();
+        }
+        if (!checkedOut.isEmpty()) {
+            System.err.println("⚠️ Closing pool with " + checkedOut.size() + " read connection(s) still checked out");
+        }
+        writer.close();
+    }
+
+    /**
+     * A pooled JDBC connection together with its checkout bookkeeping.
+     */
+    public static class PooledConnection {
+        private final Connection connection;
+        private final String name;
+        private final StatementCache statements;
+        private volatile long checkoutTime;
+        private volatile String ownerThread;
+        private volatile Throwable checkoutTrace;
+        private volatile boolean leakReported;
+
+        PooledConnection(Connection connection, String name, int statementCacheSize) {
+            this.connection = connection;
+            this.name = name;
+            this.statements = new StatementCache(connection, statementCacheSize);
+        }
+
+        void markCheckedOut() {
+            checkoutTime = System.currentTimeMillis();
+            ownerThread = Thread.currentThread().getName();
+            checkoutTrace = new Throwable("Checked out by " + ownerThread);
+            leakReported = false;
+        }
+
+        void markReturned() {
+            ownerThread = null;
+            checkoutTrace = null;
+        }
+
+        void close() {
+            statements.clear();
+            try {
+                if (!connection.isClosed()) {
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                System.err.println("Error closing " + name + ": " + e.getMessage());
+            }
+        }
+
+        public Connection getConnection() { return connection; }
+        public String getName() { return name; }
+        public StatementCache getStatements() { return statements; }
+        long getCheckoutTime() { return checkoutTime; }
+        String getOwnerThread() { return ownerThread; }
+        Throwable getCheckoutTrace() { return checkoutTrace; }
+        boolean isLeakReported() { return leakReported; }
+        void setLeakReported(boolean leakReported) { this.leakReported = leakReported; }
+    }
+}
\ No newline at end of file
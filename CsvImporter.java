@@ -0,0 +1,397 @@
+package com.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import of trips and tickets from CSV files.
+ *
+ * The file is streamed record by record and validated against the table's
+ * columns; valid rows go through one prepared INSERT OR IGNORE statement with
+ * addBatch() and are committed every chunkSize rows. Rows that fail
+ * validation or hit a UNIQUE conflict are written, with the reason, to a
+ * rejects file next to the input. The first line must be a header naming the
+ * columns; unknown columns are ignored.
+ *
+ * Can also be run from the command line for scheduled imports:
+ * java com.transport.CsvImporter trips|tickets file.csv [chunkSize]
+ */
+public class CsvImporter {
+    public static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("transport.import.chunkSize", 1000);
+
+    public enum Target {
+        TRIPS("trips",
+            new Column("order_number", ColumnType.TEXT, true),
+            new Column("date", ColumnType.DATETIME, true),
+            new Column("start_location", ColumnType.TEXT, false),
+            new Column("end_location", ColumnType.TEXT, false),
+            new Column("status", ColumnType.TEXT, false),
+            new Column("total_amount", ColumnType.DECIMAL, false),
+            new Column("payment_method", ColumnType.TEXT, false),
+            new Column("notes", ColumnType.TEXT, false),
+            new Column("passenger_count", ColumnType.INTEGER, false),
+            new Column("vehicle_id", ColumnType.INTEGER, true),
+            new Column("driver_id", ColumnType.INTEGER, true),
+            new Column("route_id", ColumnType.INTEGER, false)),
+        TICKETS("tickets",
+            new Column("ticket_number", ColumnType.TEXT, true),
+            new Column("passenger_name", ColumnType.TEXT, true),
+            new Column("passenger_phone", ColumnType.TEXT, false),
+            new Column("passenger_email", ColumnType.TEXT, false),
+            new Column("seat_number", ColumnType.TEXT, false),
+            new Column("price", ColumnType.DECIMAL, false),
+            new Column("status", ColumnType.TEXT, false),
+            new Column("booking_date", ColumnType.DATETIME, false),
+            new Column("trip_id", ColumnType.INTEGER, true));
+
+        private final String table;
+        private final Column[] columns;
+
+        Target(String table, Column... columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+
+        public String getTable() { return table; }
+    }
+
+    enum ColumnType { TEXT, INTEGER, DECIMAL, DATETIME }
+
+    static class Column {
+        final String name;
+        final ColumnType type;
+        final boolean required;
+
+        Column(String name, ColumnType type, boolean required) {
+            this.name = name;
+            this.type = type;
+            this.required = required;
+        }
+    }
+
+    public interface ProgressListener {
+        void progress(long rowsRead, long inserted, long rejected);
+    }
+
+    private CsvImporter() {
+    }
+
+    /**
+     * Imports the file into the target table. The rejects file is only
+     * created if at least one row is rejected.
+     */
+    public static ImportResult importFile(Target target, File csvFile, File rejectsFile, int chunkSize,
+                                          ProgressListener listener) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        long rowsRead = 0;
+        long inserted = 0;
+        long rejected = 0;
+
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(csvFile.toPath(), StandardCharsets.UTF_8));
+             RejectsWriter rejects = new RejectsWriter(rejectsFile)) {
+            String[] header = reader.readRecord();
+            if (header == null) {
+                throw new IOException("The file is empty");
+            }
+            List<Column> columns = new ArrayList<>();
+            int[] positions = mapHeader(target, header, columns);
+            rejects.setHeader(header);
+            String sql = buildInsert(target, columns);
+
+            List<Object[]> chunk = new ArrayList<>(chunkSize);
+            List<String[]> chunkRecords = new ArrayList<>(chunkSize);
+            List<Long> chunkLines = new ArrayList<>(chunkSize);
+            String[] record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.length == 1 && record[0].trim().isEmpty()) {
+                    continue;
+                }
+                rowsRead++;
+                Object[] values = new Object[columns.size()];
+                String error = validate(record, columns, positions, values);
+                if (error != null) {
+                    rejects.write(record, "line " + reader.getRecordLine() + ": " + error);
+                    rejected++;
+                    continue;
+                }
+                chunk.add(values);
+                chunkRecords.add(record);
+                chunkLines.add(reader.getRecordLine());
+                if (chunk.size() >= chunkSize) {
+                    int count = insertChunk(sql, chunk, chunkRecords, chunkLines, rejects);
+                    inserted += count;
+                    rejected += chunk.size() - count;
+                    chunk.clear();
+                    chunkRecords.clear();
+                    chunkLines.clear();
+                    if (listener != null) {
+                        listener.progress(rowsRead, inserted, rejected);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int count = insertChunk(sql, chunk, chunkRecords, chunkLines, rejects);
+                inserted += count;
+                rejected += chunk.size() - count;
+            }
+            if (listener != null) {
+                listener.progress(rowsRead, inserted, rejected);
+            }
+        } finally {
+            if (inserted > 0) {
+                DataVersion.bump();
+            }
+        }
+
+        ImportResult result = new ImportResult(target, rowsRead, inserted, rejected,
+            System.currentTimeMillis() - start, rejected > 0 ? rejectsFile : null);
+        System.out.println("✅ " + result);
+        return result;
+    }
+
+    private static int[] mapHeader(Target target, String[] header, List<Column> columns) throws IOException {
+        Map<String, Integer> headerIndex = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            // Spreadsheet exports often start with a UTF-8 byte order mark
+            headerIndex.put(header[i].replace("\uFEFF", "").trim().toLowerCase(), i);
+        }
+        List<Integer> positions = new ArrayList<>();
+        for (Column column : target.columns) {
+            Integer position = headerIndex.get(column.name);
+            if (position != null) {
+                columns.add(column);
+                positions.add(position);
+            } else if (column.required) {
+                throw new IOException("Missing required column '" + column.name + "' in the header");
+            }
+        }
+        int[] result = new int[positions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+    private static String buildInsert(Target target, List<Column> columns) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder placeholders = new StringBuilder();
+        for (Column column : columns) {
+            if (names.length() > 0) {
+                names.append(", ");
+                placeholders.append(", ");
+            }
+            names.append(column.name);
+            placeholders.append("?");
+        }
+        // OR IGNORE turns a UNIQUE conflict into "0 rows changed" for that row only
+        return "INSERT OR IGNORE INTO " + target.table + " (" + names + ") VALUES (" + placeholders + ")";
+    }
+
+    /**
+     * Converts the record's fields into values, returning an error message
+     * for the first field that does not fit its column.
+     */
+    private static String validate(String[] record, List<Column> columns, int[] positions, Object[] values) {
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            String text = positions[i] < record.length ? record[positions[i]].trim() : "";
+            if (text.isEmpty()) {
+                if (column.required) {
+                    return column.name + " is required";
+                }
+                values[i] = null;
+                continue;
+            }
+            try {
+                switch (column.type) {
+                    case INTEGER:
+                        values[i] = Long.parseLong(text);
+                        break;
+                    case DECIMAL:
+                        values[i] = Double.parseDouble(text);
+                        break;
+                    case DATETIME:
+                        if (!DateRanges.isDateTime(text)) {
+                            return column.name + " '" + text + "' is not a valid yyyy-MM-dd[ HH:mm[:ss]] date";
+                        }
+                        values[i] = text;
+                        break;
+                    default:
+                        values[i] = text;
+                }
+            } catch (NumberFormatException e) {
+                return column.name + " '" + text + "' is not a number";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts one chunk in a single transaction and returns the number of
+     * rows inserted. Rows the database ignored are written to the rejects.
+     */
+    private static int insertChunk(String sql, List<Object[]> chunk, List<String[]> records,
+                                   List<Long> lines, RejectsWriter rejects) throws SQLException, IOException {
+        int[] counts = DatabaseConnection.withWriter(conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement pstmt = DatabaseConnection.prepared(sql);
+                for (Object[] values : chunk) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (values[i] == null) {
+                            pstmt.setNull(i + 1, Types.NULL);
+                        } else {
+                            pstmt.setObject(i + 1, values[i]);
+                        }
+                    }
+                    pstmt.addBatch();
+                }
+                int[] result = pstmt.executeBatch();
+                conn.commit();
+                return result;
+            } catch (BatchUpdateException e) {
+                conn.rollback();
+                throw new SQLException("Import failed, chunk rolled back: " + e.getMessage(), e);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        });
+
+        int inserted = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            } else {
+                rejects.write(records.get(i), "line " + lines.get(i) + ": duplicate key (UNIQUE constraint)");
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Summary of one import run.
+     */
+    public static class ImportResult {
+        private final Target target;
+        private final long rowsRead;
+        private final long inserted;
+        private final long rejected;
+        private final long elapsedMs;
+        private final File rejectsFile;
+
+        ImportResult(Target target, long rowsRead, long inserted, long rejected, long elapsedMs, File rejectsFile) {
+            this.target = target;
+            this.rowsRead = rowsRead;
+            this.inserted = inserted;
+            this.rejected = rejected;
+            this.elapsedMs = elapsedMs;
+            this.rejectsFile = rejectsFile;
+        }
+
+        public long getRowsRead() { return rowsRead; }
+        public long getInserted() { return inserted; }
+        public long getRejected() { return rejected; }
+        public long getElapsedMs() { return elapsedMs; }
+        public File getRejectsFile() { return rejectsFile; }
+
+        public long getRowsPerSecond() {
+            return rowsRead * 1000 / Math.max(1, elapsedMs);
+        }
+
+        @Override
+        public String toString() {
+            return "Imported " + inserted + " of " + rowsRead + " " + target.table + " rows in " + elapsedMs +
+                "ms (" + getRowsPerSecond() + " rows/sec), " + rejected + " rejected" +
+                (rejectsFile != null ? " -> " + rejectsFile.getPath() : "");
+        }
+    }
+
+    /**
+     * Writes rejected records as CSV with an extra reject_reason column. The
+     * file is created on the first rejected row.
+     */
+    private static class RejectsWriter implements AutoCloseable {
+        private final File file;
+        private String[] header;
+        private CsvWriter writer;
+
+        RejectsWriter(File file) {
+            this.file = file;
+        }
+
+        void setHeader(String[] header) {
+            this.header = header;
+        }
+
+        void write(String[] record, String reason) throws IOException {
+            if (writer == null) {
+                writer = new CsvWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8));
+                writeRecord(header, "reject_reason");
+            }
+            writeRecord(record, reason);
+        }
+
+        private void writeRecord(String[] fields, String last) throws IOException {
+            for (String field : fields) {
+                writer.writeField(field);
+            }
+            writer.writeField(last);
+            writer.endRecord();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    public static File defaultRejectsFile(File csvFile) {
+        String name = csvFile.getName();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return new File(csvFile.getAbsoluteFile().getParentFile(), base + ".rejects.csv");
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: CsvImporter trips|tickets <file.csv> [chunkSize]");
+            System.exit(2);
+        }
+        int exitCode;
+        try {
+            Target target = Target.valueOf(args[0].toUpperCase());
+            File csvFile = new File(args[1]);
+            int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CHUNK_SIZE;
+            ImportResult result = importFile(target, csvFile, defaultRejectsFile(csvFile), chunkSize,
+                (read, inserted, rejected) -> System.out.println("  " + read + " rows read, " +
+                    inserted + " inserted, " + rejected + " rejected"));
+            exitCode = result.getRejected() > 0 ? 1 : 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ Unknown target or chunk size: " + Arrays.toString(args));
+            exitCode = 2;
+        } catch (IOException | SQLException e) {
+            System.err.println("❌ Import failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        DatabaseConnection.closeConnection();
+        System.exit(exitCode);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Plumbing shared by the entity DAOs ({@link DriverDao}, {@link VehicleDao},
+ * ...). Reads run on a pooled reader, writes bind and execute a cached
+ * writer statement under the writer lock, so no other thread can rebind it
+ * halfway. Every row goes through the DAO's index-based mapper.
+ */
+public final class Dao {
+
+    /**
+     * Maps the current row to an entity, reading columns by position in the
+     * order of the DAO's SELECT list.
+     */
+    public interface Mapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private Dao() {
+    }
+
+    static <T> T findOne(String sql, DatabaseConnection.ParameterBinder binder, Mapper<T> mapper) throws SQLException {
+        return DatabaseConnection.read(sql, binder, rs -> rs.next() ? mapper.map(rs) : null);
+    }
+
+    /**
+     * Id to display name, in query order, for the pick lists of the forms.
+     * The query selects the id first and the name second.
+     */
+    static Map<Integer, String> labels(String sql) throws SQLException {
+        return DatabaseConnection.read(sql, rs -> {
+            Map<Integer, String> labels = new LinkedHashMap<>();
+            while (rs.next()) {
+                labels.put(rs.getInt(1), rs.getString(2));
+            }
+            return labels;
+        });
+    }
+
+    static boolean exists(String sql, String key) throws SQLException {
+        return DatabaseConnection.read(sql, pstmt -> pstmt.setString(1, key), ResultSet::next);
+    }
+
+    static int count(String sql, DatabaseConnection.ParameterBinder binder) throws SQLException {
+        return DatabaseConnection.read(sql, binder, rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+
+    /**
+     * Runs an INSERT and returns the id of the new row.
+     */
+    static int insert(String sql, DatabaseConnection.ParameterBinder binder) throws SQLException {
+        return DatabaseConnection.withWriter(conn -> {
+            PreparedStatement pstmt = DatabaseConnection.prepared(sql);
+            binder.bind(pstmt);
+            return DatabaseConnection.executeInsert(pstmt);
+        });
+    }
+
+    /**
+     * Runs an UPDATE or DELETE and returns the number of rows changed.
+     */
+    static int update(String sql, DatabaseConnection.ParameterBinder binder) throws SQLException {
+        return DatabaseConnection.withWriter(conn -> {
+            PreparedStatement pstmt = DatabaseConnection.prepared(sql);
+            binder.bind(pstmt);
+            return pstmt.executeUpdate();
+        });
+    }
+
+    /**
+     * Tells the open tables, the dashboard and cached reports that a row changed.
+     */
+    static void changed(ChangeFeed.Entity entity, ChangeFeed.Kind kind, int id) {
+        ChangeFeed.publish(entity, kind, id);
+        DataVersion.bump();
+    }
+
+    static Integer getInteger(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    static void setInteger(PreparedStatement pstmt, int parameter, Integer value) throws SQLException {
+        if (value == null) {
+            pstmt.setNull(parameter, Types.INTEGER);
+        } else {
+            pstmt.setInt(parameter, value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.transport;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves the dashboard counters from an in-memory snapshot. All counters are
+ * computed by one query; the snapshot is reused until it is invalidated by a
+ * write or becomes older than the staleness bound, which also covers counters
+ * that change with the clock (today's trips, this month's revenue).
+ */
+public class DashboardStatsService {
+    private static final long MAX_AGE_MS = Long.getLong("transport.dashboard.maxAgeMs", 60000);
+
+    static final String STATS_QUERY =
+        "SELECT " +
+        "(SELECT COUNT(*) FROM drivers WHERE status = 'Active') AS active_drivers, " +
+        "(SELECT COUNT(*) FROM vehicles WHERE status = 'Available') AS available_vehicles, " +
+        "(SELECT COUNT(*) FROM trips WHERE date >= ? AND date < ?) AS today_trips, " +
+        "(SELECT COUNT(*) FROM tickets WHERE status = 'Pending') AS pending_tickets, " +
+        "(SELECT COUNT(*) FROM routes WHERE status = 'Active') AS active_routes, " +
+        "(SELECT COUNT(*) FROM maintenance WHERE status = 'Scheduled') AS maintenance_due, " +
+        "(SELECT COALESCE(SUM(revenue), 0) FROM revenue_monthly WHERE month = ?) AS monthly_revenue";
+
+    private static Snapshot snapshot;
+    private static volatile boolean dirty = true;
+
+    private DashboardStatsService() {
+    }
+
+    /**
+     * Returns the current snapshot, recomputing it first if it was
+     * invalidated or is older than the staleness bound.
+     */
+    public static synchronized Snapshot getSnapshot() throws SQLException {
+        if (dirty || snapshot == null || snapshot.getAgeMillis() > MAX_AGE_MS) {
+            // Clear the flag before reading so a write during the query marks the result stale again
+            dirty = false;
+            try {
+                snapshot = load();
+            } catch (SQLException e) {
+                dirty = true;
+                throw e;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Marks the snapshot stale. Called after any insert, update or delete
+     * that can change one of the counters.
+     */
+    public static void invalidate() {
+        dirty = true;
+    }
+
+    private static Snapshot load() throws SQLException {
+        String today = DateRanges.today();
+        String tomorrow = DateRanges.tomorrow();
+        String month = DateRanges.currentMonthBucket();
+        return DatabaseConnection.read(STATS_QUERY, pstmt -> {
+            pstmt.setString(1, today);
+            pstmt.setString(2, tomorrow);
+            pstmt.setString(3, month);
+        }, rs -> {
+            Map<String, String> values = new HashMap<>();
+            if (rs.next()) {
+                values.put("active_drivers", String.valueOf(rs.getInt("active_drivers")));
+                values.put("available_vehicles", String.valueOf(rs.getInt("available_vehicles")));
+                values.put("today_trips", String.valueOf(rs.getInt("today_trips")));
+                values.put("pending_tickets", String.valueOf(rs.getInt("pending_tickets")));
+                values.put("active_routes", String.valueOf(rs.getInt("active_routes")));
+                values.put("maintenance_due", String.valueOf(rs.getInt("maintenance_due")));
+                values.put("monthly_revenue", String.format("$%.2f", rs.getDouble("monthly_revenue")));
+            }
+            return new Snapshot(values, System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Immutable set of dashboard counter values, already formatted for display.
+     */
+    public static class Snapshot {
+        private final Map<String, String> values;
+        private final long loadedAt;
+
+        Snapshot(Map<String, String> values, long loadedAt) {
+            this.values = Collections.unmodifiableMap(values);
+            this.loadedAt = loadedAt;
+        }
+
+        public String get(String key) {
+            String value = values.get(key);
+            return value != null ? value : "0";
+        }
+
+        public long getLoadedAt() { return loadedAt; }
+
+        public long getAgeMillis() {
+            return System.currentTimeMillis() - loadedAt;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,228 @@
+package com.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams query results straight from a forward-only ResultSet into a CSV or
+ * JSON file, optionally gzip compressed. Rows are written as they are read,
+ * so memory use does not depend on the number of rows exported.
+ *
+ * Can also be run from the command line:
+ * java com.transport.DataExporter table out.csv[.gz]|out.json[.gz] [year]
+ */
+public class DataExporter {
+    private static final int FETCH_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format { CSV, JSON }
+
+    public static final String[] TABLES = {
+        "drivers", "vehicles", "routes", "trips", "tickets", "maintenance", "notifications"
+    };
+
+    // Column a table's rows are filtered on when exporting a single year
+    private static final Map<String, String> DATE_COLUMNS = new HashMap<>();
+    static {
+        DATE_COLUMNS.put("trips", "date");
+        DATE_COLUMNS.put("tickets", "booking_date");
+        DATE_COLUMNS.put("maintenance", "maintenance_date");
+        DATE_COLUMNS.put("notifications", "created_at");
+    }
+
+    private DataExporter() {
+    }
+
+    public static boolean supportsYearFilter(String table) {
+        return DATE_COLUMNS.containsKey(table);
+    }
+
+    /**
+     * Exports a whole table, or only the rows of one year when year is not
+     * null and the table has a date column.
+     */
+    public static long exportTable(String table, Integer year, File file, Format format, boolean gzip)
+            throws IOException, SQLException {
+        if (!Arrays.asList(TABLES).contains(table)) {
+            throw new IllegalArgumentException("Unknown table: " + table);
+        }
+        String dateColumn = DATE_COLUMNS.get(table);
+        if (year == null || dateColumn == null) {
+            return exportQuery("SELECT * FROM " + table + " ORDER BY rowid", null, file, format, gzip);
+        }
+        // Half-open range on the raw column so the date index is used
+        String from = DateRanges.dayStart(LocalDate.of(year, 1, 1));
+        String to = DateRanges.dayStart(LocalDate.of(year + 1, 1, 1));
+        return exportQuery("SELECT * FROM " + table + " WHERE " + dateColumn + " >= ? AND " + dateColumn +
+                " < ? ORDER BY " + dateColumn, pstmt -> {
+                    pstmt.setString(1, from);
+                    pstmt.setString(2, to);
+                }, file, format, gzip);
+    }
+
+    /**
+     * Runs the query on a dedicated read-only connection and writes every
+     * row to the file. A long export neither holds one of the pooled
+     * readers that paging, search and reports need, nor counts as a slow
+     * query in {@link QueryStats}.
+     *
+     * @return the number of rows written
+     */
+    public static long exportQuery(String query, DatabaseConnection.ParameterBinder binder, File file,
+                                   Format format, boolean gzip) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        long rows;
+        try (Writer writer = openWriter(file, gzip);
+             Connection conn = DatabaseConnection.openDedicatedConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(query,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setFetchSize(FETCH_SIZE);
+                if (binder != null) {
+                    binder.bind(pstmt);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    rows = format == Format.CSV ? writeCsv(rs, writer) : writeJson(rs, writer);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            // Do not leave a truncated file behind that looks like a complete export
+            Files.deleteIfExists(file.toPath());
+            throw e;
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        System.out.println("✅ Exported " + rows + " rows to " + file.getName() + " in " + elapsed + "ms (" +
+            (rows * 1000 / elapsed) + " rows/sec)");
+        return rows;
+    }
+
+    private static Writer openWriter(File file, boolean gzip) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()), BUFFER_SIZE);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static long writeCsv(ResultSet rs, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+        CsvWriter csv = new CsvWriter(writer);
+        for (int i = 1; i <= columnCount; i++) {
+            csv.writeField(meta.getColumnLabel(i));
+        }
+        csv.endRecord();
+
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                csv.writeField(rs.getString(i));
+            }
+            csv.endRecord();
+            rows++;
+        }
+        return rows;
+    }
+
+    private static long writeJson(ResultSet rs, Writer writer) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+        String[] keys = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            keys[i] = jsonString(meta.getColumnLabel(i + 1)) + ":";
+        }
+
+        long rows = 0;
+        writer.write('[');
+        while (rs.next()) {
+            writer.write(rows == 0 ? "\n{" : ",\n{");
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writer.write(keys[i - 1]);
+                Object value = rs.getObject(i);
+                if (value == null) {
+                    writer.write("null");
+                } else if (value instanceof Double && (((Double) value).isNaN() || ((Double) value).isInfinite())) {
+                    // JSON has no literal for these
+                    writer.write("null");
+                } else if (value instanceof Number) {
+                    writer.write(value.toString());
+                } else {
+                    writer.write(jsonString(value.toString()));
+                }
+            }
+            writer.write('}');
+            rows++;
+        }
+        writer.write("\n]\n");
+        return rows;
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: DataExporter <table> <out.csv|out.json>[.gz] [year]");
+            System.exit(2);
+        }
+        int exitCode = 0;
+        try {
+            File file = new File(args[1]);
+            String name = file.getName().toLowerCase();
+            boolean gzip = name.endsWith(".gz");
+            Format format = name.replace(".gz", "").endsWith(".json") ? Format.JSON : Format.CSV;
+            Integer year = args.length > 2 ? Integer.valueOf(args[2]) : null;
+            exportTable(args[0], year, file, format, gzip);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + e.getMessage());
+            exitCode = 2;
+        } catch (IOException | SQLException e) {
+            System.err.println("❌ Export failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        DatabaseConnection.closeConnection();
+        System.exit(exitCode);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts changes to the fleet data (drivers, vehicles, trips, tickets, ...)
+ * so caches of derived results can tell whether they are still current: a
+ * result computed at version n stays valid as long as {@link #current()}
+ * returns n. Notifications are not fleet data and do not count.
+ */
+public final class DataVersion {
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    private DataVersion() {
+    }
+
+    public static long current() {
+        return VERSION.get();
+    }
+
+    /**
+     * Records a change: bumps the version and invalidates the dashboard
+     * statistics. Called after any insert, update or delete of fleet data,
+     * including bulk loads and restores.
+     */
+    public static void bump() {
+        VERSION.incrementAndGet();
+        DashboardStatsService.invalidate();
+    }
+}
\ No newline at end of file
@@ -4,8 +4,12 @@ import java.sql.*;
 import javax.swing.JOptionPane;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:sqlite:transport_system.db";
-    private static Connection connection;
+    private static final String URL = System.getProperty("transport.db.url", "jdbc:sqlite:transport_system.db");
+    private static final int READER_COUNT = Integer.getInteger("transport.db.readers", 4);
+    private static final long CHECKOUT_TIMEOUT_MS = 10000;
+    private static final long LEAK_THRESHOLD_MS = 30000;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static ConnectionPool pool;
     
     static {
         initializeDatabase();
@@ -19,8 +23,14 @@ public class DatabaseConnection {
             
             // Create database connection
             getConnection();
-            createTables();
+            int version = MigrationRunner.migrate(getConnection(), Migrations.all());
+            System.out.println("✅ Database schema at version " + version + "!");
+            FleetDataGenerator.restoreInterruptedLoad(getConnection());
             insertSampleData();
+            if (Boolean.parseBoolean(System.getProperty("transport.db.planCheck", "true"))) {
+                QueryPlanCheck.run(getConnection());
+            }
+            MigrationRunner.startBackfills(Migrations.all());
             
             System.out.println("✅ Database initialized successfully!");
             
@@ -39,138 +49,149 @@ public class DatabaseConnection {
         }
     }
     
+    private static synchronized ConnectionPool getPool() throws SQLException {
+        if (pool == null || pool.isClosed()) {
+            pool = new ConnectionPool(URL, READER_COUNT, CHECKOUT_TIMEOUT_MS, LEAK_THRESHOLD_MS, STATEMENT_CACHE_SIZE);
+            System.out.println("✅ Database connection pool established (1 writer, " + READER_COUNT + " readers)!");
+        }
+        return pool;
+    }
+    
+    /**
+     * Returns the shared writer connection. Reads that can run concurrently
+     * should go through {@link #read(String, ResultSetHandler)} instead.
+     */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(URL);
-            // Enable foreign keys and other settings
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute("PRAGMA foreign_keys = ON");
-                stmt.execute("PRAGMA journal_mode = WAL");
+        return getPool().getWriter();
+    }
+    
+    /**
+     * Runs a query on a pooled read-only connection and hands the result set
+     * to the handler. The connection is returned to the pool afterwards, so
+     * the handler must not keep the result set.
+     */
+    public static <T> T read(String query, ResultSetHandler<T> handler) throws SQLException {
+        return read(query, null, handler);
+    }
+    
+    /**
+     * Same as {@link #read(String, ResultSetHandler)} for a parameterized
+     * query. The statement comes from the reader's statement cache.
+     */
+    public static <T> T read(String query, ParameterBinder binder, ResultSetHandler<T> handler) throws SQLException {
+        return read(query, binder, handler, null);
+    }
+    
+    /**
+     * Same as {@link #read(String, ParameterBinder, ResultSetHandler)}, with
+     * a token that can cancel the query from another thread while it runs.
+     */
+    public static <T> T read(String query, ParameterBinder binder, ResultSetHandler<T> handler,
+                             CancelToken cancel) throws SQLException {
+        ConnectionPool readerPool = getPool();
+        ConnectionPool.PooledConnection reader = readerPool.borrowReader();
+        try {
+            PreparedStatement pstmt = reader.getStatements().get(query);
+            if (binder != null) {
+                binder.bind(pstmt);
+            }
+            if (cancel == null) {
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return handler.handle(rs);
+                }
+            }
+            cancel.attach(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                // SQLite ignores an interrupt that arrives before the statement starts
+                cancel.checkCancelled();
+                return handler.handle(rs);
+            } catch (SQLException e) {
+                if (cancel.isCancelled()) {
+                    // sqlite-jdbc finalizes an interrupted statement without marking it closed
+                    reader.getStatements().discard(query);
+                }
+                throw e;
+            } finally {
+                cancel.detach();
             }
-            System.out.println("✅ Database connection established!");
+        } finally {
+            readerPool.releaseReader(reader);
         }
-        return connection;
     }
     
-    private static void createTables() throws SQLException {
-        Connection conn = getConnection();
-        Statement stmt = conn.createStatement();
-        
-        // Create tables in correct order
-        String[] createTables = {
-            // Drivers Table
-            "CREATE TABLE IF NOT EXISTS drivers (" +
-            "driver_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "full_name VARCHAR(255) NOT NULL," +
-            "license_number VARCHAR(100) UNIQUE NOT NULL," +
-            "phone VARCHAR(20)," +
-            "email VARCHAR(255)," +
-            "address TEXT," +
-            "emergency_contact VARCHAR(20)," +
-            "status VARCHAR(50) DEFAULT 'Active'," +
-            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP," +
-            "updated_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
-            ")",
-            
-            // Vehicles Table
-            "CREATE TABLE IF NOT EXISTS vehicles (" +
-            "vehicle_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "name VARCHAR(255) NOT NULL," +
-            "identifier VARCHAR(50) UNIQUE NOT NULL," +
-            "type VARCHAR(100)," +
-            "capacity INTEGER," +
-            "status VARCHAR(50) DEFAULT 'Available'," +
-            "location VARCHAR(255)," +
-            "contact VARCHAR(20)," +
-            "assigned_since DATETIME," +
-            "last_maintenance DATE," +
-            "next_maintenance DATE," +
-            "driver_id INTEGER" +
-            ")",
-            
-            // Routes Table
-            "CREATE TABLE IF NOT EXISTS routes (" +
-            "route_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "route_name VARCHAR(255) NOT NULL," +
-            "start_point VARCHAR(255)," +
-            "end_point VARCHAR(255)," +
-            "distance_km DECIMAL(8,2)," +
-            "estimated_time_minutes INTEGER," +
-            "fare_per_km DECIMAL(6,2)," +
-            "status VARCHAR(50) DEFAULT 'Active'," +
-            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
-            ")",
-            
-            // Trips Table
-            "CREATE TABLE IF NOT EXISTS trips (" +
-            "trip_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "order_number VARCHAR(100) UNIQUE NOT NULL," +
-            "date DATETIME NOT NULL," +
-            "start_location VARCHAR(255)," +
-            "end_location VARCHAR(255)," +
-            "status VARCHAR(50) DEFAULT 'Scheduled'," +
-            "total_amount DECIMAL(10,2)," +
-            "payment_method VARCHAR(50)," +
-            "notes TEXT," +
-            "passenger_count INTEGER," +
-            "vehicle_id INTEGER NOT NULL," +
-            "driver_id INTEGER NOT NULL," +
-            "route_id INTEGER," +
-            "actual_start_time DATETIME," +
-            "actual_end_time DATETIME" +
-            ")",
-            
-            // Tickets Table
-            "CREATE TABLE IF NOT EXISTS tickets (" +
-            "ticket_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "ticket_number VARCHAR(100) UNIQUE NOT NULL," +
-            "passenger_name VARCHAR(255) NOT NULL," +
-            "passenger_phone VARCHAR(20)," +
-            "passenger_email VARCHAR(255)," +
-            "seat_number VARCHAR(10)," +
-            "price DECIMAL(8,2)," +
-            "status VARCHAR(50) DEFAULT 'Confirmed'," +
-            "booking_date DATETIME DEFAULT CURRENT_TIMESTAMP," +
-            "trip_id INTEGER NOT NULL" +
-            ")",
-            
-            // Maintenance Table
-            "CREATE TABLE IF NOT EXISTS maintenance (" +
-            "maintenance_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "reference_id VARCHAR(100) UNIQUE NOT NULL," +
-            "description TEXT NOT NULL," +
-            "maintenance_date DATETIME NOT NULL," +
-            "completion_date DATETIME," +
-            "cost DECIMAL(10,2)," +
-            "status VARCHAR(50) DEFAULT 'Scheduled'," +
-            "remarks TEXT," +
-            "vehicle_id INTEGER NOT NULL," +
-            "mechanic_name VARCHAR(255)" +
-            ")",
-            
-            // Notifications Table
-            "CREATE TABLE IF NOT EXISTS notifications (" +
-            "notification_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "title VARCHAR(255) NOT NULL," +
-            "message TEXT NOT NULL," +
-            "type VARCHAR(50)," +
-            "priority VARCHAR(20) DEFAULT 'Medium'," +
-            "is_read BOOLEAN DEFAULT 0," +
-            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
-            ")"
-        };
-        
-        // Execute all table creations
-        for (String createTable : createTables) {
-            try {
-                stmt.execute(createTable);
-            } catch (SQLException e) {
-                System.err.println("Error creating table: " + e.getMessage());
+    /**
+     * Returns a cached prepared statement on the writer connection. The
+     * statement is reused by later calls with the same SQL, so callers must
+     * not close it; close any result set obtained from it instead.
+     */
+    public static PreparedStatement prepared(String sql) throws SQLException {
+        return getPool().getWriterStatements().get(sql);
+    }
+    
+    /**
+     * Runs an INSERT prepared with {@link #prepared(String)} and returns the
+     * rowid of the new row. Both run under the writer lock, so another
+     * insert cannot slip in between and change last_insert_rowid().
+     */
+    public static int executeInsert(PreparedStatement pstmt) throws SQLException {
+        return withWriter(conn -> {
+            pstmt.executeUpdate();
+            try (ResultSet rs = prepared("SELECT last_insert_rowid()").executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
             }
+        });
+    }
+
+    /**
+     * Borrows a read-only connection for several queries in a row.
+     */
+    public static <T> T withReader(ConnectionCallback<T> callback) throws SQLException {
+        ConnectionPool readerPool = getPool();
+        ConnectionPool.PooledConnection reader = readerPool.borrowReader();
+        try {
+            return callback.doWith(reader.getConnection());
+        } finally {
+            readerPool.releaseReader(reader);
         }
-        
-        stmt.close();
-        System.out.println("✅ All database tables created successfully!");
+    }
+    
+    /**
+     * Runs the callback with exclusive use of the writer connection.
+     */
+    public static <T> T withWriter(ConnectionCallback<T> callback) throws SQLException {
+        ConnectionPool writerPool = getPool();
+        writerPool.getWriterLock().lock();
+        try {
+            return callback.doWith(writerPool.getWriter());
+        } finally {
+            writerPool.getWriterLock().unlock();
+        }
+    }
+    
+    /**
+     * Opens a connection outside the pool for long-running maintenance work
+     * (e.g. backups) that should neither hold a pooled reader nor be
+     * read-only. The caller must close it.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        getPool();
+        Connection conn = DriverManager.getConnection(URL);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 5000");
+        }
+        return conn;
+    }
+    
+    public interface ParameterBinder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+    
+    public interface ResultSetHandler<T> {
+        T handle(ResultSet rs) throws SQLException;
+    }
+    
+    public interface ConnectionCallback<T> {
+        T doWith(Connection conn) throws SQLException;
     }
     
     private static void insertSampleData() throws SQLException {
@@ -236,6 +257,10 @@ public class DatabaseConnection {
         stmt.close();
     }
     
+    /**
+     * Legacy query helper on the writer connection; the caller closes the
+     * statement. New code should use {@link #read(String, ResultSetHandler)}.
+     */
     public static ResultSet executeQuery(String query) throws SQLException {
         Connection conn = getConnection();
         Statement stmt = conn.createStatement();
@@ -243,53 +268,37 @@ public class DatabaseConnection {
     }
     
     public static int executeUpdate(String query) throws SQLException {
-        Connection conn = getConnection();
-        try (Statement stmt = conn.createStatement()) {
-            return stmt.executeUpdate(query);
-        }
+        return withWriter(conn -> prepared(query).executeUpdate());
     }
     
+    /**
+     * Queues a notification; it is written in the background together with
+     * any others pending (see {@link NotificationWriter}).
+     */
     public static void addNotification(String title, String message, String type, String priority) {
-        try {
-            String query = "INSERT INTO notifications (title, message, type, priority) VALUES (?, ?, ?, ?)";
-            PreparedStatement pstmt = getConnection().prepareStatement(query);
-            pstmt.setString(1, title);
-            pstmt.setString(2, message);
-            pstmt.setString(3, type);
-            pstmt.setString(4, priority);
-            pstmt.executeUpdate();
-            pstmt.close();
-        } catch (SQLException e) {
-            System.err.println("Error adding notification: " + e.getMessage());
-        }
+        NotificationWriter.enqueue(title, message, type, priority);
     }
     
     public static int getUnreadNotificationCount() {
-        try {
-            ResultSet rs = executeQuery("SELECT COUNT(*) as count FROM notifications WHERE is_read = 0");
-            if (rs.next()) {
-                int count = rs.getInt("count");
-                rs.getStatement().close();
-                return count;
-            }
-            return 0;
-        } catch (SQLException e) {
-            return 0;
-        }
+        return NotificationBus.getUnreadCount();
+    }
+    
+    public static long getStatementCacheHits() {
+        return pool != null ? pool.getStatementCacheHits() : 0;
+    }
+    
+    public static long getStatementCacheMisses() {
+        return pool != null ? pool.getStatementCacheMisses() : 0;
     }
     
     private static void showErrorDialog(String title, String message) {
         JOptionPane.showMessageDialog(null, message, title, JOptionPane.ERROR_MESSAGE);
     }
     
-    public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✅ Database connection closed!");
-            }
-        } catch (SQLException e) {
-            System.err.println("Error closing connection: " + e.getMessage());
+    public static synchronized void closeConnection() {
+        if (pool != null && !pool.isClosed()) {
+            pool.close();
+            System.out.println("✅ Database connection pool closed!");
         }
     }
     
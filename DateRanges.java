@@ -0,0 +1,66 @@
+package com.transport;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Half-open date bounds for filtering the text date columns. Comparing the
+ * raw column against precomputed bounds (date >= ? AND date < ?) lets SQLite
+ * use an index, unlike wrapping the column in DATE() or strftime().
+ *
+ * Bounds are plain "yyyy-MM-dd" / "yyyy-MM" strings, which sort correctly
+ * against stored values such as "2025-01-31 14:30" or "2025-01-31 14:30:00".
+ */
+public class DateRanges {
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    // Strict, so 2025-02-30 or 25:99 are rejected rather than rolled over
+    private static final DateTimeFormatter DATE_TIME =
+        DateTimeFormatter.ofPattern("uuuu-MM-dd[ HH:mm[:ss]]").withResolverStyle(ResolverStyle.STRICT);
+
+    private DateRanges() {
+    }
+
+    /** Inclusive lower bound of the given day. */
+    public static String dayStart(LocalDate day) {
+        return day.format(DAY);
+    }
+
+    /** Exclusive upper bound of the given day, i.e. the start of the next one. */
+    public static String dayEnd(LocalDate day) {
+        return day.plusDays(1).format(DAY);
+    }
+
+    /**
+     * Whether the text is a real date in the stored form,
+     * "yyyy-MM-dd[ HH:mm[:ss]]", which the date bounds sort against.
+     */
+    public static boolean isDateTime(String text) {
+        try {
+            DATE_TIME.parse(text);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    public static String today() {
+        return dayStart(LocalDate.now());
+    }
+
+    public static String tomorrow() {
+        return dayEnd(LocalDate.now());
+    }
+
+    /** Value of the revenue_monthly.month column for the given month. */
+    public static String monthBucket(YearMonth month) {
+        return month.format(MONTH);
+    }
+
+    public static String currentMonthBucket() {
+        return monthBucket(YearMonth.now());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.transport;
+
+/**
+ * A row of the drivers table. Immutable; an entity that has not been
+ * saved yet has id 0.
+ */
+public final class Driver {
+    private final int id;
+    private final String fullName;
+    private final String licenseNumber;
+    private final String phone;
+    private final String email;
+    private final String address;
+    private final String emergencyContact;
+    private final String status;
+
+    public Driver(int id, String fullName, String licenseNumber, String phone, String email, String address,
+            String emergencyContact, String status) {
+        this.id = id;
+        this.fullName = fullName;
+        this.licenseNumber = licenseNumber;
+        this.phone = phone;
+        this.email = email;
+        this.address = address;
+        this.emergencyContact = emergencyContact;
+        this.status = status;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getLicenseNumber() {
+        return licenseNumber;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getEmergencyContact() {
+        return emergencyContact;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "Driver " + id;
+    }
+}
\ No newline at end of file
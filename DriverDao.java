@@ -0,0 +1,89 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * All reads and writes of the drivers table. Writes publish the change on
+ * the {@link ChangeFeed} and invalidate the dashboard statistics.
+ */
+public final class DriverDao {
+    // Column order is what map() reads; append WHERE / ORDER BY as needed
+    static final String SELECT =
+        "SELECT driver_id, full_name, license_number, phone, email, address, emergency_contact, status FROM drivers";
+    private static final String INSERT =
+        "INSERT INTO drivers (full_name, license_number, phone, email, address, emergency_contact, status) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE drivers SET full_name=?, license_number=?, phone=?, email=?, address=?, emergency_contact=?, " +
+        "status=?, updated_at=CURRENT_TIMESTAMP WHERE driver_id=?";
+
+    private DriverDao() {
+    }
+
+    public static Driver map(ResultSet rs) throws SQLException {
+        return new Driver(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getString(8)
+        );
+    }
+
+    public static Driver findById(int driverId) throws SQLException {
+        return Dao.findOne(SELECT + " WHERE driver_id = ?", pstmt -> pstmt.setInt(1, driverId), DriverDao::map);
+    }
+
+    /**
+     * Names of the drivers that can be assigned to a vehicle or trip.
+     */
+    public static Map<Integer, String> findActiveNames() throws SQLException {
+        return Dao.labels("SELECT driver_id, full_name FROM drivers WHERE status = 'Active'");
+    }
+
+    public static boolean licenseExists(String licenseNumber) throws SQLException {
+        return Dao.exists("SELECT 1 FROM drivers WHERE license_number = ?", licenseNumber);
+    }
+
+    public static int count() throws SQLException {
+        return Dao.count("SELECT COUNT(*) FROM drivers", null);
+    }
+
+    /**
+     * Inserts the driver (its id is ignored) and returns the new id.
+     */
+    public static int insert(Driver driver) throws SQLException {
+        int id = Dao.insert(INSERT, pstmt -> bind(pstmt, driver));
+        Dao.changed(ChangeFeed.Entity.DRIVER, ChangeFeed.Kind.INSERTED, id);
+        return id;
+    }
+
+    public static void update(Driver driver) throws SQLException {
+        Dao.update(UPDATE, pstmt -> {
+            bind(pstmt, driver);
+            pstmt.setInt(8, driver.getId());
+        });
+        Dao.changed(ChangeFeed.Entity.DRIVER, ChangeFeed.Kind.UPDATED, driver.getId());
+    }
+
+    public static void delete(int driverId) throws SQLException {
+        Dao.update("DELETE FROM drivers WHERE driver_id = ?", pstmt -> pstmt.setInt(1, driverId));
+        Dao.changed(ChangeFeed.Entity.DRIVER, ChangeFeed.Kind.DELETED, driverId);
+    }
+
+    private static void bind(PreparedStatement pstmt, Driver driver) throws SQLException {
+        pstmt.setString(1, driver.getFullName());
+        pstmt.setString(2, driver.getLicenseNumber());
+        pstmt.setString(3, driver.getPhone());
+        pstmt.setString(4, driver.getEmail());
+        pstmt.setString(5, driver.getAddress());
+        pstmt.setString(6, driver.getEmergencyContact());
+        pstmt.setString(7, driver.getStatus());
+    }
+}
\ No newline at end of file
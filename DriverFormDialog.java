@@ -2,8 +2,6 @@ package com.transport;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class DriverFormDialog extends JDialog {
@@ -82,23 +80,16 @@ public class DriverFormDialog extends JDialog {
     
     private void loadDriverData() {
         try {
-            String query = "SELECT * FROM drivers WHERE driver_id = ?";
-            PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, driverId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                fullNameField.setText(rs.getString("full_name"));
-                licenseField.setText(rs.getString("license_number"));
-                phoneField.setText(rs.getString("phone"));
-                emailField.setText(rs.getString("email"));
-                addressField.setText(rs.getString("address"));
-                emergencyContactField.setText(rs.getString("emergency_contact"));
-                statusCombo.setSelectedItem(rs.getString("status"));
+            Driver driver = DriverDao.findById(driverId);
+            if (driver != null) {
+                fullNameField.setText(driver.getFullName());
+                licenseField.setText(driver.getLicenseNumber());
+                phoneField.setText(driver.getPhone());
+                emailField.setText(driver.getEmail());
+                addressField.setText(driver.getAddress());
+                emergencyContactField.setText(driver.getEmergencyContact());
+                statusCombo.setSelectedItem(driver.getStatus());
             }
-            
-            rs.close();
-            pstmt.close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading driver data: " + e.getMessage());
         }
@@ -119,28 +110,26 @@ public class DriverFormDialog extends JDialog {
         }
         
         try {
+            Driver driver = new Driver(
+                driverId == null ? 0 : driverId,
+                fullNameField.getText().trim(),
+                licenseField.getText().trim(),
+                phoneField.getText().trim(),
+                emailField.getText().trim(),
+                addressField.getText().trim(),
+                emergencyContactField.getText().trim(),
+                (String) statusCombo.getSelectedItem()
+            );
+            
             if (driverId == null) {
                 // Check for duplicate license number
-                if (isDuplicateLicense(licenseField.getText().trim())) {
+                if (DriverDao.licenseExists(driver.getLicenseNumber())) {
                     JOptionPane.showMessageDialog(this, "License number already exists!", "Validation Error", JOptionPane.ERROR_MESSAGE);
                     licenseField.requestFocus();
                     return;
                 }
                 
-                // Insert new driver
-                String query = "INSERT INTO drivers (full_name, license_number, phone, email, " +
-                             "address, emergency_contact, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, fullNameField.getText().trim());
-                pstmt.setString(2, licenseField.getText().trim());
-                pstmt.setString(3, phoneField.getText().trim());
-                pstmt.setString(4, emailField.getText().trim());
-                pstmt.setString(5, addressField.getText().trim());
-                pstmt.setString(6, emergencyContactField.getText().trim());
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                DriverDao.insert(driver);
                 
                 // Add notification
                 DatabaseConnection.addNotification(
@@ -151,22 +140,7 @@ public class DriverFormDialog extends JDialog {
                 );
                 
             } else {
-                // Update existing driver
-                String query = "UPDATE drivers SET full_name=?, license_number=?, phone=?, " +
-                             "email=?, address=?, emergency_contact=?, status=?, " +
-                             "updated_at=CURRENT_TIMESTAMP WHERE driver_id=?";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, fullNameField.getText().trim());
-                pstmt.setString(2, licenseField.getText().trim());
-                pstmt.setString(3, phoneField.getText().trim());
-                pstmt.setString(4, emailField.getText().trim());
-                pstmt.setString(5, addressField.getText().trim());
-                pstmt.setString(6, emergencyContactField.getText().trim());
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                pstmt.setInt(8, driverId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                DriverDao.update(driver);
             }
             
             success = true;
@@ -181,17 +155,6 @@ public class DriverFormDialog extends JDialog {
         }
     }
     
-    private boolean isDuplicateLicense(String licenseNumber) throws SQLException {
-        String query = "SELECT COUNT(*) as count FROM drivers WHERE license_number = ?";
-        PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-        pstmt.setString(1, licenseNumber);
-        ResultSet rs = pstmt.executeQuery();
-        boolean exists = rs.next() && rs.getInt("count") > 0;
-        rs.close();
-        pstmt.close();
-        return exists;
-    }
-    
     public boolean isSuccess() {
         return success;
     }
@@ -0,0 +1,931 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a realistic fleet for load testing: drivers, vehicles, routes,
+ * trips, tickets and maintenance histories at production scale.
+ *
+ * Trips follow a date distribution that grows over the two years of
+ * history, dips at weekends and peaks in the morning and evening rush
+ * hours; popular vehicles and routes get most of the trips. A share of the
+ * trips is ticketed, with seats sold up to the vehicle's capacity. Every
+ * vehicle has a service every few months plus occasional repairs.
+ *
+ * The output depends only on the seed, the scale and the end date, so a
+ * run can be reproduced exactly. Existing drivers, vehicles, routes, trips,
+ * tickets and maintenance are replaced; notifications are kept.
+ *
+ * Rows are written with batched prepared statements in large transactions.
+ * The secondary indexes and triggers of those tables are dropped for the
+ * load and recreated afterwards, and the full-text indexes and revenue
+ * rollups are rebuilt once at the end instead of row by row. What was
+ * dropped is recorded in bulk_load_restore in the same transaction, so a
+ * load cut short by a crash is put right on the next start (see
+ * {@link #restoreInterruptedLoad(Connection)}).
+ *
+ * Can also be run from the command line:
+ * java com.transport.FleetDataGenerator [--seed N] [--drivers N] [--vehicles N]
+ *     [--trips N] [--ticketed-percent N] [--until yyyy-MM-dd] [--replace]
+ */
+public class FleetDataGenerator {
+    public static final long DEFAULT_SEED = 42;
+
+    private static final int HISTORY_DAYS = 730;
+    private static final int FUTURE_DAYS = 14;
+    private static final int BOOKING_LEAD_DAYS = 14;
+    private static final int MIN_SERVICE_INTERVAL = 80;
+    private static final int MAX_SERVICE_INTERVAL = 110;
+    private static final int BATCH_SIZE = 10000;
+    private static final int COMMIT_ROWS = 100000;
+    private static final int MAX_VEHICLES = 676000;
+
+    // Tables in the order they are cleared; their indexes and triggers are dropped during the load
+    private static final String[] TABLES = {"tickets", "trips", "maintenance", "vehicles", "drivers", "routes"};
+
+    private static final String[] PLACES = {
+        "Nyabugogo Terminal", "Downtown Kigali", "Kimironko", "Remera", "Kacyiru", "Nyamirambo", "Kicukiro",
+        "Huye", "Musanze", "Rubavu", "Rusizi", "Nyagatare", "Muhanga", "Karongi", "Rwamagana", "Kayonza",
+        "Nyanza", "Gicumbi", "Ruhango", "Kamonyi", "Bugesera", "Ngoma", "Kirehe", "Nyamagabe", "Rulindo"
+    };
+    private static final String[] FIRST_NAMES = {
+        "Jean", "Marie", "Eric", "Alice", "Patrick", "Grace", "Emmanuel", "Diane", "Olivier", "Claudine",
+        "Innocent", "Aline", "David", "Josiane", "Samuel", "Sandrine", "Joseph", "Esther", "Bosco", "Yvonne",
+        "Fabrice", "Chantal", "Theogene", "Vestine", "Pacifique", "Solange", "Janvier", "Florence"
+    };
+    private static final String[] LAST_NAMES = {
+        "NSABIMANA", "UWIMANA", "HABIMANA", "MUKAMANA", "NIYONZIMA", "INGABIRE", "MUGISHA", "UWASE",
+        "HAKIZIMANA", "IRADUKUNDA", "NDAYISABA", "UMUTONI", "BIZIMANA", "KAYITESI", "NSHIMIYIMANA", "ISHIMWE",
+        "MUREKATETE", "TUYISENGE", "NIYITEGEKA", "UWAMAHORO"
+    };
+    private static final String[] VEHICLE_TYPES = {"Bus", "Coach", "Shuttle", "Van", "Car"};
+    private static final int[] VEHICLE_TYPE_WEIGHTS = {45, 20, 15, 15, 5};
+    private static final int[] VEHICLE_CAPACITIES = {60, 45, 18, 14, 4};
+    private static final String[] REPAIRS = {
+        "Brake system repair", "Tyre replacement", "Engine diagnostics", "Air conditioning repair",
+        "Gearbox overhaul", "Suspension repair", "Electrical fault", "Windscreen replacement", "Clutch replacement"
+    };
+    private static final String[] MECHANICS = {
+        "Mike Mechanic", "Sarah Technician", "Kalisa Garage", "Auto Fix Ltd", "Gasabo Motors", "Huye Auto Care"
+    };
+    private static final String[] TRIP_NOTES = {
+        "Extra luggage", "School group", "Wedding party", "Airport transfer", "Wheelchair access requested"
+    };
+    // Seat labels A1..A4, B1..B4, ... up to the largest vehicle
+    private static final String[] SEATS = new String[60];
+    // Relative number of departures in each hour of the day, with morning and evening rush hours
+    private static final double[] HOUR_WEIGHTS = {
+        0.2, 0.1, 0.1, 0.1, 0.3, 1.0, 2.5, 4.0, 3.5, 2.0, 1.5, 1.5,
+        1.8, 1.5, 1.4, 1.8, 3.0, 4.0, 3.2, 2.0, 1.2, 0.8, 0.5, 0.3
+    };
+
+    static {
+        for (int seat = 0; seat < SEATS.length; seat++) {
+            SEATS[seat] = (char) ('A' + seat / 4) + String.valueOf(seat % 4 + 1);
+        }
+    }
+
+    /** Stage reported to the ProgressListener once all rows are written and the indexes are being rebuilt. */
+    public static final String INDEX_STAGE = "indexes";
+
+    // bulk_load_restore types besides 'index' and 'trigger': a full-text rebuild and the rollup refill
+    private static final String REBUILD = "rebuild";
+    private static final String ROLLUP = "rollup";
+
+    public interface ProgressListener {
+        void progress(String table, long rowsWritten);
+    }
+
+    /**
+     * Size of the generated fleet. Routes are derived from the number of
+     * vehicles and tickets from the ticketed share of trips.
+     */
+    public static class Scale {
+        private final int drivers;
+        private final int vehicles;
+        private final long trips;
+        private final int ticketedPercent;
+
+        public Scale(int drivers, int vehicles, long trips, int ticketedPercent) {
+            if (drivers < 1 || vehicles < 1 || vehicles > MAX_VEHICLES || trips < 0
+                    || ticketedPercent < 0 || ticketedPercent > 100) {
+                throw new IllegalArgumentException("Invalid scale: " + drivers + " drivers, " + vehicles +
+                    " vehicles, " + trips + " trips, " + ticketedPercent + "% ticketed");
+            }
+            this.drivers = drivers;
+            this.vehicles = vehicles;
+            this.trips = trips;
+            this.ticketedPercent = ticketedPercent;
+        }
+
+        public int getDrivers() { return drivers; }
+        public int getVehicles() { return vehicles; }
+        public long getTrips() { return trips; }
+        public int getTicketedPercent() { return ticketedPercent; }
+
+        public int getRoutes() {
+            return Math.min(500, Math.max(20, vehicles / 10));
+        }
+    }
+
+    public static class Result {
+        private final Map<String, Long> rows;
+        private final long loadMillis;
+        private final long indexMillis;
+
+        Result(Map<String, Long> rows, long loadMillis, long indexMillis) {
+            this.rows = rows;
+            this.loadMillis = loadMillis;
+            this.indexMillis = indexMillis;
+        }
+
+        public long getRows(String table) {
+            Long count = rows.get(table);
+            return count != null ? count : 0;
+        }
+
+        public long getTotalRows() {
+            long total = 0;
+            for (long count : rows.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        /** Time spent writing the rows. */
+        public long getLoadMillis() { return loadMillis; }
+
+        /** Time spent recreating the indexes and rebuilding the full-text indexes and rollups afterwards. */
+        public long getIndexMillis() { return indexMillis; }
+
+        public long getRowsPerSecond() {
+            return loadMillis > 0 ? getTotalRows() * 1000 / loadMillis : getTotalRows();
+        }
+
+        @Override
+        public String toString() {
+            return "Generated " + rows + " in " + loadMillis + "ms (" + getRowsPerSecond() + " rows/sec), " +
+                "indexes rebuilt in " + indexMillis + "ms";
+        }
+    }
+
+    // One maintenance job of a vehicle
+    private static final class Job {
+        final int day;
+        final String description;
+        final boolean service;
+
+        Job(int day, String description, boolean service) {
+            this.day = day;
+            this.description = description;
+            this.service = service;
+        }
+    }
+
+    private FleetDataGenerator() {
+    }
+
+    /**
+     * Replaces the fleet data in the application database, on a dedicated
+     * connection. App writes wait while a transaction of the load is open:
+     * each COMMIT_ROWS rows, then each index and full-text rebuild on its
+     * own. On millions of rows the largest of those outlast the 5 s busy
+     * timeout, so run it when nobody else is writing. The revenue rollups
+     * are filled in afterwards a few days per transaction.
+     */
+    public static Result generate(long seed, Scale scale, LocalDate until, ProgressListener listener) throws SQLException {
+        try (Connection conn = DatabaseConnection.openDedicatedConnection()) {
+            return generate(conn, seed, scale, until, listener);
+        } finally {
+            DataVersion.bump();
+        }
+    }
+
+    /**
+     * Replaces the fleet data in the database of the given connection, which
+     * must already have the current schema.
+     */
+    public static Result generate(Connection conn, long seed, Scale scale, LocalDate until,
+                                  ProgressListener listener) throws SQLException {
+        long start = System.currentTimeMillis();
+        Map<String, Long> rows = new LinkedHashMap<>();
+        boolean autoCommit = conn.getAutoCommit();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA cache_size = -200000");
+            stmt.execute("PRAGMA temp_store = MEMORY");
+        }
+        conn.setAutoCommit(false);
+        long loaded = start;
+        try {
+            dropIndexesAndTriggers(conn);
+            clearTables(conn);
+            conn.commit();
+
+            Generator generator = new Generator(conn, seed, scale, until, listener, rows);
+            generator.writeRoutes();
+            generator.writeDrivers();
+            generator.writeVehicles();
+            generator.writeTripsAndTickets();
+            generator.writeMaintenance();
+            conn.commit();
+            loaded = System.currentTimeMillis();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            restore(conn, listener);
+            conn.setAutoCommit(autoCommit);
+        }
+        MigrationRunner.runBackfill(conn, RevenueRollup.BACKFILL);
+
+        Result result = new Result(rows, loaded - start, System.currentTimeMillis() - loaded);
+        System.out.println("✅ " + result);
+        return result;
+    }
+
+    /**
+     * Number of rows currently in the tables the generator replaces.
+     */
+    public static long countExistingRows() throws SQLException {
+        long total = 0;
+        for (String table : TABLES) {
+            total += DatabaseConnection.read("SELECT COUNT(*) FROM " + table, rs -> rs.next() ? rs.getLong(1) : 0L);
+        }
+        return total;
+    }
+
+    /**
+     * Drops the secondary indexes and triggers of the replaced tables and
+     * records them, and the rebuilds they leave owing, in bulk_load_restore,
+     * all in the caller's transaction.
+     */
+    private static void dropIndexesAndTriggers(Connection conn) throws SQLException {
+        StringBuilder tables = new StringBuilder();
+        for (String table : TABLES) {
+            tables.append(tables.length() > 0 ? ", " : "").append('\'').append(table).append('\'');
+        }
+        List<String[]> dropped = new ArrayList<>();
+        // Automatic indexes (UNIQUE constraints) have no SQL and stay in place
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT type, name, sql FROM sqlite_master " +
+                 "WHERE type IN ('index', 'trigger') AND sql IS NOT NULL AND tbl_name IN (" + tables + ") " +
+                 "ORDER BY type, name")) {
+            while (rs.next()) {
+                dropped.add(new String[]{rs.getString("type"), rs.getString("name"), rs.getString("sql")});
+            }
+        }
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement record = conn.prepareStatement(
+                 "INSERT INTO bulk_load_restore (type, name, sql) VALUES (?, ?, ?)")) {
+            for (String[] object : dropped) {
+                stmt.execute("DROP " + object[0].toUpperCase() + " " + object[1]);
+                record(record, object[0], object[1], object[2]);
+            }
+            for (FullTextSearch.Index index : FullTextSearch.Index.values()) {
+                record(record, REBUILD, index.getTable(),
+                    "INSERT INTO " + index.getTable() + "(" + index.getTable() + ") VALUES ('rebuild')");
+            }
+            record(record, ROLLUP, "revenue_daily", null);
+        }
+    }
+
+    private static void record(PreparedStatement record, String type, String name, String sql) throws SQLException {
+        record.setString(1, type);
+        record.setString(2, name);
+        record.setString(3, sql);
+        record.executeUpdate();
+    }
+
+    private static void clearTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                stmt.execute("DELETE FROM " + table);
+            }
+            // Restart the ids at 1 so the same seed gives the same ids
+            stmt.execute("DELETE FROM sqlite_sequence WHERE name IN " +
+                "('tickets', 'trips', 'maintenance', 'vehicles', 'drivers', 'routes')");
+        }
+    }
+
+    /**
+     * Recreates what bulk_load_restore records, committing after every step
+     * so app writes get in between: each index, then the triggers together
+     * with emptying the revenue rollups for the backfill to refill, then
+     * each full-text rebuild. Each step deletes its record in the same
+     * transaction, so a restore cut short carries on from there.
+     */
+    private static void restore(Connection conn, ProgressListener listener) throws SQLException {
+        List<String[]> pending = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT seq, type, sql FROM bulk_load_restore ORDER BY seq")) {
+            while (rs.next()) {
+                pending.add(new String[]{rs.getString("seq"), rs.getString("type"), rs.getString("sql")});
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (listener != null) {
+            listener.progress(INDEX_STAGE, 0);
+        }
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+             PreparedStatement done = conn.prepareStatement("DELETE FROM bulk_load_restore WHERE seq = ?")) {
+            for (String[] step : pending) {
+                if (step[1].equals("index")) {
+                    stmt.execute(step[2]);
+                    done.setString(1, step[0]);
+                    done.executeUpdate();
+                    conn.commit();
+                }
+            }
+            // Rollups see every write once their triggers are back, so they are reset in the same transaction
+            for (String[] step : pending) {
+                if (step[1].equals("trigger")) {
+                    stmt.execute(step[2]);
+                } else if (step[1].equals(ROLLUP)) {
+                    RevenueRollup.reset(conn);
+                } else {
+                    continue;
+                }
+                done.setString(1, step[0]);
+                done.executeUpdate();
+            }
+            conn.commit();
+            for (String[] step : pending) {
+                if (step[1].equals(REBUILD)) {
+                    stmt.execute(step[2]);
+                    done.setString(1, step[0]);
+                    done.executeUpdate();
+                    conn.commit();
+                }
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Finishes the restore of a load that was cut short, e.g. by a crash,
+     * so its indexes, triggers and full-text indexes are not lost. Called at
+     * startup; the revenue rollups are refilled by the migration backfills.
+     */
+    public static void restoreInterruptedLoad(Connection conn) {
+        try {
+            int pending;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM bulk_load_restore")) {
+                pending = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (pending > 0) {
+                System.out.println("⚠️ Restoring " + pending + " indexes, triggers and rebuilds left over from an interrupted data generation...");
+                restore(conn, null);
+                System.out.println("✅ Interrupted data generation restored");
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Could not restore after an interrupted data generation: " + e.getMessage() +
+                " (retried on the next start)");
+        }
+    }
+
+    // Per-run state: the random streams, the day calendar and what later tables need to know about earlier ones
+    private static final class Generator {
+        private final Connection conn;
+        private final long seed;
+        private final Scale scale;
+        private final ProgressListener listener;
+        private final Map<String, Long> rows;
+        private final LocalDate firstDay;
+        private final int todayIndex;
+        // "yyyy-MM-dd" of each day from BOOKING_LEAD_DAYS before the first day to the last scheduled service
+        private final String[] dayStrings;
+        private final String[] minuteStrings = new String[24 * 60];
+        private final double[] hourCumulative = cumulative(HOUR_WEIGHTS);
+
+        private String[] routeStart;
+        private String[] routeEnd;
+        private double[] routeFare;
+        private int[] vehicleCapacity;
+        private int[] vehicleDriver;
+        private long uncommitted;
+
+        Generator(Connection conn, long seed, Scale scale, LocalDate until, ProgressListener listener,
+                  Map<String, Long> rows) {
+            this.conn = conn;
+            this.seed = seed;
+            this.scale = scale;
+            this.listener = listener;
+            this.rows = rows;
+            this.firstDay = until.minusDays(HISTORY_DAYS - 1);
+            this.todayIndex = HISTORY_DAYS - 1;
+            this.dayStrings = new String[BOOKING_LEAD_DAYS + HISTORY_DAYS + Math.max(FUTURE_DAYS, MAX_SERVICE_INTERVAL)];
+            for (int i = 0; i < dayStrings.length; i++) {
+                dayStrings[i] = firstDay.plusDays(i - BOOKING_LEAD_DAYS).toString();
+            }
+            for (int minute = 0; minute < minuteStrings.length; minute++) {
+                minuteStrings[minute] = pad(minute / 60, 2) + ":" + pad(minute % 60, 2);
+            }
+        }
+
+        // Each table draws from its own stream, so changing one table's size does not reshuffle the others
+        private Random random(int stream) {
+            return new Random(seed * 1000003L + stream);
+        }
+
+        private String day(int dayIndex) {
+            return dayStrings[dayIndex + BOOKING_LEAD_DAYS];
+        }
+
+        void writeRoutes() throws SQLException {
+            Random random = random(1);
+            int count = scale.getRoutes();
+            routeStart = new String[count];
+            routeEnd = new String[count];
+            routeFare = new double[count];
+            try (BulkInsert insert = new BulkInsert(conn, "routes", "route_id", "route_name", "start_point",
+                    "end_point", "distance_km", "estimated_time_minutes", "fare_per_km", "status")) {
+                for (int i = 0; i < count; i++) {
+                    int from = random.nextInt(PLACES.length);
+                    int to = (from + 1 + random.nextInt(PLACES.length - 1)) % PLACES.length;
+                    // Most routes are short city lines, a few are long intercity ones
+                    double distance = round2(3 + Math.pow(random.nextDouble(), 2) * 220);
+                    double farePerKm = round2(0.8 + random.nextDouble() * 2.2);
+                    routeStart[i] = PLACES[from];
+                    routeEnd[i] = PLACES[to];
+                    routeFare[i] = round2(Math.max(1, distance * farePerKm / 10));
+                    add(insert, i + 1,
+                        PLACES[from] + " - " + PLACES[to] + (random.nextInt(5) == 0 ? " Express" : ""),
+                        PLACES[from],
+                        PLACES[to],
+                        distance,
+                        (int) (distance * 1.4) + 10,
+                        farePerKm,
+                        random.nextInt(100) < 92 ? "Active" : "Inactive");
+                }
+                flush(insert);
+            }
+        }
+
+        void writeDrivers() throws SQLException {
+            Random random = random(2);
+            try (BulkInsert insert = new BulkInsert(conn, "drivers", "driver_id", "full_name", "license_number",
+                    "phone", "email", "address", "emergency_contact", "status")) {
+                for (int id = 1; id <= scale.getDrivers(); id++) {
+                    String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    int roll = random.nextInt(100);
+                    add(insert, id,
+                        last + " " + first,
+                        "DL" + pad(id, 7),
+                        phone(random),
+                        (first + "." + last + id + "@fleet.rw").toLowerCase(),
+                        "KG " + (1 + random.nextInt(700)) + " St, " + PLACES[random.nextInt(PLACES.length)],
+                        phone(random),
+                        roll < 88 ? "Active" : roll < 96 ? "On Leave" : "Suspended");
+                }
+                flush(insert);
+            }
+        }
+
+        void writeVehicles() throws SQLException {
+            Random random = random(3);
+            int count = scale.getVehicles();
+            vehicleCapacity = new int[count];
+            vehicleDriver = new int[count];
+            try (BulkInsert insert = new BulkInsert(conn, "vehicles", "vehicle_id", "name", "identifier", "type",
+                    "capacity", "status", "location", "contact", "assigned_since", "last_maintenance",
+                    "next_maintenance", "driver_id")) {
+                for (int i = 0; i < count; i++) {
+                    int id = i + 1;
+                    int type = weightedIndex(random, VEHICLE_TYPE_WEIGHTS);
+                    int roll = random.nextInt(100);
+                    vehicleCapacity[i] = VEHICLE_CAPACITIES[type];
+                    // Drivers are spread over the vehicles; some vehicles have nobody assigned
+                    vehicleDriver[i] = random.nextInt(10) == 0 ? 0 : 1 + i % scale.getDrivers();
+
+                    String lastService = null;
+                    String nextService = null;
+                    for (Job job : maintenanceJobs(id)) {
+                        if (job.service && job.day <= todayIndex) {
+                            lastService = day(job.day);
+                        } else if (job.service && nextService == null) {
+                            nextService = day(job.day);
+                        }
+                    }
+
+                    boolean assigned = vehicleDriver[i] != 0;
+                    add(insert, id,
+                        VEHICLE_TYPES[type] + " " + PLACES[random.nextInt(PLACES.length)] + " " + pad(id, 4),
+                        plate(i),
+                        VEHICLE_TYPES[type],
+                        vehicleCapacity[i],
+                        roll < 60 ? "Available" : roll < 85 ? "On Trip" : roll < 95 ? "Maintenance" : "Out of Service",
+                        PLACES[random.nextInt(PLACES.length)],
+                        phone(random),
+                        assigned ? day(random.nextInt(HISTORY_DAYS)) : null,
+                        lastService,
+                        nextService,
+                        assigned ? vehicleDriver[i] : null);
+                }
+                flush(insert);
+            }
+        }
+
+        void writeTripsAndTickets() throws SQLException {
+            Random random = random(4);
+            long[] tripsPerDay = tripsPerDay(random(5));
+            long tripId = 0;
+            long ticketId = 0;
+            try (BulkInsert trips = new BulkInsert(conn, "trips", "trip_id", "order_number", "date", "start_location",
+                     "end_location", "status", "total_amount", "payment_method", "passenger_count", "notes",
+                     "vehicle_id", "driver_id", "route_id");
+                 BulkInsert tickets = new BulkInsert(conn, "tickets", "ticket_id", "ticket_number", "passenger_name",
+                     "passenger_phone", "passenger_email", "seat_number", "price", "status", "booking_date", "trip_id")) {
+                for (int day = 0; day < tripsPerDay.length; day++) {
+                    int[] minutes = new int[(int) tripsPerDay[day]];
+                    for (int i = 0; i < minutes.length; i++) {
+                        minutes[i] = weightedIndex(random, hourCumulative) * 60 + random.nextInt(60);
+                    }
+                    // Departures within the day in time order, so ids follow dates as they would in production
+                    Arrays.sort(minutes);
+                    for (int minute : minutes) {
+                        tripId++;
+                        int route = skewed(random, routeStart.length);
+                        int vehicle = skewed(random, vehicleCapacity.length);
+                        int capacity = vehicleCapacity[vehicle];
+                        int driver = vehicleDriver[vehicle] != 0 && random.nextInt(100) < 85
+                            ? vehicleDriver[vehicle] : 1 + random.nextInt(scale.getDrivers());
+                        String status = tripStatus(random, day, minute);
+                        boolean ticketed = random.nextInt(100) < scale.getTicketedPercent();
+                        boolean rushHour = (minute >= 7 * 60 && minute < 9 * 60) || (minute >= 17 * 60 && minute < 19 * 60);
+                        double occupancy = 0.3 + 0.7 * Math.max(random.nextDouble(), random.nextDouble()) + (rushHour ? 0.1 : 0);
+                        int passengers = Math.max(1, Math.min(capacity, (int) Math.round(capacity * occupancy)));
+                        double fare = routeFare[route];
+
+                        add(trips, tripId,
+                            "TRIP-" + pad(tripId, 9),
+                            day(day) + " " + minuteStrings[minute],
+                            routeStart[route],
+                            routeEnd[route],
+                            status,
+                            status.equals("Cancelled") ? 0 : round2(fare * passengers),
+                            paymentMethod(random, status),
+                            passengers,
+                            random.nextInt(10) == 0 ? TRIP_NOTES[random.nextInt(TRIP_NOTES.length)] : "",
+                            vehicle + 1,
+                            driver,
+                            route + 1);
+
+                        if (ticketed) {
+                            for (int seat = 0; seat < passengers; seat++) {
+                                ticketId++;
+                                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                                int roll = random.nextInt(100);
+                                int bookingDay = day - random.nextInt(BOOKING_LEAD_DAYS + 1);
+                                add(tickets, ticketId,
+                                    "TKT-" + pad(ticketId, 10),
+                                    first + " " + last,
+                                    phone(random),
+                                    roll < 30 ? (first + "." + last).toLowerCase() + "@mail.rw" : null,
+                                    SEATS[seat],
+                                    fare,
+                                    status.equals("Cancelled") ? "Cancelled"
+                                        : roll < 93 ? "Confirmed" : roll < 97 ? "Pending" : "Cancelled",
+                                    day(bookingDay) + " " + minuteStrings[random.nextInt(minuteStrings.length)] + ":00",
+                                    tripId);
+                            }
+                        }
+                    }
+                }
+                flush(trips);
+                flush(tickets);
+            }
+        }
+
+        void writeMaintenance() throws SQLException {
+            Random random = random(6);
+            long maintenanceId = 0;
+            try (BulkInsert insert = new BulkInsert(conn, "maintenance", "maintenance_id", "reference_id", "description",
+                    "maintenance_date", "completion_date", "cost", "status", "remarks", "vehicle_id", "mechanic_name")) {
+                for (int vehicle = 1; vehicle <= vehicleCapacity.length; vehicle++) {
+                    for (Job job : maintenanceJobs(vehicle)) {
+                        maintenanceId++;
+                        boolean done = job.day < todayIndex;
+                        boolean inProgress = job.day == todayIndex;
+                        add(insert, maintenanceId,
+                            "MAINT-" + pad(maintenanceId, 8),
+                            job.description,
+                            day(job.day),
+                            done ? day(Math.min(todayIndex, job.day + random.nextInt(3))) : null,
+                            round2(job.service ? 80 + random.nextDouble() * 170 : 150 + random.nextDouble() * 2350),
+                            done ? "Completed" : inProgress ? "In Progress" : "Scheduled",
+                            random.nextInt(5) == 0 ? "Parts ordered" : null,
+                            vehicle,
+                            MECHANICS[random.nextInt(MECHANICS.length)]);
+                    }
+                }
+                flush(insert);
+            }
+        }
+
+        /**
+         * Services every few months from a random point up to the next one
+         * after today, plus a few repairs; in date order. Derived from the
+         * vehicle id alone, so vehicles and maintenance agree on the dates.
+         */
+        private List<Job> maintenanceJobs(int vehicle) {
+            Random random = random(1000 + vehicle);
+            List<Job> jobs = new ArrayList<>();
+            int interval = MIN_SERVICE_INTERVAL + random.nextInt(MAX_SERVICE_INTERVAL - MIN_SERVICE_INTERVAL + 1);
+            int day = random.nextInt(interval);
+            do {
+                jobs.add(new Job(day, "Scheduled service (oil, filters, brakes)", true));
+                day += interval;
+            } while (day - interval <= todayIndex);
+            int repairs = random.nextInt(6);
+            for (int i = 0; i < repairs; i++) {
+                jobs.add(new Job(random.nextInt(HISTORY_DAYS), REPAIRS[random.nextInt(REPAIRS.length)], false));
+            }
+            jobs.sort((a, b) -> Integer.compare(a.day, b.day));
+            return jobs;
+        }
+
+        /**
+         * Splits the trips over the days: volume grows over the history, is
+         * lower at weekends and varies a little from day to day. The future
+         * days hold the trips already scheduled, fewer the further out.
+         */
+        private long[] tripsPerDay(Random random) {
+            double[] weights = new double[HISTORY_DAYS + FUTURE_DAYS];
+            double total = 0;
+            for (int day = 0; day < weights.length; day++) {
+                double weekday = weekdayFactor(firstDay.plusDays(day).getDayOfWeek());
+                if (day < HISTORY_DAYS) {
+                    double growth = 0.4 + 0.6 * day / (HISTORY_DAYS - 1);
+                    weights[day] = growth * weekday * (0.85 + 0.3 * random.nextDouble());
+                } else {
+                    weights[day] = 0.3 * weekday * (FUTURE_DAYS - (day - HISTORY_DAYS)) / FUTURE_DAYS;
+                }
+                total += weights[day];
+            }
+            // Round the running total, so the days add up to exactly the requested number of trips
+            long[] counts = new long[weights.length];
+            double cumulative = 0;
+            long assigned = 0;
+            for (int day = 0; day < weights.length; day++) {
+                cumulative += weights[day];
+                long upTo = Math.round(scale.getTrips() * cumulative / total);
+                counts[day] = upTo - assigned;
+                assigned = upTo;
+            }
+            return counts;
+        }
+
+        private String tripStatus(Random random, int day, int minute) {
+            if (day > todayIndex || (day == todayIndex && minute >= 14 * 60)) {
+                return "Scheduled";
+            }
+            if (day == todayIndex && minute >= 12 * 60) {
+                return "In Progress";
+            }
+            return random.nextInt(100) < 91 ? "Completed" : "Cancelled";
+        }
+
+        private void add(BulkInsert insert, Object... row) throws SQLException {
+            insert.add(row);
+            long count = rows.merge(insert.table, 1L, Long::sum);
+            if (++uncommitted >= COMMIT_ROWS) {
+                conn.commit();
+                uncommitted = 0;
+                if (listener != null) {
+                    listener.progress(insert.table, count);
+                }
+            }
+        }
+
+        private void flush(BulkInsert insert) throws SQLException {
+            insert.flush();
+            rows.putIfAbsent(insert.table, 0L);
+            if (listener != null) {
+                listener.progress(insert.table, rows.get(insert.table));
+            }
+        }
+    }
+
+    /**
+     * Inserts ROWS_PER_STATEMENT rows per statement. Through JDBC the cost of
+     * a bulk load is mostly per statement execution, so this loads about half
+     * as fast again as batching single-row inserts.
+     */
+    private static final class BulkInsert implements AutoCloseable {
+        private static final int ROWS_PER_STATEMENT = 100;
+
+        final String table;
+        private final Connection conn;
+        private final String[] columns;
+        private final Object[] values;
+        private final PreparedStatement statement;
+        private int size;
+        private int batched;
+
+        BulkInsert(Connection conn, String table, String... columns) throws SQLException {
+            this.table = table;
+            this.conn = conn;
+            this.columns = columns;
+            this.values = new Object[ROWS_PER_STATEMENT * columns.length];
+            this.statement = conn.prepareStatement(sql(ROWS_PER_STATEMENT));
+        }
+
+        void add(Object... row) throws SQLException {
+            System.arraycopy(row, 0, values, size, columns.length);
+            size += columns.length;
+            if (size == values.length) {
+                bind(statement, values.length);
+                statement.addBatch();
+                size = 0;
+                if (++batched * ROWS_PER_STATEMENT >= BATCH_SIZE) {
+                    statement.executeBatch();
+                    batched = 0;
+                }
+            }
+        }
+
+        void flush() throws SQLException {
+            statement.executeBatch();
+            batched = 0;
+            if (size > 0) {
+                try (PreparedStatement rest = conn.prepareStatement(sql(size / columns.length))) {
+                    bind(rest, size);
+                    rest.executeUpdate();
+                }
+                size = 0;
+            }
+        }
+
+        private void bind(PreparedStatement pstmt, int count) throws SQLException {
+            for (int i = 0; i < count; i++) {
+                pstmt.setObject(i + 1, values[i]);
+            }
+        }
+
+        private String sql(int rowCount) {
+            StringBuilder row = new StringBuilder("(");
+            for (int i = 0; i < columns.length; i++) {
+                row.append(i > 0 ? ", ?" : "?");
+            }
+            row.append(')');
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                sql.append(i > 0 ? ", " : "").append(row);
+            }
+            return sql.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+
+    private static double weekdayFactor(DayOfWeek day) {
+        return day == DayOfWeek.SUNDAY ? 0.5 : day == DayOfWeek.SATURDAY ? 0.7 : 1.0;
+    }
+
+    private static String paymentMethod(Random random, String status) {
+        int roll = random.nextInt(100);
+        if (status.equals("Scheduled")) {
+            return roll < 60 ? "Not Paid" : roll < 85 ? "Mobile" : "Card";
+        }
+        return roll < 35 ? "Cash" : roll < 75 ? "Mobile" : roll < 95 ? "Card" : "Not Paid";
+    }
+
+    // Index in [0, n) with low indexes much more likely: a few vehicles and routes carry most trips
+    private static int skewed(Random random, int n) {
+        double u = random.nextDouble();
+        return (int) (n * u * u);
+    }
+
+    private static int weightedIndex(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static int weightedIndex(Random random, double[] cumulative) {
+        double roll = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, roll);
+        return Math.min(cumulative.length - 1, index >= 0 ? index + 1 : -index - 1);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] result = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    // Rwandan style number plate, unique for the first MAX_VEHICLES vehicles: RAA 000 A
+    private static String plate(int index) {
+        int number = index % 1000;
+        int letters = index / 1000;
+        return "RA" + (char) ('A' + letters / 26 % 26) + " " + pad(number, 3) + " " + (char) ('A' + letters % 26);
+    }
+
+    private static String phone(Random random) {
+        return "+25078" + pad(random.nextInt(10000000), 7);
+    }
+
+    private static String pad(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    public static void main(String[] args) {
+        long seed = DEFAULT_SEED;
+        int drivers = 2000;
+        int vehicles = 3000;
+        long trips = 1000000;
+        int ticketedPercent = 10;
+        LocalDate until = LocalDate.now();
+        boolean replace = false;
+        Scale scale;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--drivers": drivers = Integer.parseInt(args[++i]); break;
+                    case "--vehicles": vehicles = Integer.parseInt(args[++i]); break;
+                    case "--trips": trips = Long.parseLong(args[++i]); break;
+                    case "--ticketed-percent": ticketedPercent = Integer.parseInt(args[++i]); break;
+                    case "--until": until = LocalDate.parse(args[++i]); break;
+                    case "--replace": replace = true; break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            scale = new Scale(drivers, vehicles, trips, ticketedPercent);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            System.err.println("❌ " + e.getMessage());
+            System.err.println("Usage: FleetDataGenerator [--seed N] [--drivers N] [--vehicles N] [--trips N] " +
+                "[--ticketed-percent N] [--until yyyy-MM-dd] [--replace]");
+            System.exit(2);
+            return;
+        }
+
+        int exitCode;
+        try {
+            if (!replace && countExistingRows() > 0) {
+                System.err.println("❌ The database already has fleet data; pass --replace to overwrite it");
+                exitCode = 2;
+            } else {
+                generate(seed, scale, until, (table, written) -> System.out.println(
+                    table.equals(INDEX_STAGE) ? "  rebuilding indexes..." : "  " + table + ": " + written + " rows"));
+                exitCode = 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Generation failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        DatabaseConnection.closeConnection();
+        System.exit(exitCode);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.transport;
+
+import javax.swing.SwingUtilities;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Searches the FTS5 indexes created by migration 4 (trips_fts, tickets_fts,
+ * maintenance_fts). User input is turned into a prefix query: every word
+ * must appear, and the last characters typed may be the start of a word,
+ * so "jea mar" finds "Jean Marie". Results are ranked with bm25.
+ */
+public class FullTextSearch {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "full-text-search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public enum Index {
+        TRIPS("trips_fts"),
+        TICKETS("tickets_fts"),
+        MAINTENANCE("maintenance_fts");
+
+        private final String table;
+
+        Index(String table) {
+            this.table = table;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    private FullTextSearch() {
+    }
+
+    /**
+     * Builds an FTS5 MATCH expression from free text, or returns null when
+     * the text contains no letters or digits. Each word is quoted, so FTS5
+     * operators and punctuation in the input are taken literally.
+     */
+    public static String toMatchQuery(String text) {
+        StringBuilder query = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('"').append(word).append("\"*");
+                word.setLength(0);
+            }
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    /**
+     * SQL condition restricting idColumn to the rows matching one MATCH
+     * parameter, for use as a filter in larger queries.
+     */
+    public static String matchCondition(Index index, String idColumn) {
+        return idColumn + " IN (SELECT rowid FROM " + index.getTable() + " WHERE " + index.getTable() + " MATCH ?)";
+    }
+
+    /**
+     * Returns the ids of the best matching rows, best first.
+     */
+    public static List<Integer> search(Index index, String text, int limit) throws SQLException {
+        String matchQuery = toMatchQuery(text);
+        if (matchQuery == null) {
+            return Collections.emptyList();
+        }
+        return DatabaseConnection.read(
+            "SELECT rowid FROM " + index.getTable() + " WHERE " + index.getTable() + " MATCH ? ORDER BY rank LIMIT ?",
+            pstmt -> {
+                pstmt.setString(1, matchQuery);
+                pstmt.setInt(2, limit);
+            },
+            rs -> {
+                List<Integer> ids = new ArrayList<>();
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+                return ids;
+            });
+    }
+
+    /**
+     * Runs {@link #search} in the background and hands the ids to the
+     * callback on the EDT. Errors are logged and give an empty result.
+     */
+    public static void searchAsync(Index index, String text, int limit, Consumer<Set<Integer>> callback) {
+        EXECUTOR.submit(() -> {
+            Set<Integer> ids;
+            try {
+                ids = new HashSet<>(search(index, text, limit));
+            } catch (SQLException e) {
+                System.err.println("❌ Full-text search failed: " + e.getMessage());
+                ids = Collections.emptySet();
+            }
+            Set<Integer> result = ids;
+            SwingUtilities.invokeLater(() -> callback.accept(result));
+        });
+    }
+
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+}
\ No newline at end of file
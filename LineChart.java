@@ -0,0 +1,103 @@
+package com.transport;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A time series as a filled line. Points are placed by their x value, so
+ * gaps in the series show as gaps in time. Series longer than the plot is
+ * wide are downsampled with {@link SeriesDownsampler#lttb}, one point per
+ * pixel column at most.
+ */
+public final class LineChart extends Chart {
+    private static final Color FILL = new Color(33, 150, 243, 50);
+
+    private final String[] labels;
+    private final double[] xs;
+    private final double[] ys;
+
+    /**
+     * @param labels hover and axis label of each point, e.g. its date
+     * @param xs x value of each point in ascending order, e.g. the epoch day
+     * @param ys y value of each point
+     */
+    public LineChart(String valueFormat, String[] labels, double[] xs, double[] ys) {
+        super(valueFormat);
+        this.labels = labels;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return xs.length == 0;
+    }
+
+    @Override
+    double getMaxValue() {
+        double max = 0;
+        for (double y : ys) {
+            max = Math.max(max, y);
+        }
+        return max;
+    }
+
+    @Override
+    List<Hotspot> plot(Graphics2D g, Rectangle plot, double max) {
+        int[] kept = SeriesDownsampler.lttb(xs, ys, plot.width);
+        double minX = xs[0];
+        double span = Math.max(xs[xs.length - 1] - minX, 1);
+        int bottom = plot.y + plot.height;
+
+        List<Hotspot> hotspots = new ArrayList<>(kept.length);
+        Path2D.Double line = new Path2D.Double();
+        for (int k = 0; k < kept.length; k++) {
+            int i = kept[k];
+            int x = xs.length == 1 ? plot.x + plot.width / 2 : plot.x + (int) Math.round((xs[i] - minX) / span * plot.width);
+            int y = toY(plot, ys[i], max);
+            if (k == 0) {
+                line.moveTo(x, y);
+            } else {
+                line.lineTo(x, y);
+            }
+            hotspots.add(new Hotspot(x, y, labels[i] + ": " + formatValue(ys[i])));
+        }
+
+        if (hotspots.size() == 1) {
+            Hotspot only = hotspots.get(0);
+            g.setColor(SERIES);
+            g.fillOval(only.getX() - 3, only.getY() - 3, 6, 6);
+        } else {
+            Path2D.Double area = new Path2D.Double(line);
+            area.lineTo(hotspots.get(hotspots.size() - 1).getX(), bottom);
+            area.lineTo(hotspots.get(0).getX(), bottom);
+            area.closePath();
+            g.setColor(FILL);
+            g.fill(area);
+            g.setColor(SERIES);
+            g.setStroke(new BasicStroke(1.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g.draw(line);
+        }
+
+        // First and last label under the ends of the axis
+        FontMetrics metrics = g.getFontMetrics();
+        int labelY = bottom + metrics.getAscent() + 4;
+        g.setColor(TEXT);
+        String first = labels[0];
+        g.drawString(first, plot.x, labelY);
+        if (xs.length > 1) {
+            String last = labels[labels.length - 1];
+            int lastX = plot.x + plot.width - metrics.stringWidth(last);
+            if (lastX > plot.x + metrics.stringWidth(first) + 8) {
+                g.drawString(last, lastX, labelY);
+            }
+        }
+        return hotspots;
+    }
+}
\ No newline at end of file
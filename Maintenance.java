@@ -0,0 +1,79 @@
+package com.transport;
+
+/**
+ * A row of the maintenance table. Immutable; an entity that has not been
+ * saved yet has id 0. The vehicle name comes from the join in
+ * {@link MaintenanceDao} and is null on entities built for saving.
+ */
+public final class Maintenance {
+    private final int id;
+    private final String referenceId;
+    private final String description;
+    private final String maintenanceDate;
+    private final String completionDate;
+    private final double cost;
+    private final String status;
+    private final String mechanicName;
+    private final int vehicleId;
+    private final String vehicleName;
+
+    public Maintenance(int id, String referenceId, String description, String maintenanceDate,
+            String completionDate, double cost, String status, String mechanicName, int vehicleId,
+            String vehicleName) {
+        this.id = id;
+        this.referenceId = referenceId;
+        this.description = description;
+        this.maintenanceDate = maintenanceDate;
+        this.completionDate = completionDate;
+        this.cost = cost;
+        this.status = status;
+        this.mechanicName = mechanicName;
+        this.vehicleId = vehicleId;
+        this.vehicleName = vehicleName;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getMaintenanceDate() {
+        return maintenanceDate;
+    }
+
+    public String getCompletionDate() {
+        return completionDate;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMechanicName() {
+        return mechanicName;
+    }
+
+    public int getVehicleId() {
+        return vehicleId;
+    }
+
+    public String getVehicleName() {
+        return vehicleName;
+    }
+
+    @Override
+    public String toString() {
+        return "Maintenance " + id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * All reads and writes of the maintenance table. Jobs are read together
+ * with the name of their vehicle. Writes publish the change on the
+ * {@link ChangeFeed} and invalidate the dashboard statistics.
+ */
+public final class MaintenanceDao {
+    // Column order is what map() reads; append WHERE / ORDER BY on the m. columns
+    static final String SELECT =
+        "SELECT m.maintenance_id, m.reference_id, m.description, m.maintenance_date, m.completion_date, m.cost, " +
+        "m.status, m.mechanic_name, m.vehicle_id, v.name " +
+        "FROM maintenance m JOIN vehicles v ON m.vehicle_id = v.vehicle_id";
+    private static final String INSERT =
+        "INSERT INTO maintenance (reference_id, description, maintenance_date, completion_date, cost, status, " +
+        "mechanic_name, vehicle_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE maintenance SET reference_id=?, description=?, maintenance_date=?, completion_date=?, cost=?, " +
+        "status=?, mechanic_name=?, vehicle_id=? WHERE maintenance_id=?";
+
+    private MaintenanceDao() {
+    }
+
+    public static Maintenance map(ResultSet rs) throws SQLException {
+        return new Maintenance(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getDouble(6),
+            rs.getString(7),
+            rs.getString(8),
+            rs.getInt(9),
+            rs.getString(10)
+        );
+    }
+
+    public static Maintenance findById(int maintenanceId) throws SQLException {
+        return Dao.findOne(SELECT + " WHERE m.maintenance_id = ?", pstmt -> pstmt.setInt(1, maintenanceId),
+            MaintenanceDao::map);
+    }
+
+    public static boolean referenceExists(String referenceId) throws SQLException {
+        return Dao.exists("SELECT 1 FROM maintenance WHERE reference_id = ?", referenceId);
+    }
+
+    /**
+     * Inserts the job (its id is ignored) and returns the new id.
+     */
+    public static int insert(Maintenance maintenance) throws SQLException {
+        int id = Dao.insert(INSERT, pstmt -> bind(pstmt, maintenance));
+        Dao.changed(ChangeFeed.Entity.MAINTENANCE, ChangeFeed.Kind.INSERTED, id);
+        return id;
+    }
+
+    public static void update(Maintenance maintenance) throws SQLException {
+        Dao.update(UPDATE, pstmt -> {
+            bind(pstmt, maintenance);
+            pstmt.setInt(9, maintenance.getId());
+        });
+        Dao.changed(ChangeFeed.Entity.MAINTENANCE, ChangeFeed.Kind.UPDATED, maintenance.getId());
+    }
+
+    /**
+     * Marks the job completed as of now.
+     */
+    public static void complete(int maintenanceId) throws SQLException {
+        Dao.update("UPDATE maintenance SET status = 'Completed', completion_date = datetime('now') " +
+            "WHERE maintenance_id = ?", pstmt -> pstmt.setInt(1, maintenanceId));
+        Dao.changed(ChangeFeed.Entity.MAINTENANCE, ChangeFeed.Kind.UPDATED, maintenanceId);
+    }
+
+    public static void delete(int maintenanceId) throws SQLException {
+        Dao.update("DELETE FROM maintenance WHERE maintenance_id = ?", pstmt -> pstmt.setInt(1, maintenanceId));
+        Dao.changed(ChangeFeed.Entity.MAINTENANCE, ChangeFeed.Kind.DELETED, maintenanceId);
+    }
+
+    private static void bind(PreparedStatement pstmt, Maintenance maintenance) throws SQLException {
+        pstmt.setString(1, maintenance.getReferenceId());
+        pstmt.setString(2, maintenance.getDescription());
+        pstmt.setString(3, maintenance.getMaintenanceDate());
+        pstmt.setString(4, maintenance.getCompletionDate());
+        pstmt.setDouble(5, maintenance.getCost());
+        pstmt.setString(6, maintenance.getStatus());
+        pstmt.setString(7, maintenance.getMechanicName());
+        pstmt.setInt(8, maintenance.getVehicleId());
+    }
+}
\ No newline at end of file
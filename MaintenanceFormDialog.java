@@ -2,11 +2,10 @@ package com.transport;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 
 public class MaintenanceFormDialog extends JDialog {
     private boolean success = false;
@@ -86,12 +85,10 @@ public class MaintenanceFormDialog extends JDialog {
     
     private void loadVehicles() {
         try {
-            ResultSet rs = DatabaseConnection.executeQuery("SELECT vehicle_id, name FROM vehicles");
             vehicleCombo.addItem("Select Vehicle");
-            while (rs.next()) {
-                vehicleCombo.addItem(rs.getString("name") + " (ID: " + rs.getInt("vehicle_id") + ")");
+            for (Map.Entry<Integer, String> vehicle : VehicleDao.findNames().entrySet()) {
+                vehicleCombo.addItem(vehicle.getValue() + " (ID: " + vehicle.getKey() + ")");
             }
-            rs.getStatement().close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading vehicles: " + e.getMessage());
         }
@@ -99,32 +96,25 @@ public class MaintenanceFormDialog extends JDialog {
     
     private void loadMaintenanceData() {
         try {
-            String query = "SELECT * FROM maintenance WHERE maintenance_id = ?";
-            PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, maintenanceId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                referenceField.setText(rs.getString("reference_id"));
-                descriptionField.setText(rs.getString("description"));
-                maintenanceDateField.setText(rs.getString("maintenance_date"));
-                completionDateField.setText(rs.getString("completion_date"));
-                costField.setText(String.valueOf(rs.getDouble("cost")));
-                statusCombo.setSelectedItem(rs.getString("status"));
-                mechanicField.setText(rs.getString("mechanic_name"));
+            Maintenance maintenance = MaintenanceDao.findById(maintenanceId);
+            if (maintenance != null) {
+                referenceField.setText(maintenance.getReferenceId());
+                descriptionField.setText(maintenance.getDescription());
+                maintenanceDateField.setText(maintenance.getMaintenanceDate());
+                completionDateField.setText(maintenance.getCompletionDate());
+                costField.setText(String.valueOf(maintenance.getCost()));
+                statusCombo.setSelectedItem(maintenance.getStatus());
+                mechanicField.setText(maintenance.getMechanicName());
                 
                 // Set vehicle selection
-                int vehicleId = rs.getInt("vehicle_id");
                 for (int i = 0; i < vehicleCombo.getItemCount(); i++) {
                     String item = vehicleCombo.getItemAt(i);
-                    if (item.contains("(ID: " + vehicleId + ")")) {
+                    if (item.contains("(ID: " + maintenance.getVehicleId() + ")")) {
                         vehicleCombo.setSelectedIndex(i);
                         break;
                     }
                 }
             }
-            rs.close();
-            pstmt.close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading maintenance data: " + e.getMessage());
         }
@@ -152,29 +142,28 @@ public class MaintenanceFormDialog extends JDialog {
                 return;
             }
             
+            Maintenance maintenance = new Maintenance(
+                maintenanceId == null ? 0 : maintenanceId,
+                referenceField.getText().trim(),
+                descriptionField.getText().trim(),
+                maintenanceDateField.getText().trim(),
+                completionDateField.getText().isEmpty() ? null : completionDateField.getText().trim(),
+                cost,
+                (String) statusCombo.getSelectedItem(),
+                mechanicField.getText().trim(),
+                vehicleId,
+                null
+            );
+            
             if (maintenanceId == null) {
                 // Check for duplicate reference ID
-                if (isDuplicateReference(referenceField.getText().trim())) {
+                if (MaintenanceDao.referenceExists(maintenance.getReferenceId())) {
                     JOptionPane.showMessageDialog(this, "Reference ID already exists!", "Validation Error", JOptionPane.ERROR_MESSAGE);
                     referenceField.requestFocus();
                     return;
                 }
                 
-                // Insert new maintenance
-                String query = "INSERT INTO maintenance (reference_id, description, maintenance_date, " +
-                             "completion_date, cost, status, vehicle_id, mechanic_name) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, referenceField.getText().trim());
-                pstmt.setString(2, descriptionField.getText().trim());
-                pstmt.setString(3, maintenanceDateField.getText().trim());
-                pstmt.setString(4, completionDateField.getText().isEmpty() ? null : completionDateField.getText().trim());
-                pstmt.setDouble(5, cost);
-                pstmt.setString(6, (String) statusCombo.getSelectedItem());
-                pstmt.setInt(7, vehicleId);
-                pstmt.setString(8, mechanicField.getText().trim());
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                MaintenanceDao.insert(maintenance);
                 
                 DatabaseConnection.addNotification(
                     "New Maintenance Scheduled",
@@ -184,22 +173,7 @@ public class MaintenanceFormDialog extends JDialog {
                 );
                 
             } else {
-                // Update existing maintenance
-                String query = "UPDATE maintenance SET reference_id=?, description=?, maintenance_date=?, " +
-                             "completion_date=?, cost=?, status=?, vehicle_id=?, mechanic_name=? WHERE maintenance_id=?";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, referenceField.getText().trim());
-                pstmt.setString(2, descriptionField.getText().trim());
-                pstmt.setString(3, maintenanceDateField.getText().trim());
-                pstmt.setString(4, completionDateField.getText().isEmpty() ? null : completionDateField.getText().trim());
-                pstmt.setDouble(5, cost);
-                pstmt.setString(6, (String) statusCombo.getSelectedItem());
-                pstmt.setInt(7, vehicleId);
-                pstmt.setString(8, mechanicField.getText().trim());
-                pstmt.setInt(9, maintenanceId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                MaintenanceDao.update(maintenance);
             }
             
             success = true;
@@ -216,17 +190,6 @@ public class MaintenanceFormDialog extends JDialog {
         }
     }
     
-    private boolean isDuplicateReference(String referenceId) throws SQLException {
-        String query = "SELECT COUNT(*) as count FROM maintenance WHERE reference_id = ?";
-        PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-        pstmt.setString(1, referenceId);
-        ResultSet rs = pstmt.executeQuery();
-        boolean exists = rs.next() && rs.getInt("count") > 0;
-        rs.close();
-        pstmt.close();
-        return exists;
-    }
-    
     private int extractIdFromCombo(JComboBox<String> combo) {
         String selected = (String) combo.getSelectedItem();
         if (selected != null && selected.contains("(ID: ") && !selected.equals("Select Vehicle")) {
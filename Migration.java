@@ -0,0 +1,155 @@
+package com.transport;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * One step of the schema history. The optional Java step and then the DDL
+ * statements run in a single transaction together with the schema_version
+ * record.
+ * An optional backfill then fills in data for existing rows in small batches
+ * outside that transaction.
+ *
+ * Once a migration has shipped it must not be edited: its checksum is stored
+ * when it is applied and verified on every startup. Add a new migration
+ * instead.
+ */
+public class Migration {
+    private final int version;
+    private final String description;
+    private final String[] statements;
+    private final String stepName;
+    private final Step step;
+    private final Backfill backfill;
+
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    public Migration(int version, String description, String... statements) {
+        this(version, description, null, null, null, statements);
+    }
+
+    /**
+     * @param stepName name of the Java step, part of the checksum; rename it
+     *                 when the step's behaviour changes
+     */
+    public Migration(int version, String description, String stepName, Step step,
+                     Backfill backfill, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.stepName = stepName;
+        this.step = step;
+        this.backfill = backfill;
+        this.statements = statements;
+    }
+
+    public int getVersion() { return version; }
+    public String getDescription() { return description; }
+    public String[] getStatements() { return statements; }
+    public Step getStep() { return step; }
+    public Backfill getBackfill() { return backfill; }
+
+    /**
+     * SHA-256 over everything that defines the migration.
+     */
+    public String getChecksum() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, String.valueOf(version));
+            for (String statement : statements) {
+                update(digest, statement);
+            }
+            update(digest, stepName);
+            if (backfill != null) {
+                update(digest, backfill.getDefinition());
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        if (text != null) {
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+        // Separator so ("ab", "c") and ("a", "bc") hash differently
+        digest.update((byte) 0);
+    }
+
+    /**
+     * A data backfill run as a repeated batch, one transaction per batch,
+     * until a batch does no more work. The batch is either a statement that
+     * takes the batch size as its only parameter and only touches rows that
+     * still need work (e.g. "UPDATE t SET x = ... WHERE rowid IN (SELECT
+     * rowid FROM t WHERE x IS NULL LIMIT ?)"), or a Java {@link Batch} for
+     * work that needs several statements. Because either is driven by what is
+     * still pending rather than a stored position, an interrupted backfill
+     * simply continues on the next startup.
+     */
+    public static class Backfill {
+        private final String name;
+        private final String batchSql;
+        private final String batchName;
+        private final Batch batch;
+        private final int batchSize;
+
+        public interface Batch {
+            /**
+             * Does at most batchSize units of work inside the caller's
+             * transaction and returns how many it did, 0 once nothing is left.
+             */
+            int run(Connection conn, int batchSize) throws SQLException;
+        }
+
+        public Backfill(String name, String batchSql, int batchSize) {
+            this(name, batchSql, null, null, batchSize);
+        }
+
+        /**
+         * @param batchName name of the Java batch, part of the checksum;
+         *                  rename it when the batch's behaviour changes
+         */
+        public Backfill(String name, String batchName, Batch batch, int batchSize) {
+            this(name, null, batchName, batch, batchSize);
+        }
+
+        private Backfill(String name, String batchSql, String batchName, Batch batch, int batchSize) {
+            this.name = name;
+            this.batchSql = batchSql;
+            this.batchName = batchName;
+            this.batch = batch;
+            this.batchSize = batchSize;
+        }
+
+        public String getName() { return name; }
+        public String getBatchSql() { return batchSql; }
+        public int getBatchSize() { return batchSize; }
+
+        String getDefinition() {
+            return batch != null ? batchName : batchSql;
+        }
+
+        /**
+         * Runs one batch on the connection, inside the caller's transaction.
+         */
+        int runBatch(Connection conn) throws SQLException {
+            if (batch != null) {
+                return batch.run(conn, batchSize);
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(batchSql)) {
+                pstmt.setInt(1, batchSize);
+                return pstmt.executeUpdate();
+            }
+        }
+    }
+}
\ No newline at end of file
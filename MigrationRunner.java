@@ -0,0 +1,199 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings the database up to the latest schema version at startup.
+ *
+ * Applied migrations are recorded in the schema_version table with their
+ * checksum. Pending ones run in version order, each in its own transaction
+ * together with its schema_version row, so a failed migration leaves the
+ * database at the previous version. Backfills run afterwards on a background
+ * thread, one short transaction per batch, so the app stays usable while
+ * large tables are being filled in.
+ */
+public class MigrationRunner {
+    private static final String CREATE_VERSION_TABLE =
+        "CREATE TABLE IF NOT EXISTS schema_version (" +
+        "version INTEGER PRIMARY KEY," +
+        "description TEXT NOT NULL," +
+        "checksum TEXT NOT NULL," +
+        "applied_at DATETIME DEFAULT CURRENT_TIMESTAMP," +
+        "execution_ms INTEGER" +
+        ")";
+
+    private MigrationRunner() {
+    }
+
+    /**
+     * Verifies the applied migrations and applies the pending ones.
+     *
+     * @return the schema version the database is at afterwards
+     */
+    public static int migrate(Connection conn, List<Migration> migrations) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_VERSION_TABLE);
+        }
+
+        Map<Integer, String> applied = loadApplied(conn);
+        int currentVersion = 0;
+        for (Migration migration : migrations) {
+            String storedChecksum = applied.get(migration.getVersion());
+            if (storedChecksum != null) {
+                if (!storedChecksum.equals(migration.getChecksum())) {
+                    throw new SQLException("Migration " + migration.getVersion() + " (" +
+                        migration.getDescription() + ") was changed after it was applied");
+                }
+            } else {
+                apply(conn, migration);
+            }
+            currentVersion = migration.getVersion();
+        }
+
+        for (Integer version : applied.keySet()) {
+            if (version > currentVersion) {
+                throw new SQLException("Database schema version " + version +
+                    " is newer than this application (" + currentVersion + ")");
+            }
+        }
+        return currentVersion;
+    }
+
+    private static Map<Integer, String> loadApplied(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        System.out.println("📝 Applying migration " + migration.getVersion() + ": " + migration.getDescription());
+        long start = System.currentTimeMillis();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (migration.getStep() != null) {
+                migration.getStep().apply(conn);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : migration.getStatements()) {
+                    stmt.execute(statement);
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                pstmt.setInt(1, migration.getVersion());
+                pstmt.setString(2, migration.getDescription());
+                pstmt.setString(3, migration.getChecksum());
+                pstmt.setLong(4, System.currentTimeMillis() - start);
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration " + migration.getVersion() + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        System.out.println("✅ Migration " + migration.getVersion() + " applied in " +
+            (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * Runs the backfills of all migrations on a background thread. Each batch
+     * takes the writer connection only for its own transaction.
+     */
+    public static void startBackfills(List<Migration> migrations) {
+        Thread thread = new Thread(() -> {
+            for (Migration migration : migrations) {
+                if (migration.getBackfill() != null) {
+                    try {
+                        runBackfill(migration.getBackfill());
+                    } catch (SQLException e) {
+                        System.err.println("❌ Backfill " + migration.getBackfill().getName() +
+                            " stopped: " + e.getMessage() + " (it resumes on the next start)");
+                    }
+                }
+            }
+        }, "migration-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs the backfill to the end, one writer transaction per batch. After
+     * each batch it pauses for as long as the batch took, so the backfill
+     * holds the database at most half of the time: in-app writers queue on
+     * the fair writer lock, and other processes get through on their busy
+     * timeout.
+     */
+    static long runBackfill(Migration.Backfill backfill) throws SQLException {
+        return runBackfill(null, backfill);
+    }
+
+    /**
+     * Same as {@link #runBackfill(Migration.Backfill)}, on the given
+     * connection instead of the app's writer (e.g. the dedicated connection
+     * of a bulk load), or on the writer if it is null.
+     */
+    public static long runBackfill(Connection conn, Migration.Backfill backfill) throws SQLException {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        int changed;
+        do {
+            long batchStart = System.currentTimeMillis();
+            changed = conn != null ? runBatch(conn, backfill)
+                : DatabaseConnection.withWriter(writer -> runBatch(writer, backfill));
+            total += changed;
+            if (changed > 0) {
+                DataVersion.bump();
+                if (!pause(System.currentTimeMillis() - batchStart)) {
+                    throw new SQLException("interrupted after " + total + " rows");
+                }
+            }
+        } while (changed > 0);
+
+        if (total > 0) {
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            System.out.println("✅ Backfill " + backfill.getName() + " done: " + total + " rows in " +
+                elapsed + "ms (" + (total * 1000 / elapsed) + " rows/sec)");
+        }
+        return total;
+    }
+
+    private static int runBatch(Connection conn, Migration.Backfill backfill) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            int rows = backfill.runBatch(conn);
+            conn.commit();
+            return rows;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(Math.max(1, millis));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
\ No newline at end of file
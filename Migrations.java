@@ -0,0 +1,404 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ordered schema history of transport_system.db. Append new migrations
+ * at the end with the next version number; never edit or reorder shipped
+ * ones.
+ *
+ * Migrations 1-3 use IF NOT EXISTS / existence checks because databases
+ * created before the migration runner already carry some or all of them.
+ */
+public class Migrations {
+    private static final List<Migration> ALL = Collections.unmodifiableList(Arrays.asList(
+        new Migration(1, "Baseline tables",
+            // Drivers Table
+            "CREATE TABLE IF NOT EXISTS drivers (" +
+            "driver_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "full_name VARCHAR(255) NOT NULL," +
+            "license_number VARCHAR(100) UNIQUE NOT NULL," +
+            "phone VARCHAR(20)," +
+            "email VARCHAR(255)," +
+            "address TEXT," +
+            "emergency_contact VARCHAR(20)," +
+            "status VARCHAR(50) DEFAULT 'Active'," +
+            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP," +
+            "updated_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+            ")",
+            
+            // Vehicles Table
+            "CREATE TABLE IF NOT EXISTS vehicles (" +
+            "vehicle_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "name VARCHAR(255) NOT NULL," +
+            "identifier VARCHAR(50) UNIQUE NOT NULL," +
+            "type VARCHAR(100)," +
+            "capacity INTEGER," +
+            "status VARCHAR(50) DEFAULT 'Available'," +
+            "location VARCHAR(255)," +
+            "contact VARCHAR(20)," +
+            "assigned_since DATETIME," +
+            "last_maintenance DATE," +
+            "next_maintenance DATE," +
+            "driver_id INTEGER" +
+            ")",
+            
+            // Routes Table
+            "CREATE TABLE IF NOT EXISTS routes (" +
+            "route_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "route_name VARCHAR(255) NOT NULL," +
+            "start_point VARCHAR(255)," +
+            "end_point VARCHAR(255)," +
+            "distance_km DECIMAL(8,2)," +
+            "estimated_time_minutes INTEGER," +
+            "fare_per_km DECIMAL(6,2)," +
+            "status VARCHAR(50) DEFAULT 'Active'," +
+            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+            ")",
+            
+            // Trips Table
+            "CREATE TABLE IF NOT EXISTS trips (" +
+            "trip_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "order_number VARCHAR(100) UNIQUE NOT NULL," +
+            "date DATETIME NOT NULL," +
+            "start_location VARCHAR(255)," +
+            "end_location VARCHAR(255)," +
+            "status VARCHAR(50) DEFAULT 'Scheduled'," +
+            "total_amount DECIMAL(10,2)," +
+            "payment_method VARCHAR(50)," +
+            "notes TEXT," +
+            "passenger_count INTEGER," +
+            "vehicle_id INTEGER NOT NULL," +
+            "driver_id INTEGER NOT NULL," +
+            "route_id INTEGER," +
+            "actual_start_time DATETIME," +
+            "actual_end_time DATETIME" +
+            ")",
+            
+            // Tickets Table
+            "CREATE TABLE IF NOT EXISTS tickets (" +
+            "ticket_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "ticket_number VARCHAR(100) UNIQUE NOT NULL," +
+            "passenger_name VARCHAR(255) NOT NULL," +
+            "passenger_phone VARCHAR(20)," +
+            "passenger_email VARCHAR(255)," +
+            "seat_number VARCHAR(10)," +
+            "price DECIMAL(8,2)," +
+            "status VARCHAR(50) DEFAULT 'Confirmed'," +
+            "booking_date DATETIME DEFAULT CURRENT_TIMESTAMP," +
+            "trip_id INTEGER NOT NULL" +
+            ")",
+            
+            // Maintenance Table
+            "CREATE TABLE IF NOT EXISTS maintenance (" +
+            "maintenance_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "reference_id VARCHAR(100) UNIQUE NOT NULL," +
+            "description TEXT NOT NULL," +
+            "maintenance_date DATETIME NOT NULL," +
+            "completion_date DATETIME," +
+            "cost DECIMAL(10,2)," +
+            "status VARCHAR(50) DEFAULT 'Scheduled'," +
+            "remarks TEXT," +
+            "vehicle_id INTEGER NOT NULL," +
+            "mechanic_name VARCHAR(255)" +
+            ")",
+            
+            // Notifications Table
+            "CREATE TABLE IF NOT EXISTS notifications (" +
+            "notification_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "title VARCHAR(255) NOT NULL," +
+            "message TEXT NOT NULL," +
+            "type VARCHAR(50)," +
+            "priority VARCHAR(20) DEFAULT 'Medium'," +
+            "is_read BOOLEAN DEFAULT 0," +
+            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+            ")"
+        ),
+
+        new Migration(2, "Secondary indexes on hot filter, join and sort columns",
+            // trip_id is the rowid and comes along, so this also serves ORDER BY date, trip_id
+            "CREATE INDEX IF NOT EXISTS idx_trips_date ON trips(date)",
+            "CREATE INDEX IF NOT EXISTS idx_trips_status ON trips(status, date)",
+            "CREATE INDEX IF NOT EXISTS idx_trips_vehicle ON trips(vehicle_id, date)",
+            "CREATE INDEX IF NOT EXISTS idx_trips_driver ON trips(driver_id, date)",
+            "CREATE INDEX IF NOT EXISTS idx_trips_route ON trips(route_id)",
+            "CREATE INDEX IF NOT EXISTS idx_tickets_trip ON tickets(trip_id)",
+            "CREATE INDEX IF NOT EXISTS idx_tickets_status ON tickets(status, price)",
+            "CREATE INDEX IF NOT EXISTS idx_maintenance_vehicle ON maintenance(vehicle_id, maintenance_date)",
+            "CREATE INDEX IF NOT EXISTS idx_maintenance_status ON maintenance(status, maintenance_date)",
+            "CREATE INDEX IF NOT EXISTS idx_maintenance_date ON maintenance(maintenance_date)",
+            "CREATE INDEX IF NOT EXISTS idx_vehicles_status ON vehicles(status)",
+            "CREATE INDEX IF NOT EXISTS idx_drivers_status ON drivers(status)",
+            "CREATE INDEX IF NOT EXISTS idx_routes_status ON routes(status)",
+            // Only unread notifications are ever filtered on, so index just those
+            "CREATE INDEX IF NOT EXISTS idx_notifications_unread ON notifications(created_at) WHERE is_read = 0"
+        ),
+
+        new Migration(3, "Generated trips.month_bucket column with covering revenue index",
+            "add-month-bucket-column", Migrations::addMonthBucketColumn, null,
+            "CREATE INDEX IF NOT EXISTS idx_trips_month ON trips(month_bucket, total_amount)"
+        ),
+
+        // External-content FTS5 tables: the text stays in the base tables and the
+        // triggers keep the index in step. 'rebuild' indexes the existing rows.
+        // The update triggers only fire when an indexed column changes.
+        new Migration(4, "Full-text search over trips, tickets and maintenance",
+            "CREATE VIRTUAL TABLE trips_fts USING fts5(" +
+            "order_number, start_location, end_location, status, payment_method, notes, " +
+            "content='trips', content_rowid='trip_id', prefix='2 3', tokenize='unicode61 remove_diacritics 2')",
+            "CREATE TRIGGER trips_fts_insert AFTER INSERT ON trips BEGIN " +
+            "INSERT INTO trips_fts(rowid, order_number, start_location, end_location, status, payment_method, notes) " +
+            "VALUES (new.trip_id, new.order_number, new.start_location, new.end_location, new.status, new.payment_method, new.notes); " +
+            "END",
+            "CREATE TRIGGER trips_fts_delete AFTER DELETE ON trips BEGIN " +
+            "INSERT INTO trips_fts(trips_fts, rowid, order_number, start_location, end_location, status, payment_method, notes) " +
+            "VALUES ('delete', old.trip_id, old.order_number, old.start_location, old.end_location, old.status, old.payment_method, old.notes); " +
+            "END",
+            "CREATE TRIGGER trips_fts_update AFTER UPDATE OF " +
+            "order_number, start_location, end_location, status, payment_method, notes ON trips BEGIN " +
+            "INSERT INTO trips_fts(trips_fts, rowid, order_number, start_location, end_location, status, payment_method, notes) " +
+            "VALUES ('delete', old.trip_id, old.order_number, old.start_location, old.end_location, old.status, old.payment_method, old.notes); " +
+            "INSERT INTO trips_fts(rowid, order_number, start_location, end_location, status, payment_method, notes) " +
+            "VALUES (new.trip_id, new.order_number, new.start_location, new.end_location, new.status, new.payment_method, new.notes); " +
+            "END",
+            "INSERT INTO trips_fts(trips_fts) VALUES ('rebuild')",
+
+            "CREATE VIRTUAL TABLE tickets_fts USING fts5(" +
+            "ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, status, " +
+            "content='tickets', content_rowid='ticket_id', prefix='2 3', tokenize='unicode61 remove_diacritics 2')",
+            "CREATE TRIGGER tickets_fts_insert AFTER INSERT ON tickets BEGIN " +
+            "INSERT INTO tickets_fts(rowid, ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, status) " +
+            "VALUES (new.ticket_id, new.ticket_number, new.passenger_name, new.passenger_phone, new.passenger_email, new.seat_number, new.status); " +
+            "END",
+            "CREATE TRIGGER tickets_fts_delete AFTER DELETE ON tickets BEGIN " +
+            "INSERT INTO tickets_fts(tickets_fts, rowid, ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, status) " +
+            "VALUES ('delete', old.ticket_id, old.ticket_number, old.passenger_name, old.passenger_phone, old.passenger_email, old.seat_number, old.status); " +
+            "END",
+            "CREATE TRIGGER tickets_fts_update AFTER UPDATE OF " +
+            "ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, status ON tickets BEGIN " +
+            "INSERT INTO tickets_fts(tickets_fts, rowid, ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, status) " +
+            "VALUES ('delete', old.ticket_id, old.ticket_number, old.passenger_name, old.passenger_phone, old.passenger_email, old.seat_number, old.status); " +
+            "INSERT INTO tickets_fts(rowid, ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, status) " +
+            "VALUES (new.ticket_id, new.ticket_number, new.passenger_name, new.passenger_phone, new.passenger_email, new.seat_number, new.status); " +
+            "END",
+            "INSERT INTO tickets_fts(tickets_fts) VALUES ('rebuild')",
+
+            "CREATE VIRTUAL TABLE maintenance_fts USING fts5(" +
+            "reference_id, description, remarks, mechanic_name, status, " +
+            "content='maintenance', content_rowid='maintenance_id', prefix='2 3', tokenize='unicode61 remove_diacritics 2')",
+            "CREATE TRIGGER maintenance_fts_insert AFTER INSERT ON maintenance BEGIN " +
+            "INSERT INTO maintenance_fts(rowid, reference_id, description, remarks, mechanic_name, status) " +
+            "VALUES (new.maintenance_id, new.reference_id, new.description, new.remarks, new.mechanic_name, new.status); " +
+            "END",
+            "CREATE TRIGGER maintenance_fts_delete AFTER DELETE ON maintenance BEGIN " +
+            "INSERT INTO maintenance_fts(maintenance_fts, rowid, reference_id, description, remarks, mechanic_name, status) " +
+            "VALUES ('delete', old.maintenance_id, old.reference_id, old.description, old.remarks, old.mechanic_name, old.status); " +
+            "END",
+            "CREATE TRIGGER maintenance_fts_update AFTER UPDATE OF " +
+            "reference_id, description, remarks, mechanic_name, status ON maintenance BEGIN " +
+            "INSERT INTO maintenance_fts(maintenance_fts, rowid, reference_id, description, remarks, mechanic_name, status) " +
+            "VALUES ('delete', old.maintenance_id, old.reference_id, old.description, old.remarks, old.mechanic_name, old.status); " +
+            "INSERT INTO maintenance_fts(rowid, reference_id, description, remarks, mechanic_name, status) " +
+            "VALUES (new.maintenance_id, new.reference_id, new.description, new.remarks, new.mechanic_name, new.status); " +
+            "END",
+            "INSERT INTO maintenance_fts(maintenance_fts) VALUES ('rebuild')"
+        ),
+
+        // The inbox pages unread notifications newest first, and retention walks
+        // the old read ones; both partial indexes only hold the rows they serve
+        new Migration(5, "Notification inbox, retention indexes and archive table",
+            "CREATE INDEX IF NOT EXISTS idx_notifications_unread_id ON notifications(notification_id) WHERE is_read = 0",
+            "CREATE INDEX IF NOT EXISTS idx_notifications_read ON notifications(created_at) WHERE is_read = 1",
+            "CREATE TABLE IF NOT EXISTS notifications_archive (" +
+            "notification_id INTEGER PRIMARY KEY," +
+            "title VARCHAR(255) NOT NULL," +
+            "message TEXT NOT NULL," +
+            "type VARCHAR(50)," +
+            "priority VARCHAR(20)," +
+            "created_at DATETIME," +
+            "archived_at DATETIME DEFAULT CURRENT_TIMESTAMP" +
+            ")"
+        ),
+
+        // Revenue per day x route x vehicle and per month, kept current by the
+        // triggers so revenue reports no longer aggregate every trip. Trips
+        // without a route count under route 0; tickets count where their trip
+        // does. Buckets emptied by deletes stay behind as zero rows.
+        // The existing rows are filled in afterwards by RevenueRollup.BACKFILL,
+        // a few days per batch from revenue_backfill.next_day on. Until then the
+        // triggers leave the days not yet filled alone (they have no daily rows,
+        // so only the inserts and monthly updates need the check) and the batch
+        // counts those days' writes from the tables.
+        new Migration(6, "Daily and monthly revenue rollups maintained by triggers",
+            null, null, RevenueRollup.BACKFILL,
+            "CREATE TABLE revenue_daily (" +
+            "day TEXT NOT NULL," +
+            "route_id INTEGER NOT NULL," +
+            "vehicle_id INTEGER NOT NULL," +
+            "trip_count INTEGER NOT NULL DEFAULT 0," +
+            "revenue REAL NOT NULL DEFAULT 0," +
+            "ticket_count INTEGER NOT NULL DEFAULT 0," +
+            "ticket_revenue REAL NOT NULL DEFAULT 0," +
+            "PRIMARY KEY (day, route_id, vehicle_id)" +
+            ") WITHOUT ROWID",
+            "CREATE TABLE revenue_monthly (" +
+            "month TEXT PRIMARY KEY," +
+            "trip_count INTEGER NOT NULL DEFAULT 0," +
+            "revenue REAL NOT NULL DEFAULT 0," +
+            "ticket_count INTEGER NOT NULL DEFAULT 0," +
+            "ticket_revenue REAL NOT NULL DEFAULT 0" +
+            ") WITHOUT ROWID",
+            // One row while the backfill runs: the first day it has not filled yet
+            "CREATE TABLE revenue_backfill (next_day TEXT NOT NULL)",
+            "INSERT INTO revenue_backfill (next_day) VALUES ('')",
+
+            // A new trip has no tickets yet
+            "CREATE TRIGGER trips_rollup_insert AFTER INSERT ON trips " +
+            "WHEN NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(new.date, 1, 10)) BEGIN " +
+            "INSERT INTO revenue_daily (day, route_id, vehicle_id, trip_count, revenue) " +
+            "VALUES (substr(new.date, 1, 10), COALESCE(new.route_id, 0), new.vehicle_id, 1, COALESCE(new.total_amount, 0)) " +
+            "ON CONFLICT (day, route_id, vehicle_id) DO UPDATE SET " +
+            "trip_count = trip_count + 1, revenue = revenue + excluded.revenue; " +
+            "INSERT INTO revenue_monthly (month, trip_count, revenue) " +
+            "VALUES (substr(new.date, 1, 7), 1, COALESCE(new.total_amount, 0)) " +
+            "ON CONFLICT (month) DO UPDATE SET " +
+            "trip_count = trip_count + 1, revenue = revenue + excluded.revenue; " +
+            "END",
+            // Takes the trip's tickets out with it; rebuild leaves orphaned tickets out too
+            "CREATE TRIGGER trips_rollup_delete AFTER DELETE ON trips " +
+            "WHEN NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(old.date, 1, 10)) BEGIN " +
+            "UPDATE revenue_daily SET trip_count = trip_count - 1, " +
+            "revenue = revenue - COALESCE(old.total_amount, 0), " +
+            "ticket_count = ticket_count - (SELECT COUNT(*) FROM tickets WHERE trip_id = old.trip_id), " +
+            "ticket_revenue = ticket_revenue - (SELECT COALESCE(SUM(price), 0) FROM tickets WHERE trip_id = old.trip_id) " +
+            "WHERE day = substr(old.date, 1, 10) AND route_id = COALESCE(old.route_id, 0) AND vehicle_id = old.vehicle_id; " +
+            "UPDATE revenue_monthly SET trip_count = trip_count - 1, " +
+            "revenue = revenue - COALESCE(old.total_amount, 0), " +
+            "ticket_count = ticket_count - (SELECT COUNT(*) FROM tickets WHERE trip_id = old.trip_id), " +
+            "ticket_revenue = ticket_revenue - (SELECT COALESCE(SUM(price), 0) FROM tickets WHERE trip_id = old.trip_id) " +
+            "WHERE month = substr(old.date, 1, 7); " +
+            "END",
+            // Moves the trip and its tickets from the old bucket to the new one
+            "CREATE TRIGGER trips_rollup_update AFTER UPDATE OF date, route_id, vehicle_id, total_amount ON trips " +
+            "WHEN old.date IS NOT new.date OR old.route_id IS NOT new.route_id " +
+            "OR old.vehicle_id IS NOT new.vehicle_id OR old.total_amount IS NOT new.total_amount BEGIN " +
+            "UPDATE revenue_daily SET trip_count = trip_count - 1, " +
+            "revenue = revenue - COALESCE(old.total_amount, 0), " +
+            "ticket_count = ticket_count - (SELECT COUNT(*) FROM tickets WHERE trip_id = old.trip_id), " +
+            "ticket_revenue = ticket_revenue - (SELECT COALESCE(SUM(price), 0) FROM tickets WHERE trip_id = old.trip_id) " +
+            "WHERE day = substr(old.date, 1, 10) AND route_id = COALESCE(old.route_id, 0) AND vehicle_id = old.vehicle_id; " +
+            "UPDATE revenue_monthly SET trip_count = trip_count - 1, " +
+            "revenue = revenue - COALESCE(old.total_amount, 0), " +
+            "ticket_count = ticket_count - (SELECT COUNT(*) FROM tickets WHERE trip_id = old.trip_id), " +
+            "ticket_revenue = ticket_revenue - (SELECT COALESCE(SUM(price), 0) FROM tickets WHERE trip_id = old.trip_id) " +
+            "WHERE month = substr(old.date, 1, 7) " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(old.date, 1, 10)); " +
+            "INSERT INTO revenue_daily (day, route_id, vehicle_id, trip_count, revenue, ticket_count, ticket_revenue) " +
+            "SELECT substr(new.date, 1, 10), COALESCE(new.route_id, 0), new.vehicle_id, 1, COALESCE(new.total_amount, 0), " +
+            "COUNT(*), COALESCE(SUM(price), 0) FROM tickets WHERE trip_id = new.trip_id " +
+            "HAVING NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(new.date, 1, 10)) " +
+            "ON CONFLICT (day, route_id, vehicle_id) DO UPDATE SET " +
+            "trip_count = trip_count + 1, revenue = revenue + excluded.revenue, " +
+            "ticket_count = ticket_count + excluded.ticket_count, ticket_revenue = ticket_revenue + excluded.ticket_revenue; " +
+            "INSERT INTO revenue_monthly (month, trip_count, revenue, ticket_count, ticket_revenue) " +
+            "SELECT substr(new.date, 1, 7), 1, COALESCE(new.total_amount, 0), " +
+            "COUNT(*), COALESCE(SUM(price), 0) FROM tickets WHERE trip_id = new.trip_id " +
+            "HAVING NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(new.date, 1, 10)) " +
+            "ON CONFLICT (month) DO UPDATE SET " +
+            "trip_count = trip_count + 1, revenue = revenue + excluded.revenue, " +
+            "ticket_count = ticket_count + excluded.ticket_count, ticket_revenue = ticket_revenue + excluded.ticket_revenue; " +
+            "END",
+
+            "CREATE TRIGGER tickets_rollup_insert AFTER INSERT ON tickets BEGIN " +
+            "INSERT INTO revenue_daily (day, route_id, vehicle_id, ticket_count, ticket_revenue) " +
+            "SELECT substr(date, 1, 10), COALESCE(route_id, 0), vehicle_id, 1, COALESCE(new.price, 0) " +
+            "FROM trips WHERE trip_id = new.trip_id " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(trips.date, 1, 10)) " +
+            "ON CONFLICT (day, route_id, vehicle_id) DO UPDATE SET " +
+            "ticket_count = ticket_count + 1, ticket_revenue = ticket_revenue + excluded.ticket_revenue; " +
+            "INSERT INTO revenue_monthly (month, ticket_count, ticket_revenue) " +
+            "SELECT substr(date, 1, 7), 1, COALESCE(new.price, 0) FROM trips WHERE trip_id = new.trip_id " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(trips.date, 1, 10)) " +
+            "ON CONFLICT (month) DO UPDATE SET " +
+            "ticket_count = ticket_count + 1, ticket_revenue = ticket_revenue + excluded.ticket_revenue; " +
+            "END",
+            "CREATE TRIGGER tickets_rollup_delete AFTER DELETE ON tickets BEGIN " +
+            "UPDATE revenue_daily SET ticket_count = ticket_count - 1, ticket_revenue = ticket_revenue - COALESCE(old.price, 0) " +
+            "WHERE (day, route_id, vehicle_id) = " +
+            "(SELECT substr(date, 1, 10), COALESCE(route_id, 0), vehicle_id FROM trips WHERE trip_id = old.trip_id); " +
+            "UPDATE revenue_monthly SET ticket_count = ticket_count - 1, ticket_revenue = ticket_revenue - COALESCE(old.price, 0) " +
+            "WHERE month = (SELECT substr(date, 1, 7) FROM trips WHERE trip_id = old.trip_id " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(trips.date, 1, 10))); " +
+            "END",
+            "CREATE TRIGGER tickets_rollup_update AFTER UPDATE OF price, trip_id ON tickets " +
+            "WHEN old.price IS NOT new.price OR old.trip_id IS NOT new.trip_id BEGIN " +
+            "UPDATE revenue_daily SET ticket_count = ticket_count - 1, ticket_revenue = ticket_revenue - COALESCE(old.price, 0) " +
+            "WHERE (day, route_id, vehicle_id) = " +
+            "(SELECT substr(date, 1, 10), COALESCE(route_id, 0), vehicle_id FROM trips WHERE trip_id = old.trip_id); " +
+            "UPDATE revenue_monthly SET ticket_count = ticket_count - 1, ticket_revenue = ticket_revenue - COALESCE(old.price, 0) " +
+            "WHERE month = (SELECT substr(date, 1, 7) FROM trips WHERE trip_id = old.trip_id " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(trips.date, 1, 10))); " +
+            "INSERT INTO revenue_daily (day, route_id, vehicle_id, ticket_count, ticket_revenue) " +
+            "SELECT substr(date, 1, 10), COALESCE(route_id, 0), vehicle_id, 1, COALESCE(new.price, 0) " +
+            "FROM trips WHERE trip_id = new.trip_id " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(trips.date, 1, 10)) " +
+            "ON CONFLICT (day, route_id, vehicle_id) DO UPDATE SET " +
+            "ticket_count = ticket_count + 1, ticket_revenue = ticket_revenue + excluded.ticket_revenue; " +
+            "INSERT INTO revenue_monthly (month, ticket_count, ticket_revenue) " +
+            "SELECT substr(date, 1, 7), 1, COALESCE(new.price, 0) FROM trips WHERE trip_id = new.trip_id " +
+            "AND NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= substr(trips.date, 1, 10)) " +
+            "ON CONFLICT (month) DO UPDATE SET " +
+            "ticket_count = ticket_count + 1, ticket_revenue = ticket_revenue + excluded.ticket_revenue; " +
+            "END"
+        ),
+
+        // What FleetDataGenerator dropped for a bulk load and still has to
+        // recreate or rebuild, committed with the drops so a crash cannot lose it
+        new Migration(7, "Record of schema objects dropped for bulk loads",
+            "CREATE TABLE bulk_load_restore (" +
+            "seq INTEGER PRIMARY KEY," +
+            "type TEXT NOT NULL," +
+            "name TEXT NOT NULL," +
+            "sql TEXT" +
+            ")"
+        ),
+
+        // Revenue reports read revenue_monthly since migration 6, so nothing
+        // queries the month bucket any more and the index only costs writes.
+        // An interrupted bulk load must not try to recreate the index.
+        new Migration(8, "Drop trips.month_bucket and its revenue index",
+            "DELETE FROM bulk_load_restore WHERE type = 'index' AND name = 'idx_trips_month'",
+            "DROP INDEX IF EXISTS idx_trips_month",
+            "ALTER TABLE trips DROP COLUMN month_bucket"
+        )
+    ));
+
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return ALL;
+    }
+
+    private static void addMonthBucketColumn(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // table_xinfo (not table_info) lists generated columns
+            try (ResultSet rs = stmt.executeQuery("PRAGMA table_xinfo(trips)")) {
+                while (rs.next()) {
+                    if ("month_bucket".equals(rs.getString("name"))) {
+                        return;
+                    }
+                }
+            }
+            // "yyyy-MM" prefix of the trip date; VIRTUAL costs no storage, the index holds the values
+            stmt.execute("ALTER TABLE trips ADD COLUMN month_bucket TEXT " +
+                "GENERATED ALWAYS AS (substr(date, 1, 7)) VIRTUAL");
+        }
+    }
+}
\ No newline at end of file
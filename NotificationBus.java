@@ -0,0 +1,148 @@
+package com.transport;
+
+import javax.swing.SwingUtilities;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process notification bus. Writing a notification (see
+ * {@link NotificationWriter}) bumps an atomic unread counter and subscribers are told at once, so the
+ * badge no longer waits for a polling timer and an idle app does not query
+ * the database.
+ *
+ * Writes made by other processes (another instance of the app, the CSV
+ * importer, sqlite3) are noticed through PRAGMA data_version on the writer
+ * connection. Its value only changes when some other connection commits, so
+ * checking it is cheap and our own writes never trigger a recount.
+ */
+public class NotificationBus {
+    private static final long WATCH_INTERVAL_MS = Long.getLong("transport.notifications.watchMs", 2000);
+
+    private static final AtomicInteger UNREAD = new AtomicInteger();
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile boolean counted = false;
+    private static ScheduledExecutorService watcher;
+    private static long lastDataVersion = -1;
+
+    public interface Listener {
+        void unreadCountChanged(int unread);
+    }
+
+    private NotificationBus() {
+    }
+
+    public static void subscribe(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void unsubscribe(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static int getUnreadCount() {
+        if (!counted) {
+            resync();
+        }
+        return UNREAD.get();
+    }
+
+    /**
+     * Records notifications just inserted through the writer connection.
+     * Called with the writer lock held, like the insert itself.
+     */
+    static void notificationsAdded(int count) {
+        if (counted) {
+            UNREAD.addAndGet(count);
+            publish();
+        }
+    }
+
+    /**
+     * Adjusts the counter after notifications were marked read or deleted.
+     */
+    static void unreadChanged(int delta) {
+        if (counted && delta != 0) {
+            UNREAD.addAndGet(delta);
+            publish();
+        }
+    }
+
+    /**
+     * Recounts the unread notifications. The count runs on the writer under
+     * its lock, so no insert can land between the count and the update.
+     */
+    public static void resync() {
+        try {
+            DatabaseConnection.withWriter(conn -> {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM notifications WHERE is_read = 0")) {
+                    UNREAD.set(rs.next() ? rs.getInt(1) : 0);
+                    counted = true;
+                    return null;
+                }
+            });
+            publish();
+        } catch (SQLException e) {
+            System.err.println("❌ Error counting notifications: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts watching for notifications written by other processes.
+     */
+    public static synchronized void start() {
+        if (watcher != null) {
+            return;
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-watch");
+            t.setDaemon(true);
+            return t;
+        });
+        watcher.scheduleWithFixedDelay(NotificationBus::checkExternalChanges,
+            WATCH_INTERVAL_MS, WATCH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+
+    private static void checkExternalChanges() {
+        try {
+            long dataVersion = DatabaseConnection.withWriter(conn -> {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                    return rs.next() ? rs.getLong(1) : -1L;
+                }
+            });
+            if (lastDataVersion != -1 && dataVersion != lastDataVersion) {
+                resync();
+                // Whatever else the other connection changed, cached results are stale too
+                DataVersion.bump();
+            }
+            lastDataVersion = dataVersion;
+        } catch (SQLException e) {
+            System.err.println("❌ Error checking for external changes: " + e.getMessage());
+        }
+    }
+
+    private static void publish() {
+        SwingUtilities.invokeLater(() -> {
+            // Read the counter now rather than when published, so late deliveries never show an older count
+            int unread = UNREAD.get();
+            for (Listener listener : LISTENERS) {
+                listener.unreadCountChanged(unread);
+            }
+        });
+    }
+}
\ No newline at end of file
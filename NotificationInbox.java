@@ -0,0 +1,165 @@
+package com.transport;
+
+import javax.swing.*;
+import java.awt.*;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notification inbox. Notifications are paged newest first with keyset
+ * pagination on notification_id, so opening the inbox costs one page no
+ * matter how many notifications there are. Selected rows, or all unread
+ * ones, can be marked read in one transaction.
+ */
+public class NotificationInbox extends JDialog {
+    private static final String MARK_READ =
+        "UPDATE notifications SET is_read = 1 WHERE notification_id = ? AND is_read = 0";
+    private static final String MARK_ALL_READ = "UPDATE notifications SET is_read = 1 WHERE is_read = 0";
+
+    private final PagedTableModel model;
+    private final JTable table;
+    private final JCheckBox unreadOnlyCheck;
+    private final NotificationBus.Listener refreshListener = unread -> refresh();
+
+    public NotificationInbox(Frame parent) {
+        super(parent, "Notifications", false);
+        setLayout(new BorderLayout());
+        setSize(800, 500);
+        setLocationRelativeTo(parent);
+
+        JLabel statusLabel = new JLabel(" ");
+        String[] columns = {"ID", "Title", "Message", "Type", "Priority", "Read", "Created"};
+        model = new PagedTableModel(columns,
+            "SELECT notification_id, title, message, type, priority, is_read, created_at",
+            "FROM notifications",
+            "FROM notifications",
+            null, null, "notification_id", "notification_id", true,
+            rs -> new Object[]{
+                rs.getInt("notification_id"),
+                rs.getString("title"),
+                rs.getString("message"),
+                rs.getString("type"),
+                rs.getString("priority"),
+                rs.getInt("is_read") != 0 ? "Yes" : "No",
+                rs.getString("created_at")
+            },
+            statusLabel);
+
+        table = new JTable(model);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        table.getColumnModel().getColumn(0).setMaxWidth(60);
+        table.getColumnModel().getColumn(2).setPreferredWidth(300);
+        JScrollPane scrollPane = new JScrollPane(table);
+        model.attachTo(table, scrollPane.getViewport());
+
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        unreadOnlyCheck = new JCheckBox("Unread only");
+        unreadOnlyCheck.addActionListener(e -> applyFilter());
+        topPanel.add(unreadOnlyCheck);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton markSelectedBtn = new JButton("✔ Mark Selected Read");
+        JButton markAllBtn = new JButton("✔✔ Mark All Read");
+        JButton closeBtn = new JButton("Close");
+        markSelectedBtn.addActionListener(e -> markSelectedRead());
+        markAllBtn.addActionListener(e -> markAllRead());
+        closeBtn.addActionListener(e -> dispose());
+        buttonPanel.add(statusLabel);
+        buttonPanel.add(markSelectedBtn);
+        buttonPanel.add(markAllBtn);
+        buttonPanel.add(closeBtn);
+
+        add(topPanel, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        // New and newly read notifications change the unread count; show them
+        NotificationBus.subscribe(refreshListener);
+        model.refresh();
+    }
+
+    @Override
+    public void dispose() {
+        NotificationBus.unsubscribe(refreshListener);
+        super.dispose();
+    }
+
+    private void applyFilter() {
+        model.setFilter(unreadOnlyCheck.isSelected() ? "is_read = 0" : null);
+    }
+
+    private void refresh() {
+        model.refresh();
+    }
+
+    private void markSelectedRead() {
+        List<Integer> ids = new ArrayList<>();
+        for (int row : table.getSelectedRows()) {
+            Object id = model.getValueAt(row, 0);
+            if (id instanceof Integer) {
+                ids.add((Integer) id);
+            }
+        }
+        if (ids.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please select notifications to mark as read!");
+            return;
+        }
+        try {
+            markRead(ids);
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error updating notifications: " + e.getMessage());
+        }
+    }
+
+    private void markAllRead() {
+        try {
+            markAllAsRead();
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(this, "Error updating notifications: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marks the notifications read in one transaction and returns how many
+     * were unread.
+     */
+    public static int markRead(List<Integer> ids) throws SQLException {
+        return DatabaseConnection.withWriter(conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement pstmt = DatabaseConnection.prepared(MARK_READ);
+                for (Integer id : ids) {
+                    pstmt.setInt(1, id);
+                    pstmt.addBatch();
+                }
+                int count = 0;
+                for (int updated : pstmt.executeBatch()) {
+                    count += Math.max(0, updated);
+                }
+                conn.commit();
+                // Counted under the writer lock, so the bus sees exactly these changes
+                NotificationBus.unreadChanged(-count);
+                return count;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    /**
+     * Marks every unread notification read and returns how many there were.
+     */
+    public static int markAllAsRead() throws SQLException {
+        return DatabaseConnection.withWriter(conn -> {
+            int count = DatabaseConnection.prepared(MARK_ALL_READ).executeUpdate();
+            NotificationBus.unreadChanged(-count);
+            return count;
+        });
+    }
+}
\ No newline at end of file
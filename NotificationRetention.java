@@ -0,0 +1,116 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the notifications table small. Read notifications older than the
+ * retention period are deleted, or moved to notifications_archive, in small
+ * batches on a low-priority background thread. Each batch is its own short
+ * transaction, so saves from the UI are never held up for long. Unread
+ * notifications are never touched.
+ *
+ * SQLite reuses the freed pages for new notifications, so once retention has
+ * caught up the table and its indexes stop growing.
+ */
+public class NotificationRetention {
+    private static final int BATCH_SIZE = 500;
+    private static final long PAUSE_BETWEEN_BATCHES_MS = 100;
+    private static final long RUN_INTERVAL_HOURS = 6;
+    private static final long FIRST_RUN_DELAY_MINUTES = 1;
+
+    // Same ordered batch in both statements; they run in one transaction, so they see the same rows
+    private static final String BATCH_CONDITION =
+        "notification_id IN (SELECT notification_id FROM notifications " +
+        "WHERE is_read = 1 AND created_at < datetime('now', ?) ORDER BY created_at, notification_id LIMIT ?)";
+    private static final String ARCHIVE =
+        "INSERT INTO notifications_archive (notification_id, title, message, type, priority, created_at) " +
+        "SELECT notification_id, title, message, type, priority, created_at FROM notifications WHERE " + BATCH_CONDITION;
+    private static final String DELETE = "DELETE FROM notifications WHERE " + BATCH_CONDITION;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "notification-retention");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+    private static ScheduledFuture<?> scheduled;
+
+    private NotificationRetention() {
+    }
+
+    /**
+     * (Re)schedules the retention runs for the notification_retention_days
+     * and notification_archive settings.
+     */
+    public static synchronized void configure(int retentionDays, boolean archive) {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        scheduled = SCHEDULER.scheduleWithFixedDelay(() -> {
+            try {
+                int removed = prune(retentionDays, archive);
+                if (removed > 0) {
+                    System.out.println("✅ " + (archive ? "Archived " : "Deleted ") + removed +
+                        " read notifications older than " + retentionDays + " days");
+                }
+            } catch (SQLException e) {
+                System.err.println("❌ Notification retention failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, TimeUnit.MINUTES.toMillis(FIRST_RUN_DELAY_MINUTES), TimeUnit.HOURS.toMillis(RUN_INTERVAL_HOURS),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes read notifications older than retentionDays, batch by batch,
+     * and returns how many were removed.
+     */
+    public static int prune(int retentionDays, boolean archive) throws SQLException, InterruptedException {
+        String age = "-" + Math.max(1, retentionDays) + " days";
+        int total = 0;
+        while (true) {
+            int removed = DatabaseConnection.withWriter(conn -> pruneBatch(conn, age, archive));
+            total += removed;
+            if (removed < BATCH_SIZE) {
+                return total;
+            }
+            // Let other writers in between batches
+            Thread.sleep(PAUSE_BETWEEN_BATCHES_MS);
+        }
+    }
+
+    private static int pruneBatch(Connection conn, String age, boolean archive) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            if (archive) {
+                PreparedStatement copy = DatabaseConnection.prepared(ARCHIVE);
+                copy.setString(1, age);
+                copy.setInt(2, BATCH_SIZE);
+                copy.executeUpdate();
+            }
+            PreparedStatement delete = DatabaseConnection.prepared(DELETE);
+            delete.setString(1, age);
+            delete.setInt(2, BATCH_SIZE);
+            int removed = delete.executeUpdate();
+            conn.commit();
+            return removed;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    public static synchronized void shutdown() {
+        SCHEDULER.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Persists notifications off the caller's thread. {@link #enqueue} puts the
+ * notification on a bounded queue; a single writer thread drains whatever
+ * has accumulated and inserts it in one transaction, so a burst of saves
+ * costs one commit instead of one per notification.
+ *
+ * Backpressure: when the queue is full the caller writes its notification
+ * itself, which slows producers down to the speed of the database instead of
+ * dropping notifications or growing without bound. {@link #shutdown} writes
+ * everything still queued before the connection is closed.
+ */
+public class NotificationWriter {
+    private static final int QUEUE_CAPACITY = Integer.getInteger("transport.notifications.queueSize", 1000);
+    private static final int MAX_BATCH = 200;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+    private static final String INSERT =
+        "INSERT INTO notifications (title, message, type, priority) VALUES (?, ?, ?, ?)";
+
+    private static final BlockingQueue<Pending> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static Thread worker;
+    private static volatile boolean closed = false;
+
+    private static final class Pending {
+        final String title;
+        final String message;
+        final String type;
+        final String priority;
+
+        Pending(String title, String message, String type, String priority) {
+            this.title = title;
+            this.message = message;
+            this.type = type;
+            this.priority = priority;
+        }
+    }
+
+    private NotificationWriter() {
+    }
+
+    public static void enqueue(String title, String message, String type, String priority) {
+        Pending notification = new Pending(title, message, type, priority);
+        if (!closed) {
+            startWorker();
+            if (QUEUE.offer(notification)) {
+                return;
+            }
+        }
+        // Queue full or already shut down: write it on the caller's thread
+        write(Collections.singletonList(notification));
+    }
+
+    /**
+     * Stops the writer thread after it has written everything queued. Later
+     * notifications are written synchronously.
+     */
+    public static void shutdown() {
+        Thread thread;
+        synchronized (NotificationWriter.class) {
+            closed = true;
+            thread = worker;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Anything the worker did not get to (e.g. it timed out)
+        drainAndWrite();
+    }
+
+    private static synchronized void startWorker() {
+        if (worker != null || closed) {
+            return;
+        }
+        worker = new Thread(NotificationWriter::run, "notification-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private static void run() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(QUEUE.take());
+            } catch (InterruptedException e) {
+                if (closed) {
+                    break;
+                }
+                continue;
+            }
+            QUEUE.drainTo(batch, MAX_BATCH - 1);
+            write(batch);
+            batch.clear();
+        }
+        drainAndWrite();
+    }
+
+    private static void drainAndWrite() {
+        List<Pending> rest = new ArrayList<>();
+        QUEUE.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    private static void write(List<Pending> batch) {
+        try {
+            DatabaseConnection.withWriter(conn -> {
+                boolean autoCommit = conn.getAutoCommit();
+                conn.setAutoCommit(false);
+                try {
+                    PreparedStatement pstmt = DatabaseConnection.prepared(INSERT);
+                    for (Pending notification : batch) {
+                        pstmt.setString(1, notification.title);
+                        pstmt.setString(2, notification.message);
+                        pstmt.setString(3, notification.type);
+                        pstmt.setString(4, notification.priority);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                    conn.commit();
+                    NotificationBus.notificationsAdded(batch.size());
+                } catch (SQLException e) {
+                    rollbackQuietly(conn);
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(autoCommit);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Error adding " + batch.size() + " notification(s): " + e.getMessage());
+        }
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            System.err.println("❌ Rollback failed: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,497 @@
+package com.transport;
+
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only table model that fetches rows page by page as the table asks for
+ * them, instead of loading the whole table up front. Pages are read with
+ * keyset pagination on (sort column, id column) and kept in a bounded LRU.
+ * The row count comes from a separate COUNT(*) query.
+ *
+ * Single-row changes from the {@link ChangeFeed} are patched into the cached
+ * pages: only the changed row is re-read, and at most the pages from the
+ * change onwards are fetched again. No COUNT(*) is needed for them.
+ *
+ * All state is touched on the EDT only; queries run on a background thread.
+ */
+public class PagedTableModel extends AbstractTableModel {
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 50;
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "paged-table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String[] columns;
+    private final String selectClause;
+    private final String fromClause;
+    private final String countFromClause;
+    private final String sortColumn;
+    private final String sortKeyLabel;
+    private final String idColumn;
+    private final String idLabel;
+    private final boolean descending;
+    private final AsyncTableLoader.RowMapper mapper;
+    private final JLabel statusLabel;
+
+    private final Map<Integer, List<Object[]>> pages = new LinkedHashMap<Integer, List<Object[]>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            if (size() > MAX_CACHED_PAGES) {
+                pageKeys.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+    // Sort keys of the rows in each cached page, used to place changed rows
+    private final Map<Integer, List<Object[]>> pageKeys = new HashMap<>();
+    private final Map<Integer, Object[]> pageEndKeys = new HashMap<>();
+    private final Set<Integer> pagesInFlight = new HashSet<>();
+    private String filterCondition;
+    private Object[] filterParams = new Object[0];
+    private int rowCount = 0;
+    private volatile long generation = 0;
+    // Bumped whenever cached pages are dropped, so page loads already in flight are ignored
+    private volatile long pageEpoch = 0;
+
+    /**
+     * @param selectClause    "SELECT ..." list that includes the sort and id columns
+     * @param fromClause      FROM clause with any joins needed for the displayed columns
+     * @param countFromClause cheaper FROM clause used for the unfiltered row count
+     * @param sortColumn      qualified sort column, or null to page by id only
+     * @param sortKeyLabel    result set label of the sort column
+     * @param idColumn        qualified unique id column used as the tie breaker
+     * @param idLabel         result set label of the id column
+     */
+    public PagedTableModel(String[] columns, String selectClause, String fromClause, String countFromClause,
+                           String sortColumn, String sortKeyLabel, String idColumn, String idLabel,
+                           boolean descending, AsyncTableLoader.RowMapper mapper, JLabel statusLabel) {
+        this.columns = columns;
+        this.selectClause = selectClause;
+        this.fromClause = fromClause;
+        this.countFromClause = countFromClause;
+        this.sortColumn = sortColumn;
+        this.sortKeyLabel = sortKeyLabel;
+        this.idColumn = idColumn;
+        this.idLabel = idLabel;
+        this.descending = descending;
+        this.mapper = mapper;
+        this.statusLabel = statusLabel;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int offset = row % PAGE_SIZE;
+        return offset < rows.size() ? rows.get(offset)[column] : null;
+    }
+
+    /**
+     * Restricts the model to rows matching the SQL condition (null clears it)
+     * and reloads from the first page.
+     */
+    public void setFilter(String condition, Object... params) {
+        filterCondition = condition;
+        filterParams = params != null ? params : new Object[0];
+        refresh();
+    }
+
+    /**
+     * Drops all cached pages and re-reads the row count.
+     */
+    public void refresh() {
+        long refreshId = ++generation;
+        dropPagesFrom(0);
+        setStatus("⏳ Loading...");
+
+        String countSql = "SELECT COUNT(*) " + (filterCondition == null ? countFromClause : fromClause + where(null));
+        Object[] params = filterParams;
+        EXECUTOR.submit(() -> {
+            try {
+                int count = DatabaseConnection.read(countSql,
+                    pstmt -> bind(pstmt, params, 1),
+                    rs -> rs.next() ? rs.getInt(1) : 0);
+                SwingUtilities.invokeLater(() -> {
+                    if (refreshId == generation) {
+                        rowCount = count;
+                        fireTableDataChanged();
+                        setStatus(count + " rows");
+                    }
+                });
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> setStatus("Error: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Loads the pages covering the visible part of the table and the page
+     * after it, so scrolling down usually finds the next page ready.
+     */
+    public void attachTo(JTable table, JViewport viewport) {
+        viewport.addChangeListener(e -> {
+            Rectangle view = viewport.getViewRect();
+            int first = table.rowAtPoint(new Point(0, view.y));
+            int last = table.rowAtPoint(new Point(0, view.y + view.height - 1));
+            if (first < 0) {
+                return;
+            }
+            if (last < 0) {
+                last = rowCount - 1;
+            }
+            for (int page = first / PAGE_SIZE; page <= last / PAGE_SIZE + 1; page++) {
+                if (page * PAGE_SIZE < rowCount && !pages.containsKey(page)) {
+                    requestPage(page);
+                }
+            }
+        });
+    }
+
+    private void requestPage(int page) {
+        if (!pagesInFlight.add(page)) {
+            return;
+        }
+        long requestId = pageEpoch;
+        Object[] afterKey = page == 0 ? null : pageEndKeys.get(page - 1);
+        // Keyset seek when the previous page boundary is known, OFFSET for a jump
+        boolean useOffset = page > 0 && afterKey == null;
+        String sql = selectClause + " " + fromClause + where(afterKey) + " ORDER BY " + orderBy() +
+            " LIMIT ?" + (useOffset ? " OFFSET ?" : "");
+        Object[] params = filterParams;
+
+        EXECUTOR.submit(() -> {
+            if (requestId != pageEpoch) {
+                return;
+            }
+            try {
+                List<Object[]> keys = new ArrayList<>();
+                List<Object[]> rows = DatabaseConnection.read(sql,
+                    pstmt -> {
+                        int index = bind(pstmt, params, 1);
+                        if (afterKey != null) {
+                            index = bind(pstmt, afterKey, index);
+                        }
+                        pstmt.setInt(index++, PAGE_SIZE);
+                        if (useOffset) {
+                            pstmt.setLong(index, (long) page * PAGE_SIZE);
+                        }
+                    },
+                    rs -> {
+                        List<Object[]> result = new ArrayList<>(PAGE_SIZE);
+                        while (rs.next()) {
+                            result.add(mapper.map(rs));
+                            keys.add(readKey(rs));
+                        }
+                        return result;
+                    });
+                SwingUtilities.invokeLater(() -> pageLoaded(requestId, page, rows, keys));
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    pagesInFlight.remove(page);
+                    setStatus("Error: " + e.getMessage());
+                });
+            }
+        });
+    }
+
+    private void pageLoaded(long requestId, int page, List<Object[]> rows, List<Object[]> keys) {
+        if (requestId != pageEpoch) {
+            return;
+        }
+        pagesInFlight.remove(page);
+        pages.put(page, rows);
+        pageKeys.put(page, keys);
+        if (!keys.isEmpty()) {
+            pageEndKeys.put(page, keys.get(keys.size() - 1));
+        }
+        int first = page * PAGE_SIZE;
+        int last = Math.min(first + PAGE_SIZE, rowCount) - 1;
+        if (last >= first) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    /**
+     * Drops the cached pages but keeps the row count, for changes that alter
+     * how rows are displayed (e.g. a renamed driver) but not which rows exist.
+     */
+    public void invalidatePages() {
+        dropPagesFrom(0);
+        if (rowCount > 0) {
+            fireTableRowsUpdated(0, rowCount - 1);
+        }
+    }
+
+    /**
+     * Patches the row named by the change into the model. Must be called on
+     * the EDT. Inserts and updates re-read just that row (with the current
+     * filter applied) in the background.
+     */
+    public void applyChange(ChangeFeed.Change change) {
+        if (change.getKind() == ChangeFeed.Kind.DELETED) {
+            int[] location = locate(change.getId());
+            if (location == null) {
+                // Not cached, so its position is unknown
+                refresh();
+            } else {
+                removeAt(location[0], location[1]);
+                setStatus(rowCount + " rows");
+            }
+            return;
+        }
+        long changeId = generation;
+        int id = change.getId();
+        String sql = selectClause + " " + fromClause + where(null) +
+            (filterCondition == null ? " WHERE " : " AND ") + idColumn + " = ?";
+        Object[] params = filterParams;
+        EXECUTOR.submit(() -> {
+            try {
+                Object[][] result = DatabaseConnection.read(sql,
+                    pstmt -> pstmt.setInt(bind(pstmt, params, 1), id),
+                    rs -> rs.next() ? new Object[][]{mapper.map(rs), readKey(rs)} : null);
+                SwingUtilities.invokeLater(() -> {
+                    // A refresh started since then already includes the change
+                    if (changeId == generation) {
+                        rowChanged(change, result == null ? null : result[0], result == null ? null : result[1]);
+                    }
+                });
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> setStatus("Error: " + e.getMessage()));
+            }
+        });
+    }
+
+    private void rowChanged(ChangeFeed.Change change, Object[] row, Object[] key) {
+        int[] location = locate(change.getId());
+        if (location == null && change.getKind() == ChangeFeed.Kind.UPDATED) {
+            // The row may have moved into or out of the cached range
+            refresh();
+            return;
+        }
+        if (location != null) {
+            List<Object[]> keys = pageKeys.get(location[0]);
+            if (row != null && compareKeys(key, keys.get(location[1])) == 0) {
+                List<Object[]> rows = new ArrayList<>(pages.get(location[0]));
+                rows.set(location[1], row);
+                pages.put(location[0], rows);
+                int index = location[0] * PAGE_SIZE + location[1];
+                fireTableRowsUpdated(index, index);
+                return;
+            }
+            // Its sort position changed or it no longer matches the filter
+            removeAt(location[0], location[1]);
+        }
+        if (row != null) {
+            insert(row, key);
+        }
+        setStatus(rowCount + " rows");
+    }
+
+    private void insert(Object[] row, Object[] key) {
+        List<Integer> cached = new ArrayList<>(pages.keySet());
+        Collections.sort(cached);
+        for (int page : cached) {
+            List<Object[]> keys = pageKeys.get(page);
+            if (keys.isEmpty() || compareKeys(key, keys.get(keys.size() - 1)) > 0) {
+                continue;
+            }
+            if (page > 0 && !pages.containsKey(page - 1) && compareKeys(key, keys.get(0)) < 0) {
+                // Somewhere in the uncached rows before this page
+                dropPagesFrom(page);
+                rowCount++;
+                fireTableRowsInserted(page * PAGE_SIZE, page * PAGE_SIZE);
+                return;
+            }
+            int offset = 0;
+            while (compareKeys(key, keys.get(offset)) > 0) {
+                offset++;
+            }
+            List<Object[]> rows = new ArrayList<>(pages.get(page));
+            List<Object[]> newKeys = new ArrayList<>(keys);
+            rows.add(offset, row);
+            newKeys.add(offset, key);
+            if (rows.size() > PAGE_SIZE) {
+                rows.remove(PAGE_SIZE);
+                newKeys.remove(PAGE_SIZE);
+            }
+            // Every later page shifts by one row
+            dropPagesFrom(page + 1);
+            pages.put(page, rows);
+            pageKeys.put(page, newKeys);
+            pageEndKeys.put(page, newKeys.get(newKeys.size() - 1));
+            rowCount++;
+            fireTableRowsInserted(page * PAGE_SIZE + offset, page * PAGE_SIZE + offset);
+            return;
+        }
+        // Sorts after every cached row
+        dropPagesFrom(rowCount / PAGE_SIZE);
+        rowCount++;
+        fireTableRowsInserted(rowCount - 1, rowCount - 1);
+    }
+
+    private void removeAt(int page, int offset) {
+        List<Object[]> rows = new ArrayList<>(pages.get(page));
+        List<Object[]> keys = new ArrayList<>(pageKeys.get(page));
+        boolean lastPage = page * PAGE_SIZE + rows.size() >= rowCount;
+        rows.remove(offset);
+        keys.remove(offset);
+        if (lastPage) {
+            dropPagesFrom(page + 1);
+            pages.put(page, rows);
+            pageKeys.put(page, keys);
+            pageEndKeys.remove(page);
+            if (!keys.isEmpty()) {
+                pageEndKeys.put(page, keys.get(keys.size() - 1));
+            }
+        } else {
+            // The page would have to pull a row up from the next one; fetch it again instead
+            dropPagesFrom(page);
+        }
+        rowCount--;
+        int index = page * PAGE_SIZE + offset;
+        fireTableRowsDeleted(index, index);
+    }
+
+    /**
+     * Returns {page, offset} of the cached row with the id, or null.
+     */
+    private int[] locate(int id) {
+        for (Map.Entry<Integer, List<Object[]>> entry : pages.entrySet()) {
+            List<Object[]> rows = entry.getValue();
+            for (int offset = 0; offset < rows.size(); offset++) {
+                Object value = rows.get(offset)[0];
+                if (value instanceof Number && ((Number) value).intValue() == id) {
+                    return new int[]{entry.getKey(), offset};
+                }
+            }
+        }
+        return null;
+    }
+
+    private void dropPagesFrom(int firstPage) {
+        pageEpoch++;
+        pages.keySet().removeIf(page -> page >= firstPage);
+        pageKeys.keySet().removeIf(page -> page >= firstPage);
+        pageEndKeys.keySet().removeIf(page -> page >= firstPage);
+        pagesInFlight.clear();
+    }
+
+    private Object[] readKey(java.sql.ResultSet rs) throws SQLException {
+        return sortColumn != null
+            ? new Object[]{rs.getObject(sortKeyLabel), rs.getObject(idLabel)}
+            : new Object[]{rs.getObject(idLabel)};
+    }
+
+    /**
+     * Compares two keys in display order, matching SQLite's ordering for the
+     * values involved (NULL first, numbers by value, text by code point).
+     */
+    private int compareKeys(Object[] a, Object[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int result = compareValues(a[i], b[i]);
+            if (result != 0) {
+                return descending ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareValues(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    private String where(Object[] afterKey) {
+        List<String> conditions = new ArrayList<>();
+        if (filterCondition != null) {
+            conditions.add("(" + filterCondition + ")");
+        }
+        if (afterKey != null) {
+            String op = descending ? "<" : ">";
+            conditions.add(sortColumn != null
+                ? "(" + sortColumn + ", " + idColumn + ") " + op + " (?, ?)"
+                : idColumn + " " + op + " ?");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private String orderBy() {
+        String direction = descending ? " DESC" : " ASC";
+        return sortColumn != null
+            ? sortColumn + direction + ", " + idColumn + direction
+            : idColumn + direction;
+    }
+
+    private static int bind(PreparedStatement pstmt, Object[] values, int startIndex) throws SQLException {
+        int index = startIndex;
+        for (Object value : values) {
+            pstmt.setObject(index++, value);
+        }
+        return index;
+    }
+
+    private void setStatus(String text) {
+        if (statusLabel != null) {
+            statusLabel.setText(text);
+        }
+    }
+
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+}
\ No newline at end of file
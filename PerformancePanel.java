@@ -0,0 +1,192 @@
+package com.transport;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * "Performance" tab of the settings: latency percentiles and row counts per
+ * statement template, and the slow-query log with the plan of the selected
+ * query. Refreshes itself every few seconds while it is on screen.
+ */
+public class PerformancePanel extends JPanel {
+    private static final int REFRESH_INTERVAL_MS = 2000;
+
+    private final DefaultTableModel statsModel;
+    private final DefaultTableModel slowModel;
+    private final JTable statsTable;
+    private final JTable slowTable;
+    private final JTextArea detailArea;
+    private final JLabel summaryLabel;
+    private final Timer refreshTimer;
+    private List<QueryStats.SlowQuery> shownSlowQueries;
+
+    public PerformancePanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        // Header
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        JLabel header = new JLabel("Query Performance");
+        header.setFont(new Font("Arial", Font.BOLD, 18));
+        summaryLabel = new JLabel();
+        summaryLabel.setForeground(Color.GRAY);
+        headerPanel.add(header, BorderLayout.WEST);
+        headerPanel.add(summaryLabel, BorderLayout.SOUTH);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton refreshBtn = new JButton("🔄 Refresh");
+        JButton resetBtn = new JButton("🗑️ Reset Statistics");
+        refreshBtn.addActionListener(e -> refresh());
+        resetBtn.addActionListener(e -> {
+            QueryStats.reset();
+            refresh();
+        });
+        buttonPanel.add(refreshBtn);
+        buttonPanel.add(resetBtn);
+        headerPanel.add(buttonPanel, BorderLayout.EAST);
+
+        // Per-template statistics
+        String[] statsColumns = {"Statement", "Calls", "Rows", "Mean (ms)", "p50 (ms)", "p90 (ms)",
+            "p99 (ms)", "Max (ms)", "Total (s)", "Errors"};
+        statsModel = new DefaultTableModel(statsColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 ? String.class : column <= 2 || column == 9 ? Long.class : Double.class;
+            }
+        };
+        statsTable = new JTable(statsModel);
+        statsTable.setAutoCreateRowSorter(true);
+        statsTable.getColumnModel().getColumn(0).setPreferredWidth(500);
+
+        // Slow-query log
+        String[] slowColumns = {"Time", "Duration (ms)", "Rows", "Statement"};
+        slowModel = new DefaultTableModel(slowColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        slowTable = new JTable(slowModel);
+        slowTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        slowTable.getColumnModel().getColumn(3).setPreferredWidth(500);
+
+        detailArea = new JTextArea(6, 50);
+        detailArea.setEditable(false);
+        detailArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        statsTable.getSelectionModel().addListSelectionListener(e -> {
+            int row = statsTable.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row >= 0) {
+                detailArea.setText((String) statsModel.getValueAt(statsTable.convertRowIndexToModel(row), 0));
+            }
+        });
+        slowTable.getSelectionModel().addListSelectionListener(e -> {
+            int row = slowTable.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row >= 0 && row < shownSlowQueries.size()) {
+                QueryStats.SlowQuery slow = shownSlowQueries.get(row);
+                detailArea.setText(slow.getSql() + "\n\nQuery plan:\n" + slow.getPlan());
+            }
+        });
+
+        JPanel slowPanel = new JPanel(new BorderLayout());
+        slowPanel.add(new JLabel("Slow queries (newest first)"), BorderLayout.NORTH);
+        slowPanel.add(new JScrollPane(slowTable), BorderLayout.CENTER);
+
+        JSplitPane bottomSplit = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, slowPanel, new JScrollPane(detailArea));
+        bottomSplit.setResizeWeight(0.6);
+        JSplitPane mainSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(statsTable), bottomSplit);
+        mainSplit.setResizeWeight(0.6);
+
+        add(headerPanel, BorderLayout.NORTH);
+        add(mainSplit, BorderLayout.CENTER);
+
+        refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+        refresh();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+        if (!QueryStats.ENABLED) {
+            summaryLabel.setText("Query statistics are disabled (-Dtransport.db.queryStats=false)");
+            return;
+        }
+        List<QueryStats.Template> templates = QueryStats.getTemplates();
+        // Most total time first: that is where tuning pays off
+        templates.sort((a, b) -> Long.compare(b.getLatency().getTotalMicros(), a.getLatency().getTotalMicros()));
+
+        String selected = null;
+        int selectedRow = statsTable.getSelectedRow();
+        if (selectedRow >= 0) {
+            selected = (String) statsModel.getValueAt(statsTable.convertRowIndexToModel(selectedRow), 0);
+        }
+        long calls = 0;
+        statsModel.setRowCount(0);
+        for (QueryStats.Template template : templates) {
+            LatencyHistogram latency = template.getLatency();
+            calls += latency.getCount();
+            statsModel.addRow(new Object[]{
+                template.getSql(),
+                latency.getCount(),
+                template.getRows(),
+                millis(Math.round(latency.getMeanMicros())),
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getMaxMicros()),
+                Math.round(latency.getTotalMicros() / 10000.0) / 100.0,
+                template.getErrors()
+            });
+        }
+        for (int row = 0; selected != null && row < statsModel.getRowCount(); row++) {
+            if (selected.equals(statsModel.getValueAt(row, 0))) {
+                int viewRow = statsTable.convertRowIndexToView(row);
+                statsTable.getSelectionModel().setSelectionInterval(viewRow, viewRow);
+                break;
+            }
+        }
+
+        // Rebuilding the slow list would lose the selection, so only do it when it changed
+        List<QueryStats.SlowQuery> slowQueries = QueryStats.getSlowQueries();
+        if (shownSlowQueries == null || !slowQueries.equals(shownSlowQueries)) {
+            shownSlowQueries = slowQueries;
+            SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+            slowModel.setRowCount(0);
+            for (QueryStats.SlowQuery slow : slowQueries) {
+                slowModel.addRow(new Object[]{
+                    timeFormat.format(new Date(slow.getTimestamp())),
+                    millis(slow.getMicros()),
+                    slow.getRows(),
+                    slow.getSql()
+                });
+            }
+        }
+
+        summaryLabel.setText(templates.size() + " statement templates, " + calls + " executions, " +
+            shownSlowQueries.size() + " slow (over " + QueryStats.getSlowQueryThreshold() + "ms); statement cache " +
+            DatabaseConnection.getStatementCacheHits() + " hits / " + DatabaseConnection.getStatementCacheMisses() + " misses");
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
\ No newline at end of file
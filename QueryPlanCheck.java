@@ -0,0 +1,102 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Startup check of the query plans of the app's hot queries. Every plan step
+ * that scans a whole table instead of using an index is logged, so a query
+ * change that loses its index shows up on the next start rather than as a
+ * slow screen once the tables have grown.
+ */
+public class QueryPlanCheck {
+    // Hot queries that filter, and so should search an index rather than scan
+    private static final String[] SEARCH_QUERIES = {
+        DashboardStatsService.STATS_QUERY,
+        "SELECT t.trip_id, t.date FROM trips t WHERE (t.date, t.trip_id) < (?, ?) ORDER BY t.date DESC, t.trip_id DESC LIMIT ?",
+        "SELECT COUNT(*) FROM trips WHERE vehicle_id = ?",
+        "SELECT vehicle_id, name FROM vehicles WHERE status IN ('Available', 'On Trip')",
+        "SELECT driver_id, full_name FROM drivers WHERE status = 'Active'",
+        "SELECT route_id, route_name FROM routes WHERE status = 'Active'",
+        ReportsPanel.REVENUE_BY_MONTH_QUERY,
+        ReportsPanel.REVENUE_BY_DAY_QUERY,
+        ReportsPanel.TRIPS_BY_STATUS_QUERY,
+        ReportsPanel.MAINTENANCE_HISTORY_QUERY,
+        ReportsPanel.TICKET_SALES_QUERY,
+        ReportsPanel.TOP_VEHICLES_QUERY,
+        ReportsPanel.MAINTENANCE_BY_STATUS_QUERY,
+        "SELECT notification_id FROM notifications WHERE (is_read = 0) AND notification_id < ? " +
+            "ORDER BY notification_id DESC LIMIT ?",
+        "SELECT notification_id FROM notifications WHERE is_read = 1 AND created_at < datetime('now', ?) " +
+            "ORDER BY created_at, notification_id LIMIT ?"
+    };
+
+    // Hot queries that may walk a whole index (for ORDER BY ... LIMIT or a
+    // count) but should never scan the table or sort in a temp b-tree
+    private static final String[] INDEX_SCAN_QUERIES = {
+        "SELECT t.trip_id, t.date FROM trips t ORDER BY t.date DESC, t.trip_id DESC LIMIT ?",
+        "SELECT COUNT(*) FROM trips t",
+        "SELECT COUNT(*) as count FROM notifications WHERE is_read = 0",
+        ReportsPanel.ALL_TICKET_SALES_QUERY
+    };
+
+    private QueryPlanCheck() {
+    }
+
+    /**
+     * Runs EXPLAIN QUERY PLAN on the known queries and logs every step that
+     * scans a whole table instead of using an index. Returns the number of
+     * offending plan steps.
+     */
+    public static int run(Connection conn) {
+        int problems = 0;
+        for (String query : SEARCH_QUERIES) {
+            problems += checkPlan(conn, query, false);
+        }
+        for (String query : INDEX_SCAN_QUERIES) {
+            problems += checkPlan(conn, query, true);
+        }
+        if (problems == 0) {
+            System.out.println("✅ Query plan check passed for " +
+                (SEARCH_QUERIES.length + INDEX_SCAN_QUERIES.length) + " queries!");
+        }
+        return problems;
+    }
+
+    private static int checkPlan(Connection conn, String query, boolean indexScanAllowed) {
+        int problems = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + query)) {
+            int params = pstmt.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= params; i++) {
+                pstmt.setNull(i, Types.NULL);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String detail = rs.getString("detail");
+                    if (isFullScan(detail, indexScanAllowed)) {
+                        problems++;
+                        System.err.println("⚠️ Full scan (" + detail + ") in query: " + query);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error checking query plan: " + e.getMessage() + " in query: " + query);
+        }
+        return problems;
+    }
+
+    private static boolean isFullScan(String detail, boolean indexScanAllowed) {
+        if (detail == null || detail.startsWith("SCAN CONSTANT ROW")) {
+            return false;
+        }
+        if (detail.startsWith("USE TEMP B-TREE")) {
+            // The index was supposed to deliver the rows in order
+            return indexScanAllowed;
+        }
+        // "SCAN trips" reads the whole table, "SCAN trips USING INDEX ..." the whole index
+        return detail.startsWith("SCAN ") && (!indexScanAllowed || !detail.contains(" USING "));
+    }
+}
\ No newline at end of file
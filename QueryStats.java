@@ -0,0 +1,447 @@
+package com.transport;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and row counts per SQL statement template for every statement run
+ * on the pooled connections, plus a log of the statements slower than a
+ * configurable threshold together with their query plan.
+ *
+ * ConnectionPool hands out connections wrapped by {@link #instrument}: each
+ * execute call is timed, and for queries the clock runs until the result
+ * set is exhausted or closed, since SQLite computes rows lazily as they are
+ * read. Literals are replaced by "?" so statements built by concatenation
+ * still group by template. Dedicated connections (backups, bulk loads) are
+ * not instrumented.
+ *
+ * Disable with -Dtransport.db.queryStats=false.
+ */
+public class QueryStats {
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("transport.db.queryStats", "true"));
+    public static final long DEFAULT_SLOW_QUERY_MILLIS = 200;
+
+    private static final int MAX_TEMPLATES = 500;
+    private static final int SLOW_LOG_SIZE = 100;
+    private static final String OTHER_TEMPLATE = "(other statements)";
+
+    private static final ConcurrentHashMap<String, Template> templates = new ConcurrentHashMap<>();
+    private static final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private static volatile long slowQueryMicros = DEFAULT_SLOW_QUERY_MILLIS * 1000;
+
+    // Plans are looked up off the caller's thread; under a flood of slow queries the extra ones are dropped
+    private static final ExecutorService planExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(SLOW_LOG_SIZE), r -> {
+            Thread t = new Thread(r, "slow-query-log");
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private QueryStats() {
+    }
+
+    /**
+     * Statistics of one statement template.
+     */
+    public static class Template {
+        private final String sql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        Template(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() { return sql; }
+        public LatencyHistogram getLatency() { return latency; }
+        public long getRows() { return rows.sum(); }
+        public long getErrors() { return errors.sum(); }
+    }
+
+    /**
+     * One execution that took longer than the slow-query threshold.
+     */
+    public static class SlowQuery {
+        private final long timestamp;
+        private final String sql;
+        private final long micros;
+        private final long rows;
+        private volatile String plan = "(looking up plan...)";
+
+        SlowQuery(long timestamp, String sql, long micros, long rows) {
+            this.timestamp = timestamp;
+            this.sql = sql;
+            this.micros = micros;
+            this.rows = rows;
+        }
+
+        public long getTimestamp() { return timestamp; }
+        public String getSql() { return sql; }
+        public long getMicros() { return micros; }
+        public long getRows() { return rows; }
+        public String getPlan() { return plan; }
+    }
+
+    public static void setSlowQueryThreshold(long millis) {
+        slowQueryMicros = Math.max(0, millis) * 1000;
+    }
+
+    public static long getSlowQueryThreshold() {
+        return slowQueryMicros / 1000;
+    }
+
+    /**
+     * All templates seen so far, in no particular order.
+     */
+    public static List<Template> getTemplates() {
+        return new ArrayList<>(templates.values());
+    }
+
+    /**
+     * The most recent slow queries, newest first.
+     */
+    public static List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public static void reset() {
+        templates.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    /**
+     * Wraps a connection so the statements it creates are timed. Returns the
+     * connection itself when statistics are disabled.
+     */
+    public static Connection instrument(Connection connection) {
+        if (!ENABLED) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(QueryStats.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    static Template template(String sql) {
+        String normalized = normalize(sql);
+        Template template = templates.get(normalized);
+        if (template != null) {
+            return template;
+        }
+        // Bound the map in case something builds statements with unusual shapes in a loop
+        if (templates.size() >= MAX_TEMPLATES) {
+            return templates.computeIfAbsent(OTHER_TEMPLATE, Template::new);
+        }
+        return templates.computeIfAbsent(normalized, Template::new);
+    }
+
+    static void record(Template template, String sql, long startNanos, long rows, boolean failed) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        template.latency.record(micros);
+        template.rows.add(rows);
+        if (failed) {
+            template.errors.increment();
+        }
+        if (micros >= slowQueryMicros) {
+            logSlowQuery(sql, micros, rows);
+        }
+    }
+
+    private static void logSlowQuery(String sql, long micros, long rows) {
+        SlowQuery slow = new SlowQuery(System.currentTimeMillis(), sql, micros, rows);
+        synchronized (slowQueries) {
+            slowQueries.addFirst(slow);
+            if (slowQueries.size() > SLOW_LOG_SIZE) {
+                slowQueries.removeLast();
+            }
+        }
+        planExecutor.execute(() -> {
+            slow.plan = explain(sql);
+            System.err.println("🐢 Slow query (" + micros / 1000 + "ms, " + rows + " rows): " + sql + "\n" + slow.plan);
+        });
+    }
+
+    /**
+     * EXPLAIN QUERY PLAN of the statement on a reader. Parameters are left
+     * unbound, so this is the plan for the template rather than for the
+     * values of that particular execution.
+     */
+    private static String explain(String sql) {
+        String verb = sql.trim().toUpperCase(Locale.ROOT);
+        if (!(verb.startsWith("SELECT") || verb.startsWith("WITH") || verb.startsWith("INSERT")
+                || verb.startsWith("UPDATE") || verb.startsWith("DELETE"))) {
+            return "(no plan for this kind of statement)";
+        }
+        try {
+            // Not through the reader's statement cache, which would fill up with one-off plan lookups
+            return DatabaseConnection.withReader(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(plan.length() > 0 ? "\n" : "").append("  ").append(rs.getString("detail"));
+                    }
+                    return plan.toString();
+                }
+            });
+        } catch (SQLException e) {
+            return "(plan unavailable: " + e.getMessage() + ")";
+        }
+    }
+
+    private static boolean isExplain(String sql) {
+        return sql.regionMatches(true, 0, "EXPLAIN", 0, 7);
+    }
+
+    /**
+     * Replaces string and number literals by "?" and collapses whitespace,
+     * so "... WHERE id = 5" and "... WHERE id = 7" share a template.
+     */
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // A doubled quote inside a literal is an escaped quote
+                i++;
+                while (i < n && (sql.charAt(i) != '\'' || (i + 1 < n && sql.charAt(i + 1) == '\''))) {
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                i++;
+                out.append('?');
+            } else if (Character.isDigit(c) && (out.length() == 0 || !isIdentifierChar(out.charAt(out.length() - 1)))) {
+                while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString().trim();
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer) {
+            return Math.max(0, (Integer) result);
+        }
+        if (result instanceof Long) {
+            return Math.max(0, (Long) result);
+        }
+        if (result instanceof int[]) {
+            long sum = 0;
+            for (int count : (int[]) result) {
+                sum += Math.max(0, count);
+            }
+            return sum;
+        }
+        return 0;
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryStats.invoke(connection, method, args);
+            if (result instanceof PreparedStatement && method.getName().equals("prepareStatement")) {
+                return Proxy.newProxyInstance(QueryStats.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    new StatementHandler((Statement) result, (String) args[0]));
+            }
+            if (result instanceof Statement && method.getName().equals("createStatement")) {
+                return Proxy.newProxyInstance(QueryStats.class.getClassLoader(), new Class<?>[]{Statement.class},
+                    new StatementHandler((Statement) result, null));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Times the execute methods. A prepared statement resolves its template
+     * once; a plain statement per call, from the SQL passed to execute.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String preparedSql;
+        private final Template preparedTemplate;
+        private ResultSetHandler openResult;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.preparedTemplate = preparedSql != null && !isExplain(preparedSql) ? template(preparedSql) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("close") || name.equals("clearParameters")) {
+                    finishOpenResult();
+                }
+                return QueryStats.invoke(statement, method, args);
+            }
+            // A new execution closes the previous result set of the statement
+            finishOpenResult();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            Template template = preparedTemplate;
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                template = isExplain(sql) ? null : template(sql);
+            }
+            // Plan lookups (ours and QueryPlanCheck's) are not part of the workload
+            if (template == null) {
+                return QueryStats.invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = QueryStats.invoke(statement, method, args);
+            } catch (Throwable e) {
+                record(template, sql, start, 0, true);
+                throw e;
+            }
+            if (result instanceof ResultSet) {
+                openResult = new ResultSetHandler((ResultSet) result, template, sql, start);
+                return Proxy.newProxyInstance(QueryStats.class.getClassLoader(), new Class<?>[]{ResultSet.class}, openResult);
+            }
+            if (result instanceof Boolean) {
+                // execute(): a query's rows are not counted, only its first step is timed
+                record(template, sql, start, (Boolean) result ? 0 : statement.getUpdateCount(), false);
+            } else {
+                record(template, sql, start, updateCount(result), false);
+            }
+            return result;
+        }
+
+        private void finishOpenResult() {
+            if (openResult != null) {
+                openResult.finish();
+                openResult = null;
+            }
+        }
+    }
+
+    /**
+     * Counts rows and records the query once the rows are exhausted or the
+     * result set is closed, whichever comes first.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final Template template;
+        private final String sql;
+        private final long start;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(ResultSet resultSet, Template template, String sql, long start) {
+            this.resultSet = resultSet;
+            this.template = template;
+            this.sql = sql;
+            this.start = start;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("next")) {
+                boolean hasRow;
+                try {
+                    hasRow = resultSet.next();
+                } catch (SQLException e) {
+                    if (!finished) {
+                        finished = true;
+                        record(template, sql, start, rows, true);
+                    }
+                    throw e;
+                }
+                if (hasRow) {
+                    rows++;
+                } else {
+                    finish();
+                }
+                return hasRow;
+            }
+            if (name.equals("close")) {
+                finish();
+            }
+            // Table loads read every column of every row, so skip reflection for the common getters
+            if (args != null && args.length == 1 && args[0] instanceof String) {
+                String column = (String) args[0];
+                switch (name) {
+                    case "getObject": return resultSet.getObject(column);
+                    case "getString": return resultSet.getString(column);
+                    case "getInt": return resultSet.getInt(column);
+                    case "getLong": return resultSet.getLong(column);
+                    case "getDouble": return resultSet.getDouble(column);
+                    default: break;
+                }
+            } else if (args != null && args.length == 1 && args[0] instanceof Integer) {
+                int column = (Integer) args[0];
+                switch (name) {
+                    case "getObject": return resultSet.getObject(column);
+                    case "getString": return resultSet.getString(column);
+                    case "getInt": return resultSet.getInt(column);
+                    case "getLong": return resultSet.getLong(column);
+                    case "getDouble": return resultSet.getDouble(column);
+                    default: break;
+                }
+            }
+            return QueryStats.invoke(resultSet, method, args);
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                record(template, sql, start, rows, false);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * The dates a report covers, as chosen in the Time Range box of
+ * {@link ReportsPanel}: from the first day (inclusive) up to the end day
+ * (exclusive). Reports bind the bounds into their SQL (see
+ * {@link #bind(PreparedStatement, int)}), so a report reads only the rows in
+ * its window through the date indexes instead of all of history.
+ */
+public final class ReportWindow {
+    static final String TODAY = "Today";
+    static final String THIS_WEEK = "This Week";
+    static final String THIS_MONTH = "This Month";
+    static final String LAST_MONTH = "Last Month";
+    static final String THIS_YEAR = "This Year";
+    static final String ALL_TIME = "All Time";
+    static final String CUSTOM = "Custom";
+    static final String[] RANGES = {TODAY, THIS_WEEK, THIS_MONTH, LAST_MONTH, THIS_YEAR, ALL_TIME, CUSTOM};
+
+    // Far enough out to hold every stored date and still format as yyyy-MM-dd
+    private static final LocalDate FIRST_DAY = LocalDate.of(1, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(9999, 1, 1);
+
+    private final String name;
+    private final LocalDate start;
+    private final LocalDate end;
+
+    private ReportWindow(String name, LocalDate start, LocalDate end) {
+        this.name = name;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * The window of a named range (anything in {@link #RANGES} but Custom)
+     * as of the given day. Weeks start on Monday.
+     */
+    public static ReportWindow of(String range, LocalDate today) {
+        switch (range) {
+            case TODAY:
+                return new ReportWindow(range, today, today.plusDays(1));
+            case THIS_WEEK:
+                LocalDate monday = today.with(DayOfWeek.MONDAY);
+                return new ReportWindow(range, monday, monday.plusWeeks(1));
+            case THIS_MONTH:
+                return ofMonth(range, YearMonth.from(today));
+            case LAST_MONTH:
+                return ofMonth(range, YearMonth.from(today).minusMonths(1));
+            case THIS_YEAR:
+                LocalDate newYear = today.withDayOfYear(1);
+                return new ReportWindow(range, newYear, newYear.plusYears(1));
+            case ALL_TIME:
+                return new ReportWindow(range, FIRST_DAY, LAST_DAY);
+            default:
+                throw new IllegalArgumentException("Unknown time range: " + range);
+        }
+    }
+
+    /**
+     * The window from the first to the last day, both inclusive.
+     */
+    public static ReportWindow custom(LocalDate first, LocalDate last) {
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("The end date " + last + " is before the start date " + first);
+        }
+        return new ReportWindow(CUSTOM, first, last.plusDays(1));
+    }
+
+    private static ReportWindow ofMonth(String name, YearMonth month) {
+        return new ReportWindow(name, month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    /** Inclusive lower bound for a date column, "yyyy-MM-dd". */
+    public String getStart() {
+        return DateRanges.dayStart(start);
+    }
+
+    /** Exclusive upper bound for a date column, "yyyy-MM-dd". */
+    public String getEnd() {
+        return DateRanges.dayStart(end);
+    }
+
+    /**
+     * Whether the window is unbounded, so a report may skip the bounds and
+     * use a plan that suits reading everything.
+     */
+    public boolean isAllTime() {
+        return start.equals(FIRST_DAY) && end.equals(LAST_DAY);
+    }
+
+    /**
+     * Whether the window is made of whole calendar months, so monthly
+     * rollups answer it exactly.
+     */
+    public boolean isWholeMonths() {
+        return start.getDayOfMonth() == 1 && end.getDayOfMonth() == 1;
+    }
+
+    /** Inclusive lower bound for a month column such as revenue_monthly.month. */
+    public String getStartMonth() {
+        return DateRanges.monthBucket(YearMonth.from(start));
+    }
+
+    /** Exclusive upper bound for a month column; only exact if {@link #isWholeMonths()}. */
+    public String getEndMonth() {
+        return DateRanges.monthBucket(YearMonth.from(end));
+    }
+
+    /**
+     * Binds the day bounds to the parameters at index and index + 1, for
+     * "column >= ? AND column < ?".
+     */
+    public void bind(PreparedStatement pstmt, int index) throws SQLException {
+        pstmt.setString(index, getStart());
+        pstmt.setString(index + 1, getEnd());
+    }
+
+    /** Same as {@link #bind(PreparedStatement, int)} with the month bounds. */
+    public void bindMonths(PreparedStatement pstmt, int index) throws SQLException {
+        pstmt.setString(index, getStartMonth());
+        pstmt.setString(index + 1, getEndMonth());
+    }
+
+    /**
+     * E.g. "This Month (2025-01-01 to 2025-01-31)", with the last day inclusive.
+     */
+    @Override
+    public String toString() {
+        if (ALL_TIME.equals(name)) {
+            return name;
+        }
+        return name + " (" + getStart() + " to " + DateRanges.dayStart(end.minusDays(1)) + ")";
+    }
+}
\ No newline at end of file
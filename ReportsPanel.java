@@ -5,22 +5,116 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.FileWriter;
+import java.io.File;
 import java.io.IOException;
-import java.sql.ResultSet;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.sql.ResultSet;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class ReportsPanel extends JPanel {
+    // Every report query starts with the two bounds of its ReportWindow,
+    // compared against the raw date (or rollup day / month) column so the
+    // index delivers only the rows in the window.
+    // Revenue reads the trigger-maintained rollups (see RevenueRollup):
+    // one row per month for whole months, otherwise one row per day
+    static final String REVENUE_BY_MONTH_QUERY =
+        "SELECT month as period, revenue FROM revenue_monthly WHERE month >= ? AND month < ? ORDER BY month";
+    static final String REVENUE_BY_DAY_QUERY =
+        "SELECT day as period, SUM(revenue) as revenue FROM revenue_daily " +
+        "WHERE day >= ? AND day < ? GROUP BY day ORDER BY day";
+    static final String TRIPS_BY_STATUS_QUERY =
+        "SELECT status, COUNT(*) as count FROM trips WHERE date >= ? AND date < ? GROUP BY status";
+    static final String VEHICLE_UTILIZATION_QUERY =
+        "SELECT v.name, v.status, COALESCE(w.trip_count, 0) as trip_count " +
+        "FROM vehicles v LEFT JOIN (" +
+        "SELECT vehicle_id, SUM(trip_count) as trip_count FROM revenue_daily " +
+        "WHERE day >= ? AND day < ? GROUP BY vehicle_id" +
+        ") w ON v.vehicle_id = w.vehicle_id " +
+        "ORDER BY v.vehicle_id";
+    static final String DRIVER_PERFORMANCE_QUERY =
+        "SELECT d.full_name, d.status, COALESCE(w.trip_count, 0) as trip_count, " +
+        "COALESCE(w.total_revenue, 0) as total_revenue " +
+        "FROM drivers d LEFT JOIN (" +
+        "SELECT driver_id, COUNT(*) as trip_count, SUM(total_amount) as total_revenue FROM trips " +
+        "WHERE date >= ? AND date < ? GROUP BY driver_id" +
+        ") w ON d.driver_id = w.driver_id " +
+        "ORDER BY total_revenue DESC";
+    static final String MAINTENANCE_HISTORY_QUERY =
+        "SELECT m.reference_id, m.description, m.status, m.cost, v.name as vehicle_name " +
+        "FROM maintenance m JOIN vehicles v ON m.vehicle_id = v.vehicle_id " +
+        "WHERE m.maintenance_date >= ? AND m.maintenance_date < ? " +
+        "ORDER BY m.maintenance_date DESC LIMIT 10";
+    // Tickets count towards the date of their trip, as in the revenue rollups.
+    // Looking up the tickets of every trip is slower than reading them all
+    // through idx_tickets_status once the window spans the whole history
+    static final String TICKET_SALES_QUERY =
+        "SELECT k.status, COUNT(*) as count, SUM(k.price) as total_revenue " +
+        "FROM trips t JOIN tickets k ON k.trip_id = t.trip_id " +
+        "WHERE t.date >= ? AND t.date < ? GROUP BY k.status";
+    static final String ALL_TICKET_SALES_QUERY =
+        "SELECT status, COUNT(*) as count, SUM(price) as total_revenue " +
+        "FROM tickets GROUP BY status";
+    // Charts tab, over the same window as the reports
+    static final String TOP_VEHICLES_QUERY =
+        "SELECT v.name, SUM(r.trip_count) as trip_count FROM revenue_daily r " +
+        "JOIN vehicles v ON r.vehicle_id = v.vehicle_id " +
+        "WHERE r.day >= ? AND r.day < ? GROUP BY r.vehicle_id, v.name ORDER BY trip_count DESC LIMIT 10";
+    static final String MAINTENANCE_BY_STATUS_QUERY =
+        "SELECT status, COUNT(*) as count FROM maintenance " +
+        "WHERE maintenance_date >= ? AND maintenance_date < ? GROUP BY status";
+    private static final int CACHE_SIZE = 32;
+
+    // Reports run one at a time off the EDT; a new one cancels the one in flight
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "report-worker");
+        t.setDaemon(true);
+        return t;
+    });
+    // Finished reports by type, window and data version, so flipping back to one is instant.
+    // A write bumps the version, which leaves the older entries unreachable until evicted
+    private final Map<String, ReportResult> cache = new LinkedHashMap<String, ReportResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReportResult> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private CancelToken runningJob;
+    private String runningType;
+    private long jobStarted;
+    private Timer progressTimer;
+    // Window and data version the charts show, so reopening the tab reloads only after a change
+    private String chartsKey;
+
     private JComboBox<String> reportTypeCombo;
     private JComboBox<String> timeRangeCombo;
-    private JButton generateBtn, exportBtn, printBtn;
+    private JSpinner fromSpinner, toSpinner;
+    private JLabel fromLabel, toLabel;
+    private JButton generateBtn, exportBtn, exportDataBtn, printBtn, cancelBtn;
+    private JProgressBar progressBar;
+    private JLabel statusLabel;
     private JTextArea reportArea;
     private JTable reportTable;
     private DefaultTableModel reportTableModel;
+    private JTabbedPane tabbedPane;
+    private JPanel chartsPanel;
+    private ChartPanel revenueChart, vehicleChart, tripChart, maintenanceChart;
 
     public ReportsPanel() {
         initializeUI();
@@ -47,17 +141,34 @@ public class ReportsPanel extends JPanel {
         controlsPanel.add(reportTypeCombo);
 
         controlsPanel.add(new JLabel("Time Range:"));
-        timeRangeCombo = new JComboBox<>(new String[]{
-            "Today", "This Week", "This Month", "Last Month", "This Year", "Custom"
-        });
+        timeRangeCombo = new JComboBox<>(ReportWindow.RANGES);
+        timeRangeCombo.setSelectedItem(ReportWindow.THIS_MONTH);
         controlsPanel.add(timeRangeCombo);
 
+        // Custom range, shown only while "Custom" is selected; defaults to month to date
+        LocalDate today = LocalDate.now();
+        fromLabel = new JLabel("From:");
+        fromSpinner = createDateSpinner(today.withDayOfMonth(1));
+        toLabel = new JLabel("To:");
+        toSpinner = createDateSpinner(today);
+        controlsPanel.add(fromLabel);
+        controlsPanel.add(fromSpinner);
+        controlsPanel.add(toLabel);
+        controlsPanel.add(toSpinner);
+        showCustomRange(false);
+        timeRangeCombo.addActionListener(e -> {
+            showCustomRange(ReportWindow.CUSTOM.equals(timeRangeCombo.getSelectedItem()));
+            controlsPanel.revalidate();
+        });
+
         generateBtn = new JButton("📊 Generate Report");
         exportBtn = new JButton("💾 Export CSV");
+        exportDataBtn = new JButton("📤 Export Data");
         printBtn = new JButton("🖨️ Print");
 
         controlsPanel.add(generateBtn);
         controlsPanel.add(exportBtn);
+        controlsPanel.add(exportDataBtn);
         controlsPanel.add(printBtn);
 
         // Report table
@@ -76,270 +187,540 @@ public class ReportsPanel extends JPanel {
         reportArea.setEditable(false);
         JScrollPane textScroll = new JScrollPane(reportArea);
 
-        // Charts panel (placeholder for actual charts)
-        JPanel chartsPanel = createChartsPanel();
+        // Charts of the selected window, loaded when the tab is shown
+        chartsPanel = createChartsPanel();
 
         // Add action listeners
         generateBtn.addActionListener(e -> generateReport());
         exportBtn.addActionListener(e -> exportToCSV());
+        exportDataBtn.addActionListener(e -> exportData());
         printBtn.addActionListener(e -> printReport());
+        // Switching to a report that is still cached shows it at once
+        reportTypeCombo.addActionListener(e -> showCachedReport());
+        timeRangeCombo.addActionListener(e -> {
+            showCachedReport();
+            refreshCharts();
+        });
+
+        // Progress of the running report
+        JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        cancelBtn = new JButton("⏹️ Cancel");
+        cancelBtn.setVisible(false);
+        cancelBtn.addActionListener(e -> cancelReport());
+        statusLabel = new JLabel(" ");
+        statusPanel.add(progressBar);
+        statusPanel.add(cancelBtn);
+        statusPanel.add(statusLabel);
+        progressTimer = new Timer(200, e -> updateProgress());
 
         // Layout
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.add(headerPanel, BorderLayout.NORTH);
         topPanel.add(controlsPanel, BorderLayout.CENTER);
 
-        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane = new JTabbedPane();
         tabbedPane.addTab("Summary Table", tableScroll);
         tabbedPane.addTab("Detailed Report", textScroll);
         tabbedPane.addTab("Charts", chartsPanel);
+        tabbedPane.addChangeListener(e -> refreshCharts());
 
         add(topPanel, BorderLayout.NORTH);
         add(tabbedPane, BorderLayout.CENTER);
+        add(statusPanel, BorderLayout.SOUTH);
+    }
+
+    private JSpinner createDateSpinner(LocalDate day) {
+        JSpinner spinner = new JSpinner(new SpinnerDateModel(toDate(day), null, null, Calendar.DAY_OF_MONTH));
+        spinner.setEditor(new JSpinner.DateEditor(spinner, "yyyy-MM-dd"));
+        return spinner;
+    }
+
+    private void showCustomRange(boolean visible) {
+        fromLabel.setVisible(visible);
+        fromSpinner.setVisible(visible);
+        toLabel.setVisible(visible);
+        toSpinner.setVisible(visible);
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDate toLocalDate(Object date) {
+        return ((Date) date).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * The window selected in the Time Range box, from the date pickers for
+     * a custom range.
+     */
+    private ReportWindow selectedWindow() {
+        String range = (String) timeRangeCombo.getSelectedItem();
+        if (ReportWindow.CUSTOM.equals(range)) {
+            return ReportWindow.custom(toLocalDate(fromSpinner.getValue()), toLocalDate(toSpinner.getValue()));
+        }
+        return ReportWindow.of(range, LocalDate.now());
     }
 
     private JPanel createChartsPanel() {
         JPanel panel = new JPanel(new GridLayout(2, 2, 10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
-        // Chart placeholders (in real implementation, use JFreeChart or similar)
-        panel.add(createChartPanel("Revenue Trend", "📈"));
-        panel.add(createChartPanel("Vehicle Utilization", "🚗"));
-        panel.add(createChartPanel("Trip Distribution", "🛣️"));
-        panel.add(createChartPanel("Maintenance Status", "🔧"));
+        revenueChart = new ChartPanel();
+        vehicleChart = new ChartPanel();
+        tripChart = new ChartPanel();
+        maintenanceChart = new ChartPanel();
+        panel.add(createChartPanel("Revenue Trend", revenueChart));
+        panel.add(createChartPanel("Vehicle Utilization (top 10)", vehicleChart));
+        panel.add(createChartPanel("Trip Distribution", tripChart));
+        panel.add(createChartPanel("Maintenance Status", maintenanceChart));
 
         return panel;
     }
 
-    private JPanel createChartPanel(String title, String icon) {
+    private JPanel createChartPanel(String title, ChartPanel chart) {
         JPanel chartPanel = new JPanel(new BorderLayout());
         chartPanel.setBorder(BorderFactory.createCompoundBorder(
             BorderFactory.createTitledBorder(title),
             BorderFactory.createEmptyBorder(10, 10, 10, 10)
         ));
         chartPanel.setBackground(Color.WHITE);
+        chartPanel.add(chart, BorderLayout.CENTER);
+        return chartPanel;
+    }
 
-        JLabel chartLabel = new JLabel(icon, SwingConstants.CENTER);
-        chartLabel.setFont(new Font("Arial", Font.PLAIN, 48));
-        chartLabel.setOpaque(true);
-        chartLabel.setBackground(Color.LIGHT_GRAY);
-        chartLabel.setPreferredSize(new Dimension(200, 150));
+    /**
+     * Loads the charts for the selected window on the report worker if the
+     * Charts tab is showing and the window or the data changed since the
+     * charts were last loaded. The charts render themselves off the EDT.
+     */
+    private void refreshCharts() {
+        if (tabbedPane == null || tabbedPane.getSelectedComponent() != chartsPanel) {
+            return;
+        }
+        ReportWindow window;
+        try {
+            window = selectedWindow();
+        } catch (IllegalArgumentException e) {
+            statusLabel.setText("❌ " + e.getMessage());
+            return;
+        }
+        String key = cacheKey("Charts", window, DataVersion.current());
+        if (key.equals(chartsKey)) {
+            return;
+        }
+        chartsKey = key;
+        worker.submit(() -> {
+            try {
+                Chart[] charts = loadCharts(window);
+                SwingUtilities.invokeLater(() -> {
+                    if (key.equals(chartsKey)) {
+                        revenueChart.setChart(charts[0]);
+                        vehicleChart.setChart(charts[1]);
+                        tripChart.setChart(charts[2]);
+                        maintenanceChart.setChart(charts[3]);
+                    }
+                });
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (key.equals(chartsKey)) {
+                        chartsKey = null;
+                        statusLabel.setText("❌ Charts failed: " + e.getMessage());
+                    }
+                });
+            }
+        });
+    }
 
-        JLabel descLabel = new JLabel("Chart visualization for " + title, SwingConstants.CENTER);
-        
-        chartPanel.add(chartLabel, BorderLayout.CENTER);
-        chartPanel.add(descLabel, BorderLayout.SOUTH);
+    private Chart[] loadCharts(ReportWindow window) throws SQLException {
+        // Revenue per day from the rollup; a long window is downsampled when drawn
+        Chart revenue = DatabaseConnection.read(REVENUE_BY_DAY_QUERY, pstmt -> window.bind(pstmt, 1), rs -> {
+            List<String> days = new ArrayList<>();
+            List<Double> epochDays = new ArrayList<>();
+            List<Double> amounts = new ArrayList<>();
+            while (rs.next()) {
+                String day = rs.getString("period");
+                try {
+                    epochDays.add((double) LocalDate.parse(day).toEpochDay());
+                } catch (DateTimeParseException e) {
+                    // Not a yyyy-MM-dd date, so it has no place on the time axis
+                    continue;
+                }
+                days.add(day);
+                amounts.add(rs.getDouble("revenue"));
+            }
+            return new LineChart("$%,.2f", days.toArray(new String[0]), toArray(epochDays), toArray(amounts));
+        });
+        Chart vehicles = DatabaseConnection.read(TOP_VEHICLES_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> barChart(rs, "%,.0f trips"));
+        Chart trips = DatabaseConnection.read(TRIPS_BY_STATUS_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> barChart(rs, "%,.0f trips"));
+        Chart maintenance = DatabaseConnection.read(MAINTENANCE_BY_STATUS_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> barChart(rs, "%,.0f jobs"));
+        return new Chart[]{revenue, vehicles, trips, maintenance};
+    }
 
-        return chartPanel;
+    // Category in the first column, value in the second
+    private static BarChart barChart(ResultSet rs, String valueFormat) throws SQLException {
+        List<String> categories = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        while (rs.next()) {
+            categories.add(rs.getString(1));
+            values.add(rs.getDouble(2));
+        }
+        return new BarChart(valueFormat, categories.toArray(new String[0]), toArray(values));
     }
 
+    private static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Shows the selected report from the cache, or starts generating it on
+     * the report worker.
+     */
     private void generateReport() {
         String reportType = (String) reportTypeCombo.getSelectedItem();
-        String timeRange = (String) timeRangeCombo.getSelectedItem();
-        
-        reportTableModel.setRowCount(0);
-        reportArea.setText("");
-
+        ReportWindow window;
         try {
-            switch (reportType) {
-                case "Revenue Report":
-                    generateRevenueReport(timeRange);
-                    break;
-                case "Trips Summary":
-                    generateTripsReport(timeRange);
-                    break;
-                case "Vehicle Utilization":
-                    generateVehicleReport(timeRange);
-                    break;
-                case "Driver Performance":
-                    generateDriverReport(timeRange);
-                    break;
-                case "Maintenance History":
-                    generateMaintenanceReport(timeRange);
-                    break;
-                case "Ticket Sales":
-                    generateTicketReport(timeRange);
-                    break;
+            window = selectedWindow();
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage());
+            return;
+        }
+        refreshCharts();
+        // Taken before the queries run: a write during them files the result
+        // under a version that is already stale
+        String key = cacheKey(reportType, window, DataVersion.current());
+        cancelReport();
+        ReportResult cached = cache.get(key);
+        if (cached != null) {
+            showResult(cached, "(cached)");
+            return;
+        }
+        
+        CancelToken job = new CancelToken();
+        long started = System.currentTimeMillis();
+        runningJob = job;
+        runningType = reportType;
+        jobStarted = started;
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(true);
+        cancelBtn.setVisible(true);
+        updateProgress();
+        progressTimer.start();
+
+        worker.submit(() -> {
+            try {
+                ReportResult result = buildReport(reportType, window, job);
+                long elapsed = System.currentTimeMillis() - started;
+                SwingUtilities.invokeLater(() -> {
+                    cache.put(key, result);
+                    if (runningJob == job) {
+                        finishJob();
+                        showResult(result, "in " + elapsed + "ms");
+                    }
+                });
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> {
+                    // A cancelled job was already taken off the screen by cancelReport()
+                    if (runningJob != job) {
+                        return;
+                    }
+                    finishJob();
+                    statusLabel.setText("❌ " + reportType + " failed");
+                    JOptionPane.showMessageDialog(this, "Error generating report: " + e.getMessage());
+                });
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error generating report: " + e.getMessage());
+        });
+    }
+
+    private ReportResult buildReport(String reportType, ReportWindow window, CancelToken cancel) throws SQLException {
+        ReportResult result = new ReportResult(reportType);
+        switch (reportType) {
+            case "Revenue Report":
+                generateRevenueReport(window, result, cancel);
+                break;
+            case "Trips Summary":
+                generateTripsReport(window, result, cancel);
+                break;
+            case "Vehicle Utilization":
+                generateVehicleReport(window, result, cancel);
+                break;
+            case "Driver Performance":
+                generateDriverReport(window, result, cancel);
+                break;
+            case "Maintenance History":
+                generateMaintenanceReport(window, result, cancel);
+                break;
+            case "Ticket Sales":
+                generateTicketReport(window, result, cancel);
+                break;
         }
+        return result;
     }
 
-    private void generateRevenueReport(String timeRange) throws SQLException {
-        String sql = "SELECT strftime('%Y-%m', date) as month, SUM(total_amount) as revenue " +
-                    "FROM trips WHERE date >= date('now', '-6 months') " +
-                    "GROUP BY strftime('%Y-%m', date) ORDER BY month";
-        
-        ResultSet rs = DatabaseConnection.executeQuery(sql);
-        double totalRevenue = 0;
-        
-        reportArea.append("=== REVENUE REPORT ===\n");
-        reportArea.append("Generated on: " + new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date()) + "\n\n");
+    private static String cacheKey(String reportType, ReportWindow window, long dataVersion) {
+        return reportType + "|" + window.getStart() + "|" + window.getEnd() + "|" + dataVersion;
+    }
+
+    /**
+     * Cancels the report in flight, interrupting its query, and drops
+     * whatever it still delivers. Must be called on the EDT.
+     */
+    private void cancelReport() {
+        if (runningJob != null) {
+            runningJob.cancel();
+            statusLabel.setText("⏹️ " + runningType + " cancelled");
+            finishJob();
+        }
+    }
+
+    private void showCachedReport() {
+        if (runningJob != null || ReportWindow.CUSTOM.equals(timeRangeCombo.getSelectedItem())) {
+            return;
+        }
+        String reportType = (String) reportTypeCombo.getSelectedItem();
+        ReportWindow window = ReportWindow.of((String) timeRangeCombo.getSelectedItem(), LocalDate.now());
+        ReportResult cached = cache.get(cacheKey(reportType, window, DataVersion.current()));
+        if (cached != null) {
+            showResult(cached, "(cached)");
+        }
+    }
+
+    private void finishJob() {
+        runningJob = null;
+        runningType = null;
+        progressTimer.stop();
+        progressBar.setVisible(false);
+        cancelBtn.setVisible(false);
+    }
+
+    private void updateProgress() {
+        long seconds = (System.currentTimeMillis() - jobStarted) / 1000;
+        progressBar.setString("Generating " + runningType + "... " + seconds + "s");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void showResult(ReportResult result, String source) {
+        // Replace the data vector directly so the table sees one change event, not one per row
+        Vector data = reportTableModel.getDataVector();
+        data.clear();
+        for (Object[] row : result.rows) {
+            data.add(new Vector<>(Arrays.asList(row)));
+        }
+        reportTableModel.fireTableDataChanged();
+        reportArea.setText(result.text.toString());
+        reportArea.setCaretPosition(0);
+        statusLabel.setText("✅ " + result.reportType + ": " + result.rows.size() + " rows " + source);
+    }
+
+    private void generateRevenueReport(ReportWindow window, ReportResult result, CancelToken cancel) throws SQLException {
+        boolean byMonth = window.isWholeMonths();
+        String query = byMonth ? REVENUE_BY_MONTH_QUERY : REVENUE_BY_DAY_QUERY;
         
-        while (rs.next()) {
-            String month = rs.getString("month");
-            double revenue = rs.getDouble("revenue");
-            totalRevenue += revenue;
+        DatabaseConnection.read(query, pstmt -> {
+            if (byMonth) {
+                window.bindMonths(pstmt, 1);
+            } else {
+                window.bind(pstmt, 1);
+            }
+        }, rs -> {
+            double totalRevenue = 0;
             
-            reportTableModel.addRow(new Object[]{
-                month, 
-                String.format("$%.2f", revenue),
-                "100%",
-                "↗️"
-            });
+            result.append("=== REVENUE REPORT ===\n");
+            result.append("Period: " + window + "\n");
+            result.append("Generated on: " + new SimpleDateFormat("yyyy-MM-dd HH:mm").format(new Date()) + "\n\n");
             
-            reportArea.append(String.format("%s: $%.2f\n", month, revenue));
-        }
-        
-        reportArea.append("\nTotal Revenue (6 months): $" + String.format("%.2f", totalRevenue) + "\n");
-        rs.getStatement().close();
+            while (rs.next()) {
+                String period = rs.getString("period");
+                double revenue = rs.getDouble("revenue");
+                totalRevenue += revenue;
+                
+                result.addRow(new Object[]{
+                    period, 
+                    String.format("$%.2f", revenue),
+                    "100%",
+                    "↗️"
+                });
+                
+                result.append(String.format("%s: $%.2f\n", period, revenue));
+            }
+            
+            result.append("\nTotal Revenue: $" + String.format("%.2f", totalRevenue) + "\n");
+            return null;
+        }, cancel);
     }
 
-    private void generateTripsReport(String timeRange) throws SQLException {
-        String sql = "SELECT status, COUNT(*) as count FROM trips GROUP BY status";
-        
-        ResultSet rs = DatabaseConnection.executeQuery(sql);
-        int totalTrips = 0;
-        
-        reportArea.append("=== TRIPS SUMMARY REPORT ===\n\n");
-        
-        while (rs.next()) {
-            String status = rs.getString("status");
-            int count = rs.getInt("count");
-            totalTrips += count;
+    private void generateTripsReport(ReportWindow window, ReportResult result, CancelToken cancel) throws SQLException {
+        DatabaseConnection.read(TRIPS_BY_STATUS_QUERY, pstmt -> window.bind(pstmt, 1), rs -> {
+            int totalTrips = 0;
             
-            double percentage = totalTrips > 0 ? (count * 100.0 / totalTrips) : 0;
-            reportTableModel.addRow(new Object[]{
-                status,
-                count + " trips",
-                String.format("%.1f%%", percentage),
-                "📊"
-            });
+            result.append("=== TRIPS SUMMARY REPORT ===\n");
+            result.append("Period: " + window + "\n\n");
             
-            reportArea.append(String.format("%s: %d trips\n", status, count));
-        }
-        
-        reportArea.append("\nTotal Trips: " + totalTrips + "\n");
-        rs.getStatement().close();
+            while (rs.next()) {
+                String status = rs.getString("status");
+                int count = rs.getInt("count");
+                totalTrips += count;
+                
+                double percentage = totalTrips > 0 ? (count * 100.0 / totalTrips) : 0;
+                result.addRow(new Object[]{
+                    status,
+                    count + " trips",
+                    String.format("%.1f%%", percentage),
+                    "📊"
+                });
+                
+                result.append(String.format("%s: %d trips\n", status, count));
+            }
+            
+            result.append("\nTotal Trips: " + totalTrips + "\n");
+            return null;
+        }, cancel);
     }
 
-    private void generateVehicleReport(String timeRange) throws SQLException {
-        String sql = "SELECT v.name, v.status, COUNT(t.trip_id) as trip_count " +
-                    "FROM vehicles v LEFT JOIN trips t ON v.vehicle_id = t.vehicle_id " +
-                    "GROUP BY v.vehicle_id, v.name, v.status";
-        
-        ResultSet rs = DatabaseConnection.executeQuery(sql);
-        
-        reportArea.append("=== VEHICLE UTILIZATION REPORT ===\n\n");
-        
-        while (rs.next()) {
-            String vehicle = rs.getString("name");
-            String status = rs.getString("status");
-            int tripCount = rs.getInt("trip_count");
+    private void generateVehicleReport(ReportWindow window, ReportResult result, CancelToken cancel) throws SQLException {
+        DatabaseConnection.read(VEHICLE_UTILIZATION_QUERY, pstmt -> window.bind(pstmt, 1), rs -> {
             
-            reportTableModel.addRow(new Object[]{
-                vehicle,
-                status + " (" + tripCount + " trips)",
-                "N/A",
-                getTrendIcon(tripCount)
-            });
+            result.append("=== VEHICLE UTILIZATION REPORT ===\n");
+            result.append("Period: " + window + "\n\n");
             
-            reportArea.append(String.format("%s: %s - %d trips\n", vehicle, status, tripCount));
-        }
-        
-        rs.getStatement().close();
+            while (rs.next()) {
+                String vehicle = rs.getString("name");
+                String status = rs.getString("status");
+                int tripCount = rs.getInt("trip_count");
+                
+                result.addRow(new Object[]{
+                    vehicle,
+                    status + " (" + tripCount + " trips)",
+                    "N/A",
+                    getTrendIcon(tripCount)
+                });
+                
+                result.append(String.format("%s: %s - %d trips\n", vehicle, status, tripCount));
+            }
+            
+            return null;
+        }, cancel);
     }
 
-    private void generateDriverReport(String timeRange) throws SQLException {
-        String sql = "SELECT d.full_name, d.status, COUNT(t.trip_id) as trip_count, " +
-                    "COALESCE(SUM(t.total_amount), 0) as total_revenue " +
-                    "FROM drivers d LEFT JOIN trips t ON d.driver_id = t.driver_id " +
-                    "GROUP BY d.driver_id, d.full_name, d.status " +
-                    "ORDER BY total_revenue DESC";
-        
-        ResultSet rs = DatabaseConnection.executeQuery(sql);
-        
-        reportArea.append("=== DRIVER PERFORMANCE REPORT ===\n\n");
-        
-        while (rs.next()) {
-            String driver = rs.getString("full_name");
-            String status = rs.getString("status");
-            int tripCount = rs.getInt("trip_count");
-            double revenue = rs.getDouble("total_revenue");
+    private void generateDriverReport(ReportWindow window, ReportResult result, CancelToken cancel) throws SQLException {
+        DatabaseConnection.read(DRIVER_PERFORMANCE_QUERY, pstmt -> window.bind(pstmt, 1), rs -> {
             
-            reportTableModel.addRow(new Object[]{
-                driver,
-                String.format("%d trips, $%.2f", tripCount, revenue),
-                status,
-                getTrendIcon(tripCount)
-            });
+            result.append("=== DRIVER PERFORMANCE REPORT ===\n");
+            result.append("Period: " + window + "\n\n");
             
-            reportArea.append(String.format("%s: %d trips, $%.2f revenue\n", driver, tripCount, revenue));
-        }
-        
-        rs.getStatement().close();
+            while (rs.next()) {
+                String driver = rs.getString("full_name");
+                String status = rs.getString("status");
+                int tripCount = rs.getInt("trip_count");
+                double revenue = rs.getDouble("total_revenue");
+                
+                result.addRow(new Object[]{
+                    driver,
+                    String.format("%d trips, $%.2f", tripCount, revenue),
+                    status,
+                    getTrendIcon(tripCount)
+                });
+                
+                result.append(String.format("%s: %d trips, $%.2f revenue\n", driver, tripCount, revenue));
+            }
+            
+            return null;
+        }, cancel);
     }
 
-    private void generateMaintenanceReport(String timeRange) throws SQLException {
-        String sql = "SELECT m.reference_id, m.description, m.status, m.cost, v.name as vehicle_name " +
-                    "FROM maintenance m JOIN vehicles v ON m.vehicle_id = v.vehicle_id " +
-                    "ORDER BY m.maintenance_date DESC LIMIT 10";
-        
-        ResultSet rs = DatabaseConnection.executeQuery(sql);
-        
-        reportArea.append("=== MAINTENANCE HISTORY REPORT ===\n\n");
-        
-        while (rs.next()) {
-            String reference = rs.getString("reference_id");
-            String description = rs.getString("description");
-            String status = rs.getString("status");
-            double cost = rs.getDouble("cost");
-            String vehicle = rs.getString("vehicle_name");
+    private void generateMaintenanceReport(ReportWindow window, ReportResult result, CancelToken cancel) throws SQLException {
+        DatabaseConnection.read(MAINTENANCE_HISTORY_QUERY, pstmt -> window.bind(pstmt, 1), rs -> {
             
-            reportTableModel.addRow(new Object[]{
-                reference,
-                description + " (" + vehicle + ")",
-                String.format("$%.2f - %s", cost, status),
-                getMaintenanceIcon(status)
-            });
+            result.append("=== MAINTENANCE HISTORY REPORT ===\n");
+            result.append("Period: " + window + "\n\n");
             
-            reportArea.append(String.format("%s: %s - $%.2f - %s\n", reference, description, cost, status));
-        }
-        
-        rs.getStatement().close();
+            while (rs.next()) {
+                String reference = rs.getString("reference_id");
+                String description = rs.getString("description");
+                String status = rs.getString("status");
+                double cost = rs.getDouble("cost");
+                String vehicle = rs.getString("vehicle_name");
+                
+                result.addRow(new Object[]{
+                    reference,
+                    description + " (" + vehicle + ")",
+                    String.format("$%.2f - %s", cost, status),
+                    getMaintenanceIcon(status)
+                });
+                
+                result.append(String.format("%s: %s - $%.2f - %s\n", reference, description, cost, status));
+            }
+            
+            return null;
+        }, cancel);
     }
 
-    private void generateTicketReport(String timeRange) throws SQLException {
-        String sql = "SELECT status, COUNT(*) as count, SUM(price) as total_revenue " +
-                    "FROM tickets GROUP BY status";
-        
-        ResultSet rs = DatabaseConnection.executeQuery(sql);
-        double totalRevenue = 0;
-        int totalTickets = 0;
-        
-        reportArea.append("=== TICKET SALES REPORT ===\n\n");
-        
-        while (rs.next()) {
-            String status = rs.getString("status");
-            int count = rs.getInt("count");
-            double revenue = rs.getDouble("total_revenue");
-            totalRevenue += revenue;
-            totalTickets += count;
+    private void generateTicketReport(ReportWindow window, ReportResult result, CancelToken cancel) throws SQLException {
+        String query = window.isAllTime() ? ALL_TICKET_SALES_QUERY : TICKET_SALES_QUERY;
+        DatabaseConnection.read(query, pstmt -> {
+            if (!window.isAllTime()) {
+                window.bind(pstmt, 1);
+            }
+        }, rs -> {
+            double totalRevenue = 0;
+            int totalTickets = 0;
+            
+            result.append("=== TICKET SALES REPORT ===\n");
+            result.append("Period: " + window + "\n\n");
             
-            double percentage = totalTickets > 0 ? (count * 100.0 / totalTickets) : 0;
-            reportTableModel.addRow(new Object[]{
-                status,
-                count + " tickets",
-                String.format("$%.2f (%.1f%%)", revenue, percentage),
-                "🎫"
-            });
+            while (rs.next()) {
+                String status = rs.getString("status");
+                int count = rs.getInt("count");
+                double revenue = rs.getDouble("total_revenue");
+                totalRevenue += revenue;
+                totalTickets += count;
+                
+                double percentage = totalTickets > 0 ? (count * 100.0 / totalTickets) : 0;
+                result.addRow(new Object[]{
+                    status,
+                    count + " tickets",
+                    String.format("$%.2f (%.1f%%)", revenue, percentage),
+                    "🎫"
+                });
+                
+                result.append(String.format("%s: %d tickets, $%.2f revenue\n", status, count, revenue));
+            }
             
-            reportArea.append(String.format("%s: %d tickets, $%.2f revenue\n", status, count, revenue));
+            result.append(String.format("\nTotal: %d tickets, $%.2f revenue\n", totalTickets, totalRevenue));
+            return null;
+        }, cancel);
+    }
+
+    /**
+     * Rows and detailed text of one report. Filled on the report worker,
+     * then only read on the EDT.
+     */
+    private static final class ReportResult {
+        private final String reportType;
+        private final List<Object[]> rows = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        ReportResult(String reportType) {
+            this.reportType = reportType;
+        }
+
+        void addRow(Object[] row) {
+            rows.add(row);
+        }
+
+        void append(String line) {
+            text.append(line);
         }
-        
-        reportArea.append(String.format("\nTotal: %d tickets, $%.2f revenue\n", totalTickets, totalRevenue));
-        rs.getStatement().close();
     }
 
     private String getTrendIcon(int value) {
@@ -363,26 +744,21 @@ public class ReportsPanel extends JPanel {
         fileChooser.setDialogTitle("Export Report as CSV");
         
         if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try (FileWriter writer = new FileWriter(fileChooser.getSelectedFile() + ".csv")) {
+            try (CsvWriter writer = new CsvWriter(Files.newBufferedWriter(
+                    Paths.get(fileChooser.getSelectedFile() + ".csv"), StandardCharsets.UTF_8))) {
                 // Write headers
                 for (int i = 0; i < reportTableModel.getColumnCount(); i++) {
-                    writer.write(reportTableModel.getColumnName(i));
-                    if (i < reportTableModel.getColumnCount() - 1) {
-                        writer.write(",");
-                    }
+                    writer.writeField(reportTableModel.getColumnName(i));
                 }
-                writer.write("\n");
+                writer.endRecord();
                 
                 // Write data
                 for (int row = 0; row < reportTableModel.getRowCount(); row++) {
                     for (int col = 0; col < reportTableModel.getColumnCount(); col++) {
                         Object value = reportTableModel.getValueAt(row, col);
-                        writer.write(value != null ? value.toString().replace(",", ";") : "");
-                        if (col < reportTableModel.getColumnCount() - 1) {
-                            writer.write(",");
-                        }
+                        writer.writeField(value != null ? value.toString() : "");
                     }
-                    writer.write("\n");
+                    writer.endRecord();
                 }
                 
                 JOptionPane.showMessageDialog(this, "Report exported successfully!");
@@ -392,6 +768,72 @@ public class ReportsPanel extends JPanel {
         }
     }
 
+    private void exportData() {
+        JComboBox<String> tableCombo = new JComboBox<>(DataExporter.TABLES);
+        JComboBox<DataExporter.Format> formatCombo = new JComboBox<>(DataExporter.Format.values());
+        JTextField yearField = new JTextField(6);
+        JCheckBox gzipCheck = new JCheckBox("Compress (gzip)");
+        
+        JPanel optionsPanel = new JPanel(new GridLayout(4, 2, 5, 5));
+        optionsPanel.add(new JLabel("Table:"));
+        optionsPanel.add(tableCombo);
+        optionsPanel.add(new JLabel("Format:"));
+        optionsPanel.add(formatCombo);
+        optionsPanel.add(new JLabel("Year (optional):"));
+        optionsPanel.add(yearField);
+        optionsPanel.add(new JLabel());
+        optionsPanel.add(gzipCheck);
+        
+        if (JOptionPane.showConfirmDialog(this, optionsPanel, "Export Data",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        
+        String table = (String) tableCombo.getSelectedItem();
+        DataExporter.Format format = (DataExporter.Format) formatCombo.getSelectedItem();
+        boolean gzip = gzipCheck.isSelected();
+        Integer year = null;
+        if (!yearField.getText().trim().isEmpty()) {
+            try {
+                year = Integer.valueOf(yearField.getText().trim());
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(this, "Year must be a number, e.g. 2025");
+                return;
+            }
+            if (!DataExporter.supportsYearFilter(table)) {
+                JOptionPane.showMessageDialog(this, "The " + table + " table has no date column; exporting all rows.");
+                year = null;
+            }
+        }
+        
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export " + table);
+        String extension = (format == DataExporter.Format.CSV ? ".csv" : ".json") + (gzip ? ".gz" : "");
+        fileChooser.setSelectedFile(new File(table + (year != null ? "-" + year : "") + extension));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = fileChooser.getSelectedFile();
+        Integer exportYear = year;
+        
+        exportDataBtn.setEnabled(false);
+        // Large tables take a while; stream them on a background thread
+        Thread exportThread = new Thread(() -> {
+            try {
+                long rows = DataExporter.exportTable(table, exportYear, file, format, gzip);
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Exported " + rows + " rows to " + file.getAbsolutePath()));
+            } catch (IOException | SQLException e) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Error exporting " + table + ": " + e.getMessage()));
+            } finally {
+                SwingUtilities.invokeLater(() -> exportDataBtn.setEnabled(true));
+            }
+        }, "data-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+
     private void printReport() {
         try {
             reportTable.print();
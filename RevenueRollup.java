@@ -0,0 +1,295 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revenue rollups: trip count, trip revenue, ticket count and ticket revenue
+ * per day x route x vehicle (revenue_daily) and per month (revenue_monthly).
+ * Triggers on trips and tickets keep both tables current on every write
+ * (see migration 6), so revenue reports read a few rows per month instead
+ * of aggregating every trip. Trips without a route are filed under route 0,
+ * and tickets follow the day, route and vehicle of their trip.
+ *
+ * The rows that existed before migration 6 are filled in by {@link #BACKFILL},
+ * a few days per writer transaction, while the app runs; until it is done
+ * the reports miss the days it has not reached yet.
+ *
+ * {@link #rebuild(Connection)} recomputes both tables from scratch to
+ * repair drift, {@link #reset(Connection)} has the backfill refill them
+ * after loads that bypass the triggers (e.g. {@link FleetDataGenerator}), and {@link #check()} compares them with a fresh
+ * aggregation. Can also be run from the command line:
+ * java com.transport.RevenueRollup [--check]
+ */
+public class RevenueRollup {
+    static final String REBUILD_DAILY =
+        "INSERT INTO revenue_daily (day, route_id, vehicle_id, trip_count, revenue, ticket_count, ticket_revenue) " +
+        "SELECT day, route_id, vehicle_id, SUM(trip_count), SUM(revenue), SUM(ticket_count), SUM(ticket_revenue) " +
+        "FROM (" +
+        "SELECT substr(date, 1, 10) AS day, COALESCE(route_id, 0) AS route_id, vehicle_id, " +
+        "1 AS trip_count, COALESCE(total_amount, 0) AS revenue, 0 AS ticket_count, 0 AS ticket_revenue FROM trips " +
+        "UNION ALL " +
+        "SELECT substr(t.date, 1, 10), COALESCE(t.route_id, 0), t.vehicle_id, 0, 0, 1, COALESCE(k.price, 0) " +
+        "FROM tickets k JOIN trips t ON t.trip_id = k.trip_id" +
+        ") GROUP BY day, route_id, vehicle_id";
+    static final String REBUILD_MONTHLY =
+        "INSERT INTO revenue_monthly (month, trip_count, revenue, ticket_count, ticket_revenue) " +
+        "SELECT substr(day, 1, 7), SUM(trip_count), SUM(revenue), SUM(ticket_count), SUM(ticket_revenue) " +
+        "FROM revenue_daily GROUP BY substr(day, 1, 7)";
+
+    // Same as the rebuild, for the days from ? (inclusive) to ? (exclusive)
+    private static final String FILL_DAILY =
+        "INSERT INTO revenue_daily (day, route_id, vehicle_id, trip_count, revenue, ticket_count, ticket_revenue) " +
+        "SELECT day, route_id, vehicle_id, SUM(trip_count), SUM(revenue), SUM(ticket_count), SUM(ticket_revenue) " +
+        "FROM (" +
+        "SELECT substr(date, 1, 10) AS day, COALESCE(route_id, 0) AS route_id, vehicle_id, " +
+        "1 AS trip_count, COALESCE(total_amount, 0) AS revenue, 0 AS ticket_count, 0 AS ticket_revenue FROM trips " +
+        "WHERE date >= ?1 AND date < ?2 " +
+        "UNION ALL " +
+        "SELECT substr(t.date, 1, 10), COALESCE(t.route_id, 0), t.vehicle_id, 0, 0, 1, COALESCE(k.price, 0) " +
+        "FROM trips t JOIN tickets k ON k.trip_id = t.trip_id WHERE t.date >= ?1 AND t.date < ?2" +
+        ") GROUP BY day, route_id, vehicle_id";
+    // Adds the days just filled to their months, which may already hold later days from the triggers
+    private static final String FILL_MONTHLY =
+        "INSERT INTO revenue_monthly (month, trip_count, revenue, ticket_count, ticket_revenue) " +
+        "SELECT substr(day, 1, 7), SUM(trip_count), SUM(revenue), SUM(ticket_count), SUM(ticket_revenue) " +
+        "FROM revenue_daily WHERE day >= ?1 AND day < ?2 GROUP BY substr(day, 1, 7) " +
+        "ON CONFLICT (month) DO UPDATE SET " +
+        "trip_count = trip_count + excluded.trip_count, revenue = revenue + excluded.revenue, " +
+        "ticket_count = ticket_count + excluded.ticket_count, ticket_revenue = ticket_revenue + excluded.ticket_revenue";
+
+    // Buckets whose rollup differs from a fresh aggregation, among the days the backfill has filled
+    private static final String CHECK_DAILY =
+        "SELECT COALESCE(a.day, d.day), COALESCE(a.route_id, d.route_id), COALESCE(a.vehicle_id, d.vehicle_id) " +
+        "FROM (" +
+        "SELECT day, route_id, vehicle_id, SUM(trip_count) AS trip_count, SUM(revenue) AS revenue, " +
+        "SUM(ticket_count) AS ticket_count, SUM(ticket_revenue) AS ticket_revenue FROM (" +
+        "SELECT substr(date, 1, 10) AS day, COALESCE(route_id, 0) AS route_id, vehicle_id, " +
+        "1 AS trip_count, COALESCE(total_amount, 0) AS revenue, 0 AS ticket_count, 0 AS ticket_revenue FROM trips " +
+        "UNION ALL " +
+        "SELECT substr(t.date, 1, 10), COALESCE(t.route_id, 0), t.vehicle_id, 0, 0, 1, COALESCE(k.price, 0) " +
+        "FROM tickets k JOIN trips t ON t.trip_id = k.trip_id" +
+        ") WHERE NOT EXISTS (SELECT 1 FROM revenue_backfill WHERE next_day <= day) " +
+        "GROUP BY day, route_id, vehicle_id" +
+        ") a FULL JOIN revenue_daily d " +
+        "ON d.day = a.day AND d.route_id = a.route_id AND d.vehicle_id = a.vehicle_id " +
+        "WHERE COALESCE(d.trip_count, 0) != COALESCE(a.trip_count, 0) " +
+        "OR COALESCE(d.ticket_count, 0) != COALESCE(a.ticket_count, 0) " +
+        "OR ABS(COALESCE(d.revenue, 0) - COALESCE(a.revenue, 0)) > 0.005 " +
+        "OR ABS(COALESCE(d.ticket_revenue, 0) - COALESCE(a.ticket_revenue, 0)) > 0.005 " +
+        "ORDER BY 1, 2, 3";
+    // Months whose total differs from the sum of their days
+    private static final String CHECK_MONTHLY =
+        "SELECT COALESCE(m.month, d.month) FROM revenue_monthly m FULL JOIN (" +
+        "SELECT substr(day, 1, 7) AS month, SUM(trip_count) AS trip_count, SUM(revenue) AS revenue, " +
+        "SUM(ticket_count) AS ticket_count, SUM(ticket_revenue) AS ticket_revenue " +
+        "FROM revenue_daily GROUP BY substr(day, 1, 7)" +
+        ") d ON d.month = m.month " +
+        "WHERE COALESCE(m.trip_count, 0) != COALESCE(d.trip_count, 0) " +
+        "OR COALESCE(m.ticket_count, 0) != COALESCE(d.ticket_count, 0) " +
+        "OR ABS(COALESCE(m.revenue, 0) - COALESCE(d.revenue, 0)) > 0.005 " +
+        "OR ABS(COALESCE(m.ticket_revenue, 0) - COALESCE(d.ticket_revenue, 0)) > 0.005 " +
+        "ORDER BY 1";
+    private static final int CHECK_REPORT_LIMIT = 10;
+    private static final int BACKFILL_DAYS = 3;
+    // Sorts after every string that starts with the text it is appended to
+    private static final String AFTER_PREFIX = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+    /**
+     * Fills in the rollups of the trips and tickets that existed when
+     * migration 6 ran, BACKFILL_DAYS days per batch.
+     */
+    public static final Migration.Backfill BACKFILL =
+        new Migration.Backfill("revenue rollups", "revenue-rollup-fill-days", RevenueRollup::fillDays, BACKFILL_DAYS);
+
+    private RevenueRollup() {
+    }
+
+    /**
+     * Recomputes both rollup tables on the writer connection, so app writes
+     * wait for it rather than interleave. Returns the number of daily rows.
+     */
+    public static int rebuild() throws SQLException {
+        int rows = DatabaseConnection.withWriter(RevenueRollup::rebuild);
+        DataVersion.bump();
+        return rows;
+    }
+
+    /**
+     * Recomputes both rollup tables from trips and tickets. Runs in its own
+     * transaction when the connection is in auto-commit mode, otherwise as
+     * part of the caller's. Returns the number of daily rows.
+     */
+    public static int rebuild(Connection conn) throws SQLException {
+        long start = System.currentTimeMillis();
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM revenue_daily");
+            stmt.execute("DELETE FROM revenue_monthly");
+            // The rebuild covers every day, so nothing is left to backfill
+            stmt.execute("DELETE FROM revenue_backfill");
+            stmt.executeUpdate(REBUILD_DAILY);
+            stmt.executeUpdate(REBUILD_MONTHLY);
+            int rows;
+            try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM revenue_daily")) {
+                rows = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (autoCommit) {
+                conn.commit();
+            }
+            System.out.println("✅ Revenue rollups rebuilt: " + rows + " daily rows in " +
+                (System.currentTimeMillis() - start) + "ms");
+            return rows;
+        } catch (SQLException e) {
+            if (autoCommit) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Empties both rollup tables and starts the backfill over from the first
+     * day, in the caller's transaction. For loads that bypass the triggers:
+     * the rollups are then refilled by {@link #BACKFILL} in short batches
+     * instead of one long {@link #rebuild(Connection)}.
+     */
+    public static void reset(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM revenue_daily");
+            stmt.execute("DELETE FROM revenue_monthly");
+            stmt.execute("DELETE FROM revenue_backfill");
+            stmt.execute("INSERT INTO revenue_backfill (next_day) VALUES ('')");
+        }
+    }
+
+    /**
+     * One backfill batch: fills the rollups of the first days with trips
+     * from revenue_backfill.next_day on, in the caller's transaction, and
+     * moves next_day past them. Days from next_day on have no rollup rows
+     * yet because the triggers skip them. A day that is not yyyy-MM-dd (a
+     * date saved in another format) is filled on its own, as written, so it
+     * cannot stop the backfill. Returns the number of daily rows written, 0
+     * once no trips are left and the backfill row is removed.
+     */
+    static int fillDays(Connection conn, int days) throws SQLException {
+        String nextDay;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT next_day FROM revenue_backfill")) {
+            if (!rs.next()) {
+                return 0;
+            }
+            nextDay = rs.getString(1);
+        }
+        String firstDay = null;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT substr(date, 1, 10) FROM trips WHERE date >= ? ORDER BY date LIMIT 1")) {
+            pstmt.setString(1, nextDay);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    firstDay = rs.getString(1);
+                }
+            }
+        }
+        if (firstDay == null) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM revenue_backfill");
+            }
+            return 0;
+        }
+
+        String endDay;
+        try {
+            endDay = DateRanges.dayStart(LocalDate.parse(firstDay).plusDays(days));
+        } catch (DateTimeParseException e) {
+            // Bucketed as written, like the triggers do; the bound covers every date starting with it
+            System.err.println("⚠️ Trip date '" + firstDay + "' is not yyyy-MM-dd, rolled up as written");
+            endDay = firstDay + AFTER_PREFIX;
+        }
+        int rows;
+        try (PreparedStatement pstmt = conn.prepareStatement(FILL_DAILY)) {
+            pstmt.setString(1, firstDay);
+            pstmt.setString(2, endDay);
+            rows = pstmt.executeUpdate();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(FILL_MONTHLY)) {
+            pstmt.setString(1, firstDay);
+            pstmt.setString(2, endDay);
+            pstmt.executeUpdate();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("UPDATE revenue_backfill SET next_day = ?")) {
+            pstmt.setString(1, endDay);
+            pstmt.executeUpdate();
+        }
+        return rows;
+    }
+
+    /**
+     * Compares the rollups with a fresh aggregation of trips and tickets:
+     * every daily bucket the backfill has reached, and every month against
+     * the sum of its days. Prints the first few mismatches and returns how
+     * many there are, 0 if the triggers kept the rollups exact.
+     */
+    public static int check() throws SQLException {
+        long start = System.currentTimeMillis();
+        List<String> mismatches = DatabaseConnection.read(CHECK_DAILY, rs -> {
+            List<String> found = new ArrayList<>();
+            while (rs.next()) {
+                found.add("day " + rs.getString(1) + ", route " + rs.getInt(2) + ", vehicle " + rs.getInt(3));
+            }
+            return found;
+        });
+        mismatches.addAll(DatabaseConnection.read(CHECK_MONTHLY, rs -> {
+            List<String> found = new ArrayList<>();
+            while (rs.next()) {
+                found.add("month " + rs.getString(1));
+            }
+            return found;
+        }));
+        for (int i = 0; i < Math.min(mismatches.size(), CHECK_REPORT_LIMIT); i++) {
+            System.err.println("❌ Revenue rollup differs from trips and tickets: " + mismatches.get(i));
+        }
+        if (mismatches.size() > CHECK_REPORT_LIMIT) {
+            System.err.println("❌ ... and " + (mismatches.size() - CHECK_REPORT_LIMIT) + " more");
+        }
+        if (mismatches.isEmpty()) {
+            System.out.println("✅ Revenue rollups match trips and tickets (" +
+                (System.currentTimeMillis() - start) + "ms)");
+        }
+        return mismatches.size();
+    }
+
+    /**
+     * Number of months in the monthly rollup.
+     */
+    public static int countMonths() throws SQLException {
+        return DatabaseConnection.read("SELECT COUNT(*) FROM revenue_monthly", rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+
+    public static void main(String[] args) {
+        int exitCode = 0;
+        try {
+            if (args.length > 0 && args[0].equals("--check")) {
+                exitCode = check() == 0 ? 0 : 1;
+            } else {
+                rebuild();
+                System.out.println("✅ Revenue rollups cover " + countMonths() + " months");
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Rollup " + (args.length > 0 ? "check" : "rebuild") + " failed: " + e.getMessage());
+            exitCode = 1;
+        }
+        DatabaseConnection.closeConnection();
+        System.exit(exitCode);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.transport;
+
+/**
+ * A row of the routes table. Immutable; an entity that has not been
+ * saved yet has id 0.
+ */
+public final class Route {
+    private final int id;
+    private final String routeName;
+    private final String startPoint;
+    private final String endPoint;
+    private final double distanceKm;
+    private final int estimatedTimeMinutes;
+    private final double farePerKm;
+    private final String status;
+
+    public Route(int id, String routeName, String startPoint, String endPoint, double distanceKm,
+            int estimatedTimeMinutes, double farePerKm, String status) {
+        this.id = id;
+        this.routeName = routeName;
+        this.startPoint = startPoint;
+        this.endPoint = endPoint;
+        this.distanceKm = distanceKm;
+        this.estimatedTimeMinutes = estimatedTimeMinutes;
+        this.farePerKm = farePerKm;
+        this.status = status;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getRouteName() {
+        return routeName;
+    }
+
+    public String getStartPoint() {
+        return startPoint;
+    }
+
+    public String getEndPoint() {
+        return endPoint;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public int getEstimatedTimeMinutes() {
+        return estimatedTimeMinutes;
+    }
+
+    public double getFarePerKm() {
+        return farePerKm;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "Route " + id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * All reads and writes of the routes table. Writes publish the change on
+ * the {@link ChangeFeed} and invalidate the dashboard statistics.
+ */
+public final class RouteDao {
+    // Column order is what map() reads; append WHERE / ORDER BY as needed
+    static final String SELECT =
+        "SELECT route_id, route_name, start_point, end_point, distance_km, estimated_time_minutes, fare_per_km, status " +
+        "FROM routes";
+    private static final String INSERT =
+        "INSERT INTO routes (route_name, start_point, end_point, distance_km, estimated_time_minutes, fare_per_km, " +
+        "status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE routes SET route_name=?, start_point=?, end_point=?, distance_km=?, estimated_time_minutes=?, " +
+        "fare_per_km=?, status=? WHERE route_id=?";
+
+    private RouteDao() {
+    }
+
+    public static Route map(ResultSet rs) throws SQLException {
+        return new Route(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getDouble(5),
+            rs.getInt(6),
+            rs.getDouble(7),
+            rs.getString(8)
+        );
+    }
+
+    public static Route findById(int routeId) throws SQLException {
+        return Dao.findOne(SELECT + " WHERE route_id = ?", pstmt -> pstmt.setInt(1, routeId), RouteDao::map);
+    }
+
+    /**
+     * Names of the routes that can be chosen for a new trip.
+     */
+    public static Map<Integer, String> findActiveNames() throws SQLException {
+        return Dao.labels("SELECT route_id, route_name FROM routes WHERE status = 'Active'");
+    }
+
+    /**
+     * Inserts the route (its id is ignored) and returns the new id.
+     */
+    public static int insert(Route route) throws SQLException {
+        int id = Dao.insert(INSERT, pstmt -> bind(pstmt, route));
+        Dao.changed(ChangeFeed.Entity.ROUTE, ChangeFeed.Kind.INSERTED, id);
+        return id;
+    }
+
+    public static void update(Route route) throws SQLException {
+        Dao.update(UPDATE, pstmt -> {
+            bind(pstmt, route);
+            pstmt.setInt(8, route.getId());
+        });
+        Dao.changed(ChangeFeed.Entity.ROUTE, ChangeFeed.Kind.UPDATED, route.getId());
+    }
+
+    public static void delete(int routeId) throws SQLException {
+        Dao.update("DELETE FROM routes WHERE route_id = ?", pstmt -> pstmt.setInt(1, routeId));
+        Dao.changed(ChangeFeed.Entity.ROUTE, ChangeFeed.Kind.DELETED, routeId);
+    }
+
+    private static void bind(PreparedStatement pstmt, Route route) throws SQLException {
+        pstmt.setString(1, route.getRouteName());
+        pstmt.setString(2, route.getStartPoint());
+        pstmt.setString(3, route.getEndPoint());
+        pstmt.setDouble(4, route.getDistanceKm());
+        pstmt.setInt(5, route.getEstimatedTimeMinutes());
+        pstmt.setDouble(6, route.getFarePerKm());
+        pstmt.setString(7, route.getStatus());
+    }
+}
\ No newline at end of file
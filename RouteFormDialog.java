@@ -2,8 +2,6 @@ package com.transport;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class RouteFormDialog extends JDialog {
@@ -79,22 +77,16 @@ public class RouteFormDialog extends JDialog {
     
     private void loadRouteData() {
         try {
-            String query = "SELECT * FROM routes WHERE route_id = ?";
-            PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, routeId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                routeNameField.setText(rs.getString("route_name"));
-                startPointField.setText(rs.getString("start_point"));
-                endPointField.setText(rs.getString("end_point"));
-                distanceField.setText(String.valueOf(rs.getDouble("distance_km")));
-                timeField.setText(String.valueOf(rs.getInt("estimated_time_minutes")));
-                fareField.setText(String.valueOf(rs.getDouble("fare_per_km")));
-                statusCombo.setSelectedItem(rs.getString("status"));
+            Route route = RouteDao.findById(routeId);
+            if (route != null) {
+                routeNameField.setText(route.getRouteName());
+                startPointField.setText(route.getStartPoint());
+                endPointField.setText(route.getEndPoint());
+                distanceField.setText(String.valueOf(route.getDistanceKm()));
+                timeField.setText(String.valueOf(route.getEstimatedTimeMinutes()));
+                fareField.setText(String.valueOf(route.getFarePerKm()));
+                statusCombo.setSelectedItem(route.getStatus());
             }
-            rs.close();
-            pstmt.close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading route data: " + e.getMessage());
         }
@@ -113,21 +105,19 @@ public class RouteFormDialog extends JDialog {
             int time = timeField.getText().isEmpty() ? 0 : Integer.parseInt(timeField.getText());
             double fare = fareField.getText().isEmpty() ? 0 : Double.parseDouble(fareField.getText());
             
+            Route route = new Route(
+                routeId == null ? 0 : routeId,
+                routeNameField.getText().trim(),
+                startPointField.getText().trim(),
+                endPointField.getText().trim(),
+                distance,
+                time,
+                fare,
+                (String) statusCombo.getSelectedItem()
+            );
+            
             if (routeId == null) {
-                // Insert new route
-                String query = "INSERT INTO routes (route_name, start_point, end_point, distance_km, " +
-                             "estimated_time_minutes, fare_per_km, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, routeNameField.getText().trim());
-                pstmt.setString(2, startPointField.getText().trim());
-                pstmt.setString(3, endPointField.getText().trim());
-                pstmt.setDouble(4, distance);
-                pstmt.setInt(5, time);
-                pstmt.setDouble(6, fare);
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                RouteDao.insert(route);
                 
                 DatabaseConnection.addNotification(
                     "New Route Added",
@@ -137,21 +127,7 @@ public class RouteFormDialog extends JDialog {
                 );
                 
             } else {
-                // Update existing route
-                String query = "UPDATE routes SET route_name=?, start_point=?, end_point=?, distance_km=?, " +
-                             "estimated_time_minutes=?, fare_per_km=?, status=? WHERE route_id=?";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, routeNameField.getText().trim());
-                pstmt.setString(2, startPointField.getText().trim());
-                pstmt.setString(3, endPointField.getText().trim());
-                pstmt.setDouble(4, distance);
-                pstmt.setInt(5, time);
-                pstmt.setDouble(6, fare);
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                pstmt.setInt(8, routeId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                RouteDao.update(route);
             }
             
             success = true;
@@ -0,0 +1,75 @@
+package com.transport;
+
+/**
+ * Thins out long series before they are drawn, so a chart never plots more
+ * points than it has pixels.
+ */
+public class SeriesDownsampler {
+
+    private SeriesDownsampler() {
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the first and last point and, of
+     * every bucket in between, the point forming the largest triangle with
+     * the point kept before it and the average of the next bucket. Peaks and
+     * dips survive, unlike with plain averaging or striding.
+     *
+     * @param xs x values in ascending order
+     * @param ys y values, as many as xs
+     * @param threshold number of points to keep
+     * @return indexes of the kept points, ascending; all of them if the
+     *         series is not longer than the threshold
+     */
+    public static int[] lttb(double[] xs, double[] ys, int threshold) {
+        int n = xs.length;
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        int count = 0;
+        // The first and last points are always kept, the rest share threshold - 2 buckets
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int previous = 0;
+        kept[count++] = previous;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket (or the last point after the final bucket)
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += xs[i];
+                averageY += ys[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle area; only the comparison matters
+                double area = Math.abs((xs[previous] - averageX) * (ys[i] - ys[previous])
+                    - (xs[previous] - xs[i]) * (averageY - ys[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            kept[count++] = chosen;
+            previous = chosen;
+        }
+
+        kept[count] = n - 1;
+        return kept;
+    }
+}
\ No newline at end of file
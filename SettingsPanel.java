@@ -8,23 +8,27 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.sql.ResultSet;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.sql.SQLException;
 import java.util.Properties;
 
 public class SettingsPanel extends JPanel {
     private JTextField dbPathField, backupPathField;
     private JComboBox<String> themeCombo, languageCombo;
-    private JCheckBox autoBackupCheck, notificationsCheck;
-    private JSpinner backupIntervalSpinner;
+    private JCheckBox autoBackupCheck, notificationsCheck, archiveNotificationsCheck;
+    private JSpinner backupIntervalSpinner, backupRetentionSpinner, notificationRetentionSpinner, slowQuerySpinner;
     private Properties settings;
     private static final String SETTINGS_FILE = "transport_settings.properties";
+    // Reloads the open tables and the dashboard after a restore
+    private final Runnable onRestored;
 
-    public SettingsPanel() {
+    public SettingsPanel(Runnable onRestored) {
+        this.onRestored = onRestored;
         settings = new Properties();
         loadSettings();
         initializeUI();
+        scheduleBackups();
+        scheduleNotificationRetention();
+        configureQueryStats();
     }
 
     private void initializeUI() {
@@ -70,6 +74,12 @@ public class SettingsPanel extends JPanel {
         ));
         settingsPanel.add(backupIntervalSpinner);
 
+        settingsPanel.add(new JLabel("Backups to Keep:"));
+        backupRetentionSpinner = new JSpinner(new SpinnerNumberModel(
+            Integer.parseInt(settings.getProperty("backup_retention", "7")), 1, 365, 1
+        ));
+        settingsPanel.add(backupRetentionSpinner);
+
         // UI settings
         settingsPanel.add(new JLabel("Theme:"));
         themeCombo = new JComboBox<>(new String[]{"Light", "Dark", "System Default"});
@@ -87,17 +97,37 @@ public class SettingsPanel extends JPanel {
         notificationsCheck.setSelected(Boolean.parseBoolean(settings.getProperty("notifications", "true")));
         settingsPanel.add(notificationsCheck);
 
+        settingsPanel.add(new JLabel("Keep Read Notifications (days):"));
+        notificationRetentionSpinner = new JSpinner(new SpinnerNumberModel(
+            Integer.parseInt(settings.getProperty("notification_retention_days", "30")), 1, 3650, 1
+        ));
+        settingsPanel.add(notificationRetentionSpinner);
+
+        settingsPanel.add(new JLabel("Old Notifications:"));
+        archiveNotificationsCheck = new JCheckBox("Archive instead of deleting");
+        archiveNotificationsCheck.setSelected(Boolean.parseBoolean(settings.getProperty("notification_archive", "false")));
+        settingsPanel.add(archiveNotificationsCheck);
+
+        // Performance settings
+        settingsPanel.add(new JLabel("Slow Query Threshold (ms):"));
+        slowQuerySpinner = new JSpinner(new SpinnerNumberModel(
+            Integer.parseInt(settings.getProperty("slow_query_ms", String.valueOf(QueryStats.DEFAULT_SLOW_QUERY_MILLIS))), 1, 600000, 50
+        ));
+        settingsPanel.add(slowQuerySpinner);
+
         // Action buttons
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
         JButton saveBtn = new JButton("💾 Save Settings");
         JButton resetBtn = new JButton("🔄 Reset to Default");
         JButton backupBtn = new JButton("💾 Backup Now");
         JButton restoreBtn = new JButton("📁 Restore Backup");
+        JButton rollupBtn = new JButton("📊 Rebuild Revenue Rollups");
 
         buttonPanel.add(saveBtn);
         buttonPanel.add(resetBtn);
         buttonPanel.add(backupBtn);
         buttonPanel.add(restoreBtn);
+        buttonPanel.add(rollupBtn);
 
         // System info panel
         JPanel infoPanel = createSystemInfoPanel();
@@ -108,7 +138,8 @@ public class SettingsPanel extends JPanel {
         saveBtn.addActionListener(e -> saveSettings());
         resetBtn.addActionListener(e -> resetSettings());
         backupBtn.addActionListener(e -> backupDatabase());
-        restoreBtn.addActionListener(e -> restoreDatabase());
+        restoreBtn.addActionListener(e -> restoreDatabase(restoreBtn));
+        rollupBtn.addActionListener(e -> rebuildRevenueRollups(rollupBtn));
 
         // Layout
         JPanel mainPanel = new JPanel(new BorderLayout());
@@ -119,6 +150,7 @@ public class SettingsPanel extends JPanel {
         JTabbedPane tabbedPane = new JTabbedPane();
         tabbedPane.addTab("Application Settings", mainPanel);
         tabbedPane.addTab("System Information", infoPanel);
+        tabbedPane.addTab("Performance", new PerformancePanel());
 
         add(tabbedPane, BorderLayout.CENTER);
     }
@@ -148,32 +180,15 @@ public class SettingsPanel extends JPanel {
 
         // Database information
         try {
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT COUNT(*) as count FROM drivers"
-            );
-            if (rs.next()) {
-                panel.add(new JLabel("Total Drivers:"));
-                panel.add(new JLabel(String.valueOf(rs.getInt("count"))));
-            }
-            rs.getStatement().close();
-
-            rs = DatabaseConnection.executeQuery(
-                "SELECT COUNT(*) as count FROM vehicles"
-            );
-            if (rs.next()) {
-                panel.add(new JLabel("Total Vehicles:"));
-                panel.add(new JLabel(String.valueOf(rs.getInt("count"))));
-            }
-            rs.getStatement().close();
-
-            rs = DatabaseConnection.executeQuery(
-                "SELECT COUNT(*) as count FROM trips"
-            );
-            if (rs.next()) {
-                panel.add(new JLabel("Total Trips:"));
-                panel.add(new JLabel(String.valueOf(rs.getInt("count"))));
-            }
-            rs.getStatement().close();
+            int drivers = DriverDao.count();
+            int vehicles = VehicleDao.count();
+            int trips = TripDao.count();
+            panel.add(new JLabel("Total Drivers:"));
+            panel.add(new JLabel(String.valueOf(drivers)));
+            panel.add(new JLabel("Total Vehicles:"));
+            panel.add(new JLabel(String.valueOf(vehicles)));
+            panel.add(new JLabel("Total Trips:"));
+            panel.add(new JLabel(String.valueOf(trips)));
 
         } catch (Exception e) {
             panel.add(new JLabel("Database Info:"));
@@ -220,11 +235,18 @@ public class SettingsPanel extends JPanel {
             settings.setProperty("backup_path", backupPathField.getText());
             settings.setProperty("auto_backup", String.valueOf(autoBackupCheck.isSelected()));
             settings.setProperty("backup_interval", backupIntervalSpinner.getValue().toString());
+            settings.setProperty("backup_retention", backupRetentionSpinner.getValue().toString());
             settings.setProperty("theme", (String) themeCombo.getSelectedItem());
             settings.setProperty("language", (String) languageCombo.getSelectedItem());
             settings.setProperty("notifications", String.valueOf(notificationsCheck.isSelected()));
+            settings.setProperty("notification_retention_days", notificationRetentionSpinner.getValue().toString());
+            settings.setProperty("notification_archive", String.valueOf(archiveNotificationsCheck.isSelected()));
+            settings.setProperty("slow_query_ms", slowQuerySpinner.getValue().toString());
 
             settings.store(new FileOutputStream(SETTINGS_FILE), "Transport System Settings");
+            scheduleBackups();
+            scheduleNotificationRetention();
+            configureQueryStats();
             
             JOptionPane.showMessageDialog(this, "Settings saved successfully!\nSome changes may require restart.");
         } catch (IOException e) {
@@ -242,47 +264,90 @@ public class SettingsPanel extends JPanel {
             backupPathField.setText("backups/");
             autoBackupCheck.setSelected(true);
             backupIntervalSpinner.setValue(24);
+            backupRetentionSpinner.setValue(7);
             themeCombo.setSelectedItem("System Default");
             languageCombo.setSelectedItem("English");
             notificationsCheck.setSelected(true);
+            notificationRetentionSpinner.setValue(30);
+            archiveNotificationsCheck.setSelected(false);
+            slowQuerySpinner.setValue((int) QueryStats.DEFAULT_SLOW_QUERY_MILLIS);
             
             JOptionPane.showMessageDialog(this, "Settings reset to default values.");
         }
     }
 
-    private void backupDatabase() {
-        try {
-            String backupDir = backupPathField.getText();
-            File backupDirectory = new File(backupDir);
-            if (!backupDirectory.exists()) {
-                backupDirectory.mkdirs();
-            }
+    private void scheduleBackups() {
+        BackupService.configure(
+            Boolean.parseBoolean(settings.getProperty("auto_backup", "true")),
+            Integer.parseInt(settings.getProperty("backup_interval", "24")),
+            settings.getProperty("backup_path", "backups/"),
+            Integer.parseInt(settings.getProperty("backup_retention", "7"))
+        );
+    }
 
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-            String backupFile = backupDir + File.separator + "transport_backup_" + timestamp + ".db";
+    private void scheduleNotificationRetention() {
+        NotificationRetention.configure(
+            Integer.parseInt(settings.getProperty("notification_retention_days", "30")),
+            Boolean.parseBoolean(settings.getProperty("notification_archive", "false"))
+        );
+    }
 
-            // In a real implementation, you would copy the database file
-            // For now, we'll just create a marker file
-            File marker = new File(backupFile);
-            marker.createNewFile();
+    private void configureQueryStats() {
+        QueryStats.setSlowQueryThreshold(Long.parseLong(
+            settings.getProperty("slow_query_ms", String.valueOf(QueryStats.DEFAULT_SLOW_QUERY_MILLIS))));
+    }
 
-            DatabaseConnection.addNotification(
-                "Database Backup",
-                "Database backup created: " + backupFile,
-                "system",
-                "Low"
-            );
+    private void backupDatabase() {
+        File backupDirectory = new File(backupPathField.getText());
+        int retention = (Integer) backupRetentionSpinner.getValue();
+
+        // The backup reads a snapshot and does not block writers, but it can take a while
+        Thread backupThread = new Thread(() -> {
+            try {
+                File backupFile = BackupService.backup(backupDirectory);
+                BackupService.prune(backupDirectory, retention);
+
+                DatabaseConnection.addNotification(
+                    "Database Backup",
+                    "Database backup created: " + backupFile.getPath(),
+                    "system",
+                    "Low"
+                );
+
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Database backup created successfully!\nLocation: " + backupFile.getAbsolutePath()));
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Error creating backup: " + e.getMessage()));
+            }
+        }, "manual-backup");
+        backupThread.setDaemon(true);
+        backupThread.start();
+    }
 
-            JOptionPane.showMessageDialog(this, 
-                "Database backup created successfully!\nLocation: " + backupFile);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error creating backup: " + e.getMessage());
-        }
+    private void rebuildRevenueRollups(JButton button) {
+        button.setEnabled(false);
+        // Holds the writer for the duration, so run it off the EDT
+        Thread rebuildThread = new Thread(() -> {
+            try {
+                int rows = RevenueRollup.rebuild();
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Revenue rollups rebuilt: " + rows + " daily rows."));
+            } catch (SQLException e) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Error rebuilding revenue rollups: " + e.getMessage()));
+            } finally {
+                SwingUtilities.invokeLater(() -> button.setEnabled(true));
+            }
+        }, "rollup-rebuild");
+        rebuildThread.setDaemon(true);
+        rebuildThread.start();
     }
 
-    private void restoreDatabase() {
-        JFileChooser fileChooser = new JFileChooser();
+    private void restoreDatabase(JButton button) {
+        JFileChooser fileChooser = new JFileChooser(backupPathField.getText());
         fileChooser.setDialogTitle("Select Backup File to Restore");
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Database backups", "db"));
         
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
             int confirm = JOptionPane.showConfirmDialog(this,
@@ -292,10 +357,27 @@ public class SettingsPanel extends JPanel {
                 "Confirm Restore", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
             
             if (confirm == JOptionPane.YES_OPTION) {
-                // In real implementation, you would restore the database file
-                JOptionPane.showMessageDialog(this, 
-                    "Database restore functionality would be implemented here.\n" +
-                    "Backup file selected: " + fileChooser.getSelectedFile().getName());
+                File backupFile = fileChooser.getSelectedFile();
+                button.setEnabled(false);
+                // Checksum, integrity check and page copy take a while, and may wait for a running backup
+                Thread restoreThread = new Thread(() -> {
+                    try {
+                        BackupService.restore(backupFile);
+                        SwingUtilities.invokeLater(() -> {
+                            onRestored.run();
+                            JOptionPane.showMessageDialog(this,
+                                "Database restored from " + backupFile.getName() + ".");
+                        });
+                    } catch (Exception e) {
+                        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                            "Error restoring backup: " + e.getMessage(),
+                            "Restore Failed", JOptionPane.ERROR_MESSAGE));
+                    } finally {
+                        SwingUtilities.invokeLater(() -> button.setEnabled(true));
+                    }
+                }, "backup-restore");
+                restoreThread.setDaemon(true);
+                restoreThread.start();
             }
         }
     }
@@ -0,0 +1,82 @@
+package com.transport;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of prepared statements for a single connection, keyed by SQL text.
+ * Statements handed out by the cache stay open and must not be closed by the
+ * caller; result sets obtained from them still have to be closed.
+ */
+public class StatementCache {
+    private final Connection connection;
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    closeQuietly(eldest.getValue());
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized PreparedStatement get(String sql) throws SQLException {
+        PreparedStatement pstmt = statements.get(sql);
+        // A caller may still close a cached statement by habit; prepare it again then
+        if (pstmt != null && !pstmt.isClosed()) {
+            hits++;
+            pstmt.clearParameters();
+            return pstmt;
+        }
+        misses++;
+        pstmt = connection.prepareStatement(sql);
+        statements.put(sql, pstmt);
+        return pstmt;
+    }
+
+    /**
+     * Closes and forgets the statement for the SQL, if cached, so the next
+     * get() prepares it afresh.
+     */
+    public synchronized void discard(String sql) {
+        PreparedStatement pstmt = statements.remove(sql);
+        if (pstmt != null) {
+            closeQuietly(pstmt);
+        }
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized int size() { return statements.size(); }
+
+    public synchronized void clear() {
+        for (PreparedStatement pstmt : statements.values()) {
+            closeQuietly(pstmt);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+package com.transport;
+
+import javax.swing.RowFilter;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Trigram inverted index over the rows of an in-memory table, for substring
+ * search without scanning every cell. A query is looked up through the
+ * postings of its rarest trigram and only those candidate rows are checked;
+ * queries shorter than three characters fall back to a plain scan.
+ *
+ * The index is built off the EDT when a table loads and is then only touched
+ * on the EDT. Single-row updates and appends are applied in place; inserts
+ * and removals that shift row numbers rebuild the postings in the background,
+ * and searches scan the row texts until that is done.
+ */
+public class TableSearchIndex {
+    private static final char CELL_SEPARATOR = '\u0001';
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-indexer");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    // Lower-cased cell values of each row, joined by CELL_SEPARATOR so matches do not span cells
+    private final List<String> texts;
+    private Map<Long, Posting> postings;
+    private long version = 0;
+
+    private TableSearchIndex(List<String> texts) {
+        this.texts = texts;
+    }
+
+    /**
+     * Builds the index for the rows. May be called on any thread.
+     */
+    public static TableSearchIndex build(List<Object[]> rows) {
+        List<String> texts = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            texts.add(rowText(row));
+        }
+        TableSearchIndex index = new TableSearchIndex(texts);
+        index.indexAll();
+        return index;
+    }
+
+    public int size() {
+        return texts.size();
+    }
+
+    /**
+     * Replaces the row's values, or appends them when row equals size().
+     */
+    public void setRow(int row, Object[] values) {
+        String text = rowText(values);
+        if (row == texts.size()) {
+            texts.add(text);
+        } else {
+            texts.set(row, text);
+        }
+        // Postings of the old text stay behind; search re-checks candidates, so they do no harm
+        if (postings != null) {
+            addPostings(row, text);
+        }
+        version++;
+    }
+
+    public void insertRow(int row, Object[] values) {
+        texts.add(row, rowText(values));
+        rowsShifted();
+    }
+
+    public void removeRow(int row) {
+        texts.remove(row);
+        rowsShifted();
+    }
+
+    /**
+     * Returns the model rows whose text contains the query, ignoring case.
+     */
+    public BitSet search(String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        BitSet matches = new BitSet(texts.size());
+        if (postings == null || q.length() < 3) {
+            for (int row = 0; row < texts.size(); row++) {
+                if (texts.get(row).contains(q)) {
+                    matches.set(row);
+                }
+            }
+            return matches;
+        }
+        // Check only the rows listed under the rarest trigram of the query
+        long rarest = 0;
+        int rarestSize = Integer.MAX_VALUE;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            long key = trigram(q, i);
+            Posting posting = postings.get(key);
+            if (posting == null) {
+                return matches;
+            }
+            if (posting.size < rarestSize) {
+                rarest = key;
+                rarestSize = posting.size;
+            }
+        }
+        int[] rows = postings.get(rarest).rows;
+        for (int i = 0; i < rarestSize; i++) {
+            int row = rows[i];
+            if (row < texts.size() && !matches.get(row) && texts.get(row).contains(q)) {
+                matches.set(row);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Row filter for a TableRowSorter over the indexed model. The matching
+     * rows are computed once per index change, after which each row is a
+     * single bit lookup.
+     */
+    public static RowFilter<TableModel, Integer> rowFilter(Supplier<TableSearchIndex> currentIndex, String query) {
+        return rowFilter(currentIndex, query, Collections.emptySet());
+    }
+
+    /**
+     * Same as {@link #rowFilter(Supplier, String)}, also including the rows
+     * whose id (column 0) is in alsoMatching, e.g. full-text hits on columns
+     * the table does not show.
+     */
+    public static RowFilter<TableModel, Integer> rowFilter(Supplier<TableSearchIndex> currentIndex, String query,
+                                                          Set<Integer> alsoMatching) {
+        return new RowFilter<TableModel, Integer>() {
+            private TableSearchIndex searched;
+            private long searchedVersion = -1;
+            private BitSet matches;
+
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                TableSearchIndex index = currentIndex.get();
+                if (index == null) {
+                    return true;
+                }
+                if (index != searched || index.version != searchedVersion) {
+                    searched = index;
+                    searchedVersion = index.version;
+                    matches = index.search(query);
+                }
+                return matches.get(entry.getIdentifier()) || alsoMatching.contains(entry.getValue(0));
+            }
+        };
+    }
+
+    private void rowsShifted() {
+        version++;
+        if (postings == null) {
+            // A rebuild is already pending and will pick this change up
+            return;
+        }
+        // Row numbers moved; rebuild in the background and scan meanwhile
+        postings = null;
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        long rebuildVersion = version;
+        List<String> snapshot = new ArrayList<>(texts);
+        EXECUTOR.submit(() -> {
+            TableSearchIndex rebuilt = new TableSearchIndex(snapshot);
+            rebuilt.indexAll();
+            SwingUtilities.invokeLater(() -> {
+                if (version == rebuildVersion) {
+                    postings = rebuilt.postings;
+                } else {
+                    scheduleRebuild();
+                }
+            });
+        });
+    }
+
+    private void indexAll() {
+        postings = new HashMap<>();
+        for (int row = 0; row < texts.size(); row++) {
+            addPostings(row, texts.get(row));
+        }
+    }
+
+    private void addPostings(int row, String text) {
+        int count = text.length() - 2;
+        if (count <= 0) {
+            return;
+        }
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = trigram(text, i);
+        }
+        // Sorting puts repeated trigrams next to each other, so each row is listed once per trigram
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && keys[i] == keys[i - 1]) {
+                continue;
+            }
+            Posting posting = postings.get(keys[i]);
+            if (posting == null) {
+                posting = new Posting();
+                postings.put(keys[i], posting);
+            }
+            posting.add(row);
+        }
+    }
+
+    // Growable list of the rows containing one trigram
+    private static final class Posting {
+        int[] rows = new int[4];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static String rowText(Object[] row) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                sb.append(CELL_SEPARATOR);
+            }
+            if (row[i] != null) {
+                sb.append(row[i].toString().toLowerCase(Locale.ROOT));
+            }
+        }
+        return sb.toString();
+    }
+
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.transport;
+
+/**
+ * A row of the tickets table. Immutable; an entity that has not been
+ * saved yet has id 0.
+ */
+public final class Ticket {
+    private final int id;
+    private final String ticketNumber;
+    private final String passengerName;
+    private final String passengerPhone;
+    private final String passengerEmail;
+    private final String seatNumber;
+    private final double price;
+    private final String status;
+    private final int tripId;
+
+    public Ticket(int id, String ticketNumber, String passengerName, String passengerPhone,
+            String passengerEmail, String seatNumber, double price, String status, int tripId) {
+        this.id = id;
+        this.ticketNumber = ticketNumber;
+        this.passengerName = passengerName;
+        this.passengerPhone = passengerPhone;
+        this.passengerEmail = passengerEmail;
+        this.seatNumber = seatNumber;
+        this.price = price;
+        this.status = status;
+        this.tripId = tripId;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTicketNumber() {
+        return ticketNumber;
+    }
+
+    public String getPassengerName() {
+        return passengerName;
+    }
+
+    public String getPassengerPhone() {
+        return passengerPhone;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getTripId() {
+        return tripId;
+    }
+
+    @Override
+    public String toString() {
+        return "Ticket " + id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * All reads and writes of the tickets table. Writes publish the change on
+ * the {@link ChangeFeed} and invalidate the dashboard statistics.
+ */
+public final class TicketDao {
+    // Column order is what map() reads. Kept apart from FROM for the paged table
+    static final String COLUMNS =
+        "SELECT ticket_id, ticket_number, passenger_name, passenger_phone, passenger_email, seat_number, price, " +
+        "status, trip_id";
+    static final String FROM = "FROM tickets";
+    private static final String INSERT =
+        "INSERT INTO tickets (ticket_number, passenger_name, passenger_phone, " +
+        "passenger_email, seat_number, price, status, trip_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE tickets SET ticket_number=?, passenger_name=?, passenger_phone=?, passenger_email=?, " +
+        "seat_number=?, price=?, status=?, trip_id=? WHERE ticket_id=?";
+
+    private TicketDao() {
+    }
+
+    public static Ticket map(ResultSet rs) throws SQLException {
+        return new Ticket(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getDouble(7),
+            rs.getString(8),
+            rs.getInt(9)
+        );
+    }
+
+    public static Ticket findById(int ticketId) throws SQLException {
+        return Dao.findOne(COLUMNS + " " + FROM + " WHERE ticket_id = ?", pstmt -> pstmt.setInt(1, ticketId), TicketDao::map);
+    }
+
+    public static boolean ticketNumberExists(String ticketNumber) throws SQLException {
+        return Dao.exists("SELECT 1 FROM tickets WHERE ticket_number = ?", ticketNumber);
+    }
+
+    /**
+     * Inserts the ticket (its id is ignored) and returns the new id.
+     */
+    public static int insert(Ticket ticket) throws SQLException {
+        int id = Dao.insert(INSERT, pstmt -> bind(pstmt, ticket));
+        Dao.changed(ChangeFeed.Entity.TICKET, ChangeFeed.Kind.INSERTED, id);
+        return id;
+    }
+
+    public static void update(Ticket ticket) throws SQLException {
+        Dao.update(UPDATE, pstmt -> {
+            bind(pstmt, ticket);
+            pstmt.setInt(9, ticket.getId());
+        });
+        Dao.changed(ChangeFeed.Entity.TICKET, ChangeFeed.Kind.UPDATED, ticket.getId());
+    }
+
+    public static void delete(int ticketId) throws SQLException {
+        Dao.update("DELETE FROM tickets WHERE ticket_id = ?", pstmt -> pstmt.setInt(1, ticketId));
+        Dao.changed(ChangeFeed.Entity.TICKET, ChangeFeed.Kind.DELETED, ticketId);
+    }
+
+    private static void bind(PreparedStatement pstmt, Ticket ticket) throws SQLException {
+        pstmt.setString(1, ticket.getTicketNumber());
+        pstmt.setString(2, ticket.getPassengerName());
+        pstmt.setString(3, ticket.getPassengerPhone());
+        pstmt.setString(4, ticket.getPassengerEmail());
+        pstmt.setString(5, ticket.getSeatNumber());
+        pstmt.setDouble(6, ticket.getPrice());
+        pstmt.setString(7, ticket.getStatus());
+        pstmt.setInt(8, ticket.getTripId());
+    }
+}
\ No newline at end of file
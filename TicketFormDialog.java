@@ -2,9 +2,8 @@ package com.transport;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
 
 public class TicketFormDialog extends JDialog {
     private boolean success = false;
@@ -84,14 +83,10 @@ public class TicketFormDialog extends JDialog {
     
     private void loadTrips() {
         try {
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT trip_id, order_number FROM trips ORDER BY date DESC"
-            );
             tripCombo.addItem("Select Trip");
-            while (rs.next()) {
-                tripCombo.addItem(rs.getString("order_number") + " (ID: " + rs.getInt("trip_id") + ")");
+            for (Map.Entry<Integer, String> trip : TripDao.findOrderNumbers().entrySet()) {
+                tripCombo.addItem(trip.getValue() + " (ID: " + trip.getKey() + ")");
             }
-            rs.getStatement().close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading trips: " + e.getMessage());
         }
@@ -99,32 +94,25 @@ public class TicketFormDialog extends JDialog {
     
     private void loadTicketData() {
         try {
-            String query = "SELECT * FROM tickets WHERE ticket_id = ?";
-            PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, ticketId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                ticketNumberField.setText(rs.getString("ticket_number"));
-                passengerNameField.setText(rs.getString("passenger_name"));
-                passengerPhoneField.setText(rs.getString("passenger_phone"));
-                passengerEmailField.setText(rs.getString("passenger_email"));
-                seatNumberField.setText(rs.getString("seat_number"));
-                priceField.setText(String.valueOf(rs.getDouble("price")));
-                statusCombo.setSelectedItem(rs.getString("status"));
+            Ticket ticket = TicketDao.findById(ticketId);
+            if (ticket != null) {
+                ticketNumberField.setText(ticket.getTicketNumber());
+                passengerNameField.setText(ticket.getPassengerName());
+                passengerPhoneField.setText(ticket.getPassengerPhone());
+                passengerEmailField.setText(ticket.getPassengerEmail());
+                seatNumberField.setText(ticket.getSeatNumber());
+                priceField.setText(String.valueOf(ticket.getPrice()));
+                statusCombo.setSelectedItem(ticket.getStatus());
                 
                 // Set trip selection
-                int tripId = rs.getInt("trip_id");
                 for (int i = 0; i < tripCombo.getItemCount(); i++) {
                     String item = tripCombo.getItemAt(i);
-                    if (item.contains("(ID: " + tripId + ")")) {
+                    if (item.contains("(ID: " + ticket.getTripId() + ")")) {
                         tripCombo.setSelectedIndex(i);
                         break;
                     }
                 }
             }
-            rs.close();
-            pstmt.close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading ticket data: " + e.getMessage());
         }
@@ -152,29 +140,27 @@ public class TicketFormDialog extends JDialog {
                 return;
             }
             
+            Ticket ticket = new Ticket(
+                ticketId == null ? 0 : ticketId,
+                ticketNumberField.getText().trim(),
+                passengerNameField.getText().trim(),
+                passengerPhoneField.getText().trim(),
+                passengerEmailField.getText().trim(),
+                seatNumberField.getText().trim(),
+                price,
+                (String) statusCombo.getSelectedItem(),
+                tripId
+            );
+            
             if (ticketId == null) {
                 // Check for duplicate ticket number
-                if (isDuplicateTicketNumber(ticketNumberField.getText().trim())) {
+                if (TicketDao.ticketNumberExists(ticket.getTicketNumber())) {
                     JOptionPane.showMessageDialog(this, "Ticket number already exists!", "Validation Error", JOptionPane.ERROR_MESSAGE);
                     ticketNumberField.requestFocus();
                     return;
                 }
                 
-                // Insert new ticket
-                String query = "INSERT INTO tickets (ticket_number, passenger_name, passenger_phone, " +
-                             "passenger_email, seat_number, price, status, trip_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, ticketNumberField.getText().trim());
-                pstmt.setString(2, passengerNameField.getText().trim());
-                pstmt.setString(3, passengerPhoneField.getText().trim());
-                pstmt.setString(4, passengerEmailField.getText().trim());
-                pstmt.setString(5, seatNumberField.getText().trim());
-                pstmt.setDouble(6, price);
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                pstmt.setInt(8, tripId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                TicketDao.insert(ticket);
                 
                 DatabaseConnection.addNotification(
                     "New Ticket Booked",
@@ -184,21 +170,7 @@ public class TicketFormDialog extends JDialog {
                 );
                 
             } else {
-                // Update existing ticket
-                String query = "UPDATE tickets SET ticket_number=?, passenger_name=?, passenger_phone=?, " +
-                             "passenger_email=?, seat_number=?, price=?, status=? WHERE ticket_id=?";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, ticketNumberField.getText().trim());
-                pstmt.setString(2, passengerNameField.getText().trim());
-                pstmt.setString(3, passengerPhoneField.getText().trim());
-                pstmt.setString(4, passengerEmailField.getText().trim());
-                pstmt.setString(5, seatNumberField.getText().trim());
-                pstmt.setDouble(6, price);
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                pstmt.setInt(8, ticketId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                TicketDao.update(ticket);
             }
             
             success = true;
@@ -215,17 +187,6 @@ public class TicketFormDialog extends JDialog {
         }
     }
     
-    private boolean isDuplicateTicketNumber(String ticketNumber) throws SQLException {
-        String query = "SELECT COUNT(*) as count FROM tickets WHERE ticket_number = ?";
-        PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-        pstmt.setString(1, ticketNumber);
-        ResultSet rs = pstmt.executeQuery();
-        boolean exists = rs.next() && rs.getInt("count") > 0;
-        rs.close();
-        pstmt.close();
-        return exists;
-    }
-    
     private int extractIdFromCombo(JComboBox<String> combo) {
         String selected = (String) combo.getSelectedItem();
         if (selected != null && selected.contains("(ID: ") && !selected.equals("Select Trip")) {
@@ -0,0 +1,109 @@
+package com.transport;
+
+/**
+ * A row of the trips table. Immutable; an entity that has not been
+ * saved yet has id 0. The vehicle and driver names come from the joins in
+ * {@link TripDao} and are null on entities built for saving.
+ */
+public final class Trip {
+    private final int id;
+    private final String orderNumber;
+    private final String date;
+    private final String startLocation;
+    private final String endLocation;
+    private final String status;
+    private final double totalAmount;
+    private final String paymentMethod;
+    private final int passengerCount;
+    private final String notes;
+    private final int vehicleId;
+    private final int driverId;
+    private final Integer routeId;
+    private final String vehicleName;
+    private final String driverName;
+
+    public Trip(int id, String orderNumber, String date, String startLocation, String endLocation,
+            String status, double totalAmount, String paymentMethod, int passengerCount, String notes,
+            int vehicleId, int driverId, Integer routeId, String vehicleName, String driverName) {
+        this.id = id;
+        this.orderNumber = orderNumber;
+        this.date = date;
+        this.startLocation = startLocation;
+        this.endLocation = endLocation;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.paymentMethod = paymentMethod;
+        this.passengerCount = passengerCount;
+        this.notes = notes;
+        this.vehicleId = vehicleId;
+        this.driverId = driverId;
+        this.routeId = routeId;
+        this.vehicleName = vehicleName;
+        this.driverName = driverName;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getStartLocation() {
+        return startLocation;
+    }
+
+    public String getEndLocation() {
+        return endLocation;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public int getPassengerCount() {
+        return passengerCount;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public int getVehicleId() {
+        return vehicleId;
+    }
+
+    public int getDriverId() {
+        return driverId;
+    }
+
+    public Integer getRouteId() {
+        return routeId;
+    }
+
+    public String getVehicleName() {
+        return vehicleName;
+    }
+
+    public String getDriverName() {
+        return driverName;
+    }
+
+    @Override
+    public String toString() {
+        return "Trip " + id;
+    }
+}
\ No newline at end of file
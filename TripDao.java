@@ -0,0 +1,114 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * All reads and writes of the trips table. Trips are read together with
+ * the names of their vehicle and driver. Writes publish the change on the
+ * {@link ChangeFeed} and invalidate the dashboard statistics.
+ */
+public final class TripDao {
+    // Column order is what map() reads. Kept apart from FROM for the paged
+    // table, which adds its own WHERE and keyset on t.date / t.trip_id
+    static final String COLUMNS =
+        "SELECT t.trip_id, t.order_number, t.date, t.start_location, t.end_location, t.status, " +
+        "t.total_amount, t.payment_method, t.passenger_count, t.notes, t.vehicle_id, t.driver_id, t.route_id, " +
+        "v.name as vehicle_name, d.full_name as driver_name";
+    static final String FROM =
+        "FROM trips t " +
+        "LEFT JOIN vehicles v ON t.vehicle_id = v.vehicle_id " +
+        "LEFT JOIN drivers d ON t.driver_id = d.driver_id";
+    private static final String INSERT =
+        "INSERT INTO trips (order_number, date, start_location, end_location, status, " +
+        "total_amount, payment_method, passenger_count, notes, vehicle_id, driver_id, route_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE trips SET order_number=?, date=?, start_location=?, end_location=?, status=?, total_amount=?, " +
+        "payment_method=?, passenger_count=?, notes=?, vehicle_id=?, driver_id=?, route_id=? WHERE trip_id=?";
+
+    private TripDao() {
+    }
+
+    public static Trip map(ResultSet rs) throws SQLException {
+        return new Trip(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getDouble(7),
+            rs.getString(8),
+            rs.getInt(9),
+            rs.getString(10),
+            rs.getInt(11),
+            rs.getInt(12),
+            Dao.getInteger(rs, 13),
+            rs.getString(14),
+            rs.getString(15)
+        );
+    }
+
+    public static Trip findById(int tripId) throws SQLException {
+        return Dao.findOne(COLUMNS + " " + FROM + " WHERE t.trip_id = ?", pstmt -> pstmt.setInt(1, tripId), TripDao::map);
+    }
+
+    /**
+     * Order numbers of all trips, newest first, for booking tickets.
+     */
+    public static Map<Integer, String> findOrderNumbers() throws SQLException {
+        return Dao.labels("SELECT trip_id, order_number FROM trips ORDER BY date DESC");
+    }
+
+    public static boolean orderNumberExists(String orderNumber) throws SQLException {
+        return Dao.exists("SELECT 1 FROM trips WHERE order_number = ?", orderNumber);
+    }
+
+    public static int count() throws SQLException {
+        return Dao.count("SELECT COUNT(*) FROM trips", null);
+    }
+
+    public static int countByVehicle(int vehicleId) throws SQLException {
+        return Dao.count("SELECT COUNT(*) FROM trips WHERE vehicle_id = ?", pstmt -> pstmt.setInt(1, vehicleId));
+    }
+
+    /**
+     * Inserts the trip (its id is ignored) and returns the new id.
+     */
+    public static int insert(Trip trip) throws SQLException {
+        int id = Dao.insert(INSERT, pstmt -> bind(pstmt, trip));
+        Dao.changed(ChangeFeed.Entity.TRIP, ChangeFeed.Kind.INSERTED, id);
+        return id;
+    }
+
+    public static void update(Trip trip) throws SQLException {
+        Dao.update(UPDATE, pstmt -> {
+            bind(pstmt, trip);
+            pstmt.setInt(13, trip.getId());
+        });
+        Dao.changed(ChangeFeed.Entity.TRIP, ChangeFeed.Kind.UPDATED, trip.getId());
+    }
+
+    public static void delete(int tripId) throws SQLException {
+        Dao.update("DELETE FROM trips WHERE trip_id = ?", pstmt -> pstmt.setInt(1, tripId));
+        Dao.changed(ChangeFeed.Entity.TRIP, ChangeFeed.Kind.DELETED, tripId);
+    }
+
+    private static void bind(PreparedStatement pstmt, Trip trip) throws SQLException {
+        pstmt.setString(1, trip.getOrderNumber());
+        pstmt.setString(2, trip.getDate());
+        pstmt.setString(3, trip.getStartLocation());
+        pstmt.setString(4, trip.getEndLocation());
+        pstmt.setString(5, trip.getStatus());
+        pstmt.setDouble(6, trip.getTotalAmount());
+        pstmt.setString(7, trip.getPaymentMethod());
+        pstmt.setInt(8, trip.getPassengerCount());
+        pstmt.setString(9, trip.getNotes());
+        pstmt.setInt(10, trip.getVehicleId());
+        pstmt.setInt(11, trip.getDriverId());
+        Dao.setInteger(pstmt, 12, trip.getRouteId());
+    }
+}
\ No newline at end of file
@@ -2,11 +2,10 @@ package com.transport;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 
 public class TripFormDialog extends JDialog {
     private boolean success = false;
@@ -107,63 +106,49 @@ public class TripFormDialog extends JDialog {
     private void loadComboBoxData() {
         try {
             // Load vehicles
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT vehicle_id, name FROM vehicles WHERE status IN ('Available', 'On Trip')"
-            );
             vehicleCombo.addItem("Select Vehicle");
-            while (rs.next()) {
-                vehicleCombo.addItem(rs.getString("name") + " (ID: " + rs.getInt("vehicle_id") + ")");
-            }
-            rs.getStatement().close();
+            addItems(vehicleCombo, VehicleDao.findAvailableNames());
             
             // Load drivers
-            rs = DatabaseConnection.executeQuery(
-                "SELECT driver_id, full_name FROM drivers WHERE status = 'Active'"
-            );
             driverCombo.addItem("Select Driver");
-            while (rs.next()) {
-                driverCombo.addItem(rs.getString("full_name") + " (ID: " + rs.getInt("driver_id") + ")");
-            }
-            rs.getStatement().close();
+            addItems(driverCombo, DriverDao.findActiveNames());
             
             // Load routes
-            rs = DatabaseConnection.executeQuery("SELECT route_id, route_name FROM routes WHERE status = 'Active'");
             routeCombo.addItem("Select Route");
-            while (rs.next()) {
-                routeCombo.addItem(rs.getString("route_name") + " (ID: " + rs.getInt("route_id") + ")");
-            }
-            rs.getStatement().close();
+            addItems(routeCombo, RouteDao.findActiveNames());
             
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading data: " + e.getMessage());
         }
     }
     
+    private void addItems(JComboBox<String> combo, Map<Integer, String> names) {
+        for (Map.Entry<Integer, String> name : names.entrySet()) {
+            combo.addItem(name.getValue() + " (ID: " + name.getKey() + ")");
+        }
+    }
+    
     private void loadTripData() {
         try {
-            String query = "SELECT * FROM trips WHERE trip_id = ?";
-            PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, tripId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                orderNumberField.setText(rs.getString("order_number"));
-                dateField.setText(rs.getString("date"));
-                startLocationField.setText(rs.getString("start_location"));
-                endLocationField.setText(rs.getString("end_location"));
-                statusCombo.setSelectedItem(rs.getString("status"));
-                totalAmountField.setText(String.valueOf(rs.getDouble("total_amount")));
-                paymentMethodCombo.setSelectedItem(rs.getString("payment_method"));
-                passengerCountField.setText(String.valueOf(rs.getInt("passenger_count")));
-                notesArea.setText(rs.getString("notes"));
+            Trip trip = TripDao.findById(tripId);
+            if (trip != null) {
+                orderNumberField.setText(trip.getOrderNumber());
+                dateField.setText(trip.getDate());
+                startLocationField.setText(trip.getStartLocation());
+                endLocationField.setText(trip.getEndLocation());
+                statusCombo.setSelectedItem(trip.getStatus());
+                totalAmountField.setText(String.valueOf(trip.getTotalAmount()));
+                paymentMethodCombo.setSelectedItem(trip.getPaymentMethod());
+                passengerCountField.setText(String.valueOf(trip.getPassengerCount()));
+                notesArea.setText(trip.getNotes());
                 
                 // Set combo box selections
-                setComboSelection(vehicleCombo, rs.getInt("vehicle_id"));
-                setComboSelection(driverCombo, rs.getInt("driver_id"));
-                setComboSelection(routeCombo, rs.getInt("route_id"));
+                setComboSelection(vehicleCombo, trip.getVehicleId());
+                setComboSelection(driverCombo, trip.getDriverId());
+                if (trip.getRouteId() != null) {
+                    setComboSelection(routeCombo, trip.getRouteId());
+                }
             }
-            rs.close();
-            pstmt.close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading trip data: " + e.getMessage());
         }
@@ -188,6 +173,11 @@ public class TripFormDialog extends JDialog {
             orderNumberField.requestFocus();
             return;
         }
+        if (!DateRanges.isDateTime(dateField.getText().trim())) {
+            JOptionPane.showMessageDialog(this, "Date must be a valid date in the form yyyy-MM-dd HH:mm!", "Validation Error", JOptionPane.ERROR_MESSAGE);
+            dateField.requestFocus();
+            return;
+        }
         
         try {
             double totalAmount = totalAmountField.getText().isEmpty() ? 0 : Double.parseDouble(totalAmountField.getText());
@@ -201,34 +191,33 @@ public class TripFormDialog extends JDialog {
                 return;
             }
             
+            Trip trip = new Trip(
+                tripId == null ? 0 : tripId,
+                orderNumberField.getText().trim(),
+                dateField.getText().trim(),
+                startLocationField.getText().trim(),
+                endLocationField.getText().trim(),
+                (String) statusCombo.getSelectedItem(),
+                totalAmount,
+                (String) paymentMethodCombo.getSelectedItem(),
+                passengerCount,
+                notesArea.getText().trim(),
+                vehicleId,
+                driverId,
+                routeId == 0 ? null : routeId,
+                null,
+                null
+            );
+            
             if (tripId == null) {
                 // Check for duplicate order number
-                if (isDuplicateOrderNumber(orderNumberField.getText().trim())) {
+                if (TripDao.orderNumberExists(trip.getOrderNumber())) {
                     JOptionPane.showMessageDialog(this, "Order number already exists!", "Validation Error", JOptionPane.ERROR_MESSAGE);
                     orderNumberField.requestFocus();
                     return;
                 }
                 
-                // Insert new trip
-                String query = "INSERT INTO trips (order_number, date, start_location, end_location, status, " +
-                             "total_amount, payment_method, passenger_count, notes, vehicle_id, driver_id, route_id) " +
-                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, orderNumberField.getText().trim());
-                pstmt.setString(2, dateField.getText().trim());
-                pstmt.setString(3, startLocationField.getText().trim());
-                pstmt.setString(4, endLocationField.getText().trim());
-                pstmt.setString(5, (String) statusCombo.getSelectedItem());
-                pstmt.setDouble(6, totalAmount);
-                pstmt.setString(7, (String) paymentMethodCombo.getSelectedItem());
-                pstmt.setInt(8, passengerCount);
-                pstmt.setString(9, notesArea.getText().trim());
-                pstmt.setInt(10, vehicleId);
-                pstmt.setInt(11, driverId);
-                pstmt.setInt(12, routeId == 0 ? null : routeId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                TripDao.insert(trip);
                 
                 DatabaseConnection.addNotification(
                     "New Trip Scheduled",
@@ -238,27 +227,7 @@ public class TripFormDialog extends JDialog {
                 );
                 
             } else {
-                // Update existing trip
-                String query = "UPDATE trips SET order_number=?, date=?, start_location=?, end_location=?, " +
-                             "status=?, total_amount=?, payment_method=?, passenger_count=?, notes=?, " +
-                             "vehicle_id=?, driver_id=?, route_id=? WHERE trip_id=?";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, orderNumberField.getText().trim());
-                pstmt.setString(2, dateField.getText().trim());
-                pstmt.setString(3, startLocationField.getText().trim());
-                pstmt.setString(4, endLocationField.getText().trim());
-                pstmt.setString(5, (String) statusCombo.getSelectedItem());
-                pstmt.setDouble(6, totalAmount);
-                pstmt.setString(7, (String) paymentMethodCombo.getSelectedItem());
-                pstmt.setInt(8, passengerCount);
-                pstmt.setString(9, notesArea.getText().trim());
-                pstmt.setInt(10, vehicleId);
-                pstmt.setInt(11, driverId);
-                pstmt.setInt(12, routeId == 0 ? null : routeId);
-                pstmt.setInt(13, tripId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                TripDao.update(trip);
             }
             
             success = true;
@@ -274,17 +243,6 @@ public class TripFormDialog extends JDialog {
         }
     }
     
-    private boolean isDuplicateOrderNumber(String orderNumber) throws SQLException {
-        String query = "SELECT COUNT(*) as count FROM trips WHERE order_number = ?";
-        PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-        pstmt.setString(1, orderNumber);
-        ResultSet rs = pstmt.executeQuery();
-        boolean exists = rs.next() && rs.getInt("count") > 0;
-        rs.close();
-        pstmt.close();
-        return exists;
-    }
-    
     private int extractIdFromCombo(JComboBox<String> combo) {
         String selected = (String) combo.getSelectedItem();
         if (selected != null && selected.contains("(ID: ") && !selected.equals("Select Vehicle") && 
@@ -0,0 +1,78 @@
+package com.transport;
+
+/**
+ * A row of the vehicles table. Immutable; an entity that has not been
+ * saved yet has id 0. The driver name comes from the join in
+ * {@link VehicleDao} and is null on entities built for saving.
+ */
+public final class Vehicle {
+    private final int id;
+    private final String name;
+    private final String identifier;
+    private final String type;
+    private final int capacity;
+    private final String location;
+    private final String contact;
+    private final String status;
+    private final Integer driverId;
+    private final String driverName;
+
+    public Vehicle(int id, String name, String identifier, String type, int capacity, String location,
+            String contact, String status, Integer driverId, String driverName) {
+        this.id = id;
+        this.name = name;
+        this.identifier = identifier;
+        this.type = type;
+        this.capacity = capacity;
+        this.location = location;
+        this.contact = contact;
+        this.status = status;
+        this.driverId = driverId;
+        this.driverName = driverName;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getContact() {
+        return contact;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getDriverId() {
+        return driverId;
+    }
+
+    public String getDriverName() {
+        return driverName;
+    }
+
+    @Override
+    public String toString() {
+        return "Vehicle " + id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.transport;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * All reads and writes of the vehicles table. Vehicles are read together
+ * with the name of their assigned driver. Writes publish the change on the
+ * {@link ChangeFeed} and invalidate the dashboard statistics.
+ */
+public final class VehicleDao {
+    // Column order is what map() reads; append WHERE / ORDER BY on the v. columns
+    static final String SELECT =
+        "SELECT v.vehicle_id, v.name, v.identifier, v.type, v.capacity, v.location, v.contact, v.status, " +
+        "v.driver_id, d.full_name " +
+        "FROM vehicles v LEFT JOIN drivers d ON v.driver_id = d.driver_id";
+    private static final String INSERT =
+        "INSERT INTO vehicles (name, identifier, type, capacity, location, contact, status, driver_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+        "UPDATE vehicles SET name=?, identifier=?, type=?, capacity=?, location=?, contact=?, status=?, " +
+        "driver_id=? WHERE vehicle_id=?";
+
+    private VehicleDao() {
+    }
+
+    public static Vehicle map(ResultSet rs) throws SQLException {
+        return new Vehicle(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getInt(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getString(8),
+            Dao.getInteger(rs, 9),
+            rs.getString(10)
+        );
+    }
+
+    public static Vehicle findById(int vehicleId) throws SQLException {
+        return Dao.findOne(SELECT + " WHERE v.vehicle_id = ?", pstmt -> pstmt.setInt(1, vehicleId), VehicleDao::map);
+    }
+
+    public static Map<Integer, String> findNames() throws SQLException {
+        return Dao.labels("SELECT vehicle_id, name FROM vehicles");
+    }
+
+    /**
+     * Names of the vehicles that can take a new trip.
+     */
+    public static Map<Integer, String> findAvailableNames() throws SQLException {
+        return Dao.labels("SELECT vehicle_id, name FROM vehicles WHERE status IN ('Available', 'On Trip')");
+    }
+
+    public static boolean identifierExists(String identifier) throws SQLException {
+        return Dao.exists("SELECT 1 FROM vehicles WHERE identifier = ?", identifier);
+    }
+
+    public static int count() throws SQLException {
+        return Dao.count("SELECT COUNT(*) FROM vehicles", null);
+    }
+
+    /**
+     * Inserts the vehicle (its id is ignored) and returns the new id.
+     */
+    public static int insert(Vehicle vehicle) throws SQLException {
+        int id = Dao.insert(INSERT, pstmt -> bind(pstmt, vehicle));
+        Dao.changed(ChangeFeed.Entity.VEHICLE, ChangeFeed.Kind.INSERTED, id);
+        return id;
+    }
+
+    public static void update(Vehicle vehicle) throws SQLException {
+        Dao.update(UPDATE, pstmt -> {
+            bind(pstmt, vehicle);
+            pstmt.setInt(9, vehicle.getId());
+        });
+        Dao.changed(ChangeFeed.Entity.VEHICLE, ChangeFeed.Kind.UPDATED, vehicle.getId());
+    }
+
+    public static void delete(int vehicleId) throws SQLException {
+        Dao.update("DELETE FROM vehicles WHERE vehicle_id = ?", pstmt -> pstmt.setInt(1, vehicleId));
+        Dao.changed(ChangeFeed.Entity.VEHICLE, ChangeFeed.Kind.DELETED, vehicleId);
+    }
+
+    private static void bind(PreparedStatement pstmt, Vehicle vehicle) throws SQLException {
+        pstmt.setString(1, vehicle.getName());
+        pstmt.setString(2, vehicle.getIdentifier());
+        pstmt.setString(3, vehicle.getType());
+        pstmt.setInt(4, vehicle.getCapacity());
+        pstmt.setString(5, vehicle.getLocation());
+        pstmt.setString(6, vehicle.getContact());
+        pstmt.setString(7, vehicle.getStatus());
+        Dao.setInteger(pstmt, 8, vehicle.getDriverId());
+    }
+}
\ No newline at end of file
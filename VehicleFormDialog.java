@@ -2,9 +2,8 @@ package com.transport;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
 
 public class VehicleFormDialog extends JDialog {
     private boolean success = false;
@@ -84,13 +83,9 @@ public class VehicleFormDialog extends JDialog {
     
     private void loadDrivers() {
         try {
-            ResultSet rs = DatabaseConnection.executeQuery(
-                "SELECT driver_id, full_name FROM drivers WHERE status = 'Active'"
-            );
-            while (rs.next()) {
-                driverCombo.addItem(rs.getString("full_name") + " (ID: " + rs.getInt("driver_id") + ")");
+            for (Map.Entry<Integer, String> driver : DriverDao.findActiveNames().entrySet()) {
+                driverCombo.addItem(driver.getValue() + " (ID: " + driver.getKey() + ")");
             }
-            rs.getStatement().close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading drivers: " + e.getMessage());
         }
@@ -98,26 +93,20 @@ public class VehicleFormDialog extends JDialog {
     
     private void loadVehicleData() {
         try {
-            String query = "SELECT v.*, d.full_name FROM vehicles v LEFT JOIN drivers d ON v.driver_id = d.driver_id WHERE v.vehicle_id = ?";
-            PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-            pstmt.setInt(1, vehicleId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                nameField.setText(rs.getString("name"));
-                identifierField.setText(rs.getString("identifier"));
-                typeCombo.setSelectedItem(rs.getString("type"));
-                capacityField.setText(String.valueOf(rs.getInt("capacity")));
-                locationField.setText(rs.getString("location"));
-                contactField.setText(rs.getString("contact"));
-                statusCombo.setSelectedItem(rs.getString("status"));
+            Vehicle vehicle = VehicleDao.findById(vehicleId);
+            if (vehicle != null) {
+                nameField.setText(vehicle.getName());
+                identifierField.setText(vehicle.getIdentifier());
+                typeCombo.setSelectedItem(vehicle.getType());
+                capacityField.setText(String.valueOf(vehicle.getCapacity()));
+                locationField.setText(vehicle.getLocation());
+                contactField.setText(vehicle.getContact());
+                statusCombo.setSelectedItem(vehicle.getStatus());
                 
-                if (rs.getString("full_name") != null) {
-                    driverCombo.setSelectedItem(rs.getString("full_name") + " (ID: " + rs.getInt("driver_id") + ")");
+                if (vehicle.getDriverName() != null) {
+                    driverCombo.setSelectedItem(vehicle.getDriverName() + " (ID: " + vehicle.getDriverId() + ")");
                 }
             }
-            rs.close();
-            pstmt.close();
         } catch (SQLException e) {
             JOptionPane.showMessageDialog(this, "Error loading vehicle data: " + e.getMessage());
         }
@@ -145,29 +134,28 @@ public class VehicleFormDialog extends JDialog {
             int capacity = Integer.parseInt(capacityField.getText().trim());
             Integer driverId = extractIdFromCombo(driverCombo);
             
+            Vehicle vehicle = new Vehicle(
+                vehicleId == null ? 0 : vehicleId,
+                nameField.getText().trim(),
+                identifierField.getText().trim(),
+                (String) typeCombo.getSelectedItem(),
+                capacity,
+                locationField.getText().trim(),
+                contactField.getText().trim(),
+                (String) statusCombo.getSelectedItem(),
+                driverId,
+                null
+            );
+            
             if (vehicleId == null) {
                 // Check for duplicate identifier
-                if (isDuplicateIdentifier(identifierField.getText().trim())) {
+                if (VehicleDao.identifierExists(vehicle.getIdentifier())) {
                     JOptionPane.showMessageDialog(this, "Vehicle identifier already exists!", "Validation Error", JOptionPane.ERROR_MESSAGE);
                     identifierField.requestFocus();
                     return;
                 }
                 
-                // Insert new vehicle
-                String query = "INSERT INTO vehicles (name, identifier, type, capacity, location, contact, status, driver_id) " +
-                             "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, nameField.getText().trim());
-                pstmt.setString(2, identifierField.getText().trim());
-                pstmt.setString(3, (String) typeCombo.getSelectedItem());
-                pstmt.setInt(4, capacity);
-                pstmt.setString(5, locationField.getText().trim());
-                pstmt.setString(6, contactField.getText().trim());
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                pstmt.setObject(8, driverId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                VehicleDao.insert(vehicle);
                 
                 DatabaseConnection.addNotification(
                     "New Vehicle Added",
@@ -177,22 +165,7 @@ public class VehicleFormDialog extends JDialog {
                 );
                 
             } else {
-                // Update vehicle
-                String query = "UPDATE vehicles SET name=?, identifier=?, type=?, capacity=?, " +
-                             "location=?, contact=?, status=?, driver_id=? WHERE vehicle_id=?";
-                PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-                pstmt.setString(1, nameField.getText().trim());
-                pstmt.setString(2, identifierField.getText().trim());
-                pstmt.setString(3, (String) typeCombo.getSelectedItem());
-                pstmt.setInt(4, capacity);
-                pstmt.setString(5, locationField.getText().trim());
-                pstmt.setString(6, contactField.getText().trim());
-                pstmt.setString(7, (String) statusCombo.getSelectedItem());
-                pstmt.setObject(8, driverId);
-                pstmt.setInt(9, vehicleId);
-                
-                pstmt.executeUpdate();
-                pstmt.close();
+                VehicleDao.update(vehicle);
             }
             
             success = true;
@@ -209,17 +182,6 @@ public class VehicleFormDialog extends JDialog {
         }
     }
     
-    private boolean isDuplicateIdentifier(String identifier) throws SQLException {
-        String query = "SELECT COUNT(*) as count FROM vehicles WHERE identifier = ?";
-        PreparedStatement pstmt = DatabaseConnection.getConnection().prepareStatement(query);
-        pstmt.setString(1, identifier);
-        ResultSet rs = pstmt.executeQuery();
-        boolean exists = rs.next() && rs.getInt("count") > 0;
-        rs.close();
-        pstmt.close();
-        return exists;
-    }
-    
     private Integer extractIdFromCombo(JComboBox<String> combo) {
         String selected = (String) combo.getSelectedItem();
         if (selected != null && selected.contains("(ID: ") && !selected.equals("Unassigned")) {
@@ -0,0 +1,77 @@
+package com.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Synthetic databases for the benchmarks. A template is seeded once per
+ * scale (and day, since the dashboard counts "today") through the real
+ * migrations and kept in bench.dataDir (default: the temp directory); each
+ * benchmark fork then works on its own copy, so inserts made by one run do
+ * not leak into the next.
+ *
+ * The data comes from FleetDataGenerator with its default seed, so the
+ * same scale on the same day always gives the same database.
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Returns a fresh working copy of the database for the given scale,
+     * seeding the template first if it does not exist yet.
+     */
+    static File prepare(int drivers, int vehicles, int trips, int ticketedPercent) throws IOException, SQLException {
+        File dataDir = new File(System.getProperty("bench.dataDir",
+            new File(System.getProperty("java.io.tmpdir"), "transport-bench").getPath()));
+        if (!dataDir.exists() && !dataDir.mkdirs()) {
+            throw new IOException("Cannot create " + dataDir);
+        }
+        LocalDate today = LocalDate.now();
+        String name = "fleet-d" + drivers + "-v" + vehicles + "-t" + trips + "-p" + ticketedPercent +
+            "-" + today.format(DateTimeFormatter.BASIC_ISO_DATE) + ".db";
+        File template = new File(dataDir, name);
+        if (!template.exists()) {
+            File partial = new File(dataDir, name + ".partial");
+            Files.deleteIfExists(partial.toPath());
+            seed(partial, new FleetDataGenerator.Scale(drivers, vehicles, trips, ticketedPercent), today);
+            Files.move(partial.toPath(), template.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("✅ Seeded " + template.getName());
+        }
+        File work = File.createTempFile("fleet-work-", ".db", dataDir);
+        Files.copy(template.toPath(), work.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return work;
+    }
+
+    /**
+     * Deletes a working copy and its WAL files.
+     */
+    static void delete(File work) throws IOException {
+        Files.deleteIfExists(work.toPath());
+        Files.deleteIfExists(new File(work.getPath() + "-wal").toPath());
+        Files.deleteIfExists(new File(work.getPath() + "-shm").toPath());
+    }
+
+    private static void seed(File file, FleetDataGenerator.Scale scale, LocalDate today) throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath())) {
+            try (Statement stmt = conn.createStatement()) {
+                // A template that fails half-way is thrown away, so durability is not needed here
+                stmt.execute("PRAGMA journal_mode = OFF");
+            }
+            MigrationRunner.migrate(conn, Migrations.all());
+            FleetDataGenerator.generate(conn, FleetDataGenerator.DEFAULT_SEED, scale, today, null);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.transport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard statistics: recomputed after a write (cold) and served from the
+ * snapshot (cached).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardBenchmark {
+
+    @Benchmark
+    public DashboardStatsService.Snapshot statsCold(FleetState fleet) throws SQLException {
+        DashboardStatsService.invalidate();
+        return DashboardStatsService.getSnapshot();
+    }
+
+    @Benchmark
+    public DashboardStatsService.Snapshot statsCached(FleetState fleet) throws SQLException {
+        return DashboardStatsService.getSnapshot();
+    }
+
+    @Benchmark
+    public int unreadNotifications(FleetState fleet) {
+        return DatabaseConnection.getUnreadNotificationCount();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.transport;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Points DatabaseConnection at a seeded database of the requested scale.
+ * Change the scale from the command line, e.g. -p trips=1000000.
+ *
+ * DatabaseConnection reads its URL once per JVM, so every trial needs its
+ * own fork; running with -f 0 is refused.
+ */
+@State(Scope.Benchmark)
+public class FleetState {
+    private static File openedDatabase;
+
+    @Param("500")
+    public int drivers;
+
+    @Param("1000")
+    public int vehicles;
+
+    @Param("100000")
+    public int trips;
+
+    @Param("10")
+    public int ticketedPercent;
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        synchronized (FleetState.class) {
+            if (openedDatabase != null) {
+                throw new IllegalStateException("Each trial needs its own JVM; run with forks >= 1");
+            }
+            openedDatabase = BenchmarkDatabase.prepare(drivers, vehicles, trips, ticketedPercent);
+        }
+        System.setProperty("transport.db.url", "jdbc:sqlite:" + openedDatabase.getAbsolutePath());
+        System.setProperty("transport.db.planCheck", "false");
+        // Opens the pool; the template is already migrated and seeded, so this only checks
+        DatabaseConnection.getConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        NotificationWriter.shutdown();
+        DatabaseConnection.closeConnection();
+        BenchmarkDatabase.delete(openedDatabase);
+    }
+
+    /**
+     * Reads all rows of the query through the same mapper the table uses.
+     */
+    static List<Object[]> readAll(String sql, AsyncTableLoader.RowMapper mapper) throws java.sql.SQLException {
+        return DatabaseConnection.read(sql, rs -> {
+            List<Object[]> rows = new ArrayList<>();
+            while (rs.next()) {
+                rows.add(mapper.map(rs));
+            }
+            return rows;
+        });
+    }
+}
\ No newline at end of file
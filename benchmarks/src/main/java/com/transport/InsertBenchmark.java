@@ -0,0 +1,63 @@
+package com.transport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row inserts as the form dialogs make them, through the DAOs: one
+ * statement per save, committed on its own, with the FTS triggers and
+ * indexes maintained.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBenchmark {
+    private FleetState fleet;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void prepare(FleetState fleet) {
+        this.fleet = fleet;
+        // Unique per fork, so numbers never clash with the seeded rows or an earlier fork
+        sequence = System.currentTimeMillis() * 1000;
+    }
+
+    @Benchmark
+    public int insertTrip() throws SQLException {
+        long n = ++sequence;
+        return TripDao.insert(new Trip(0, "BENCH-" + n, DateRanges.today() + " 12:00", "Kigali", "Musanze",
+            "Scheduled", 25.0, "Cash", 1, "", 1 + (int) (n % fleet.vehicles), 1 + (int) (n % fleet.drivers), 1,
+            null, null));
+    }
+
+    @Benchmark
+    public int insertTicket() throws SQLException {
+        long n = ++sequence;
+        return TicketDao.insert(new Ticket(0, "BENCH-" + n, "Bench Passenger", "+250780000000",
+            "bench@example.com", "A1", 10.0, "Confirmed", 1 + (int) (n % fleet.trips)));
+    }
+
+    /**
+     * Cost seen by the caller: the notification is queued and written in a
+     * batch by the writer thread, unless the queue is full.
+     */
+    @Benchmark
+    public void addNotification() {
+        DatabaseConnection.addNotification("Benchmark", "Notification " + ++sequence, "system", "Low");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.transport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queries behind each report type in ReportsPanel, over a short and
+ * the longest time range. Report cost should follow the range, not the
+ * size of the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportBenchmark {
+    @Param({"Last Month", "All Time"})
+    public String range;
+
+    private ReportWindow window;
+
+    @Setup(Level.Trial)
+    public void selectWindow() {
+        window = ReportWindow.of(range, LocalDate.now());
+    }
+
+    @Benchmark
+    public void revenueByMonth(FleetState fleet, Blackhole blackhole) throws SQLException {
+        DatabaseConnection.read(ReportsPanel.REVENUE_BY_MONTH_QUERY, pstmt -> window.bindMonths(pstmt, 1),
+            rs -> consume(rs, blackhole));
+    }
+
+    @Benchmark
+    public void revenueByDay(FleetState fleet, Blackhole blackhole) throws SQLException {
+        DatabaseConnection.read(ReportsPanel.REVENUE_BY_DAY_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> consume(rs, blackhole));
+    }
+
+    @Benchmark
+    public void tripsByStatus(FleetState fleet, Blackhole blackhole) throws SQLException {
+        DatabaseConnection.read(ReportsPanel.TRIPS_BY_STATUS_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> consume(rs, blackhole));
+    }
+
+    @Benchmark
+    public void vehicleUtilization(FleetState fleet, Blackhole blackhole) throws SQLException {
+        DatabaseConnection.read(ReportsPanel.VEHICLE_UTILIZATION_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> consume(rs, blackhole));
+    }
+
+    @Benchmark
+    public void driverPerformance(FleetState fleet, Blackhole blackhole) throws SQLException {
+        DatabaseConnection.read(ReportsPanel.DRIVER_PERFORMANCE_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> consume(rs, blackhole));
+    }
+
+    @Benchmark
+    public void maintenanceHistory(FleetState fleet, Blackhole blackhole) throws SQLException {
+        DatabaseConnection.read(ReportsPanel.MAINTENANCE_HISTORY_QUERY, pstmt -> window.bind(pstmt, 1),
+            rs -> consume(rs, blackhole));
+    }
+
+    @Benchmark
+    public void ticketSales(FleetState fleet, Blackhole blackhole) throws SQLException {
+        if (window.isAllTime()) {
+            DatabaseConnection.read(ReportsPanel.ALL_TICKET_SALES_QUERY, rs -> consume(rs, blackhole));
+        } else {
+            DatabaseConnection.read(ReportsPanel.TICKET_SALES_QUERY, pstmt -> window.bind(pstmt, 1),
+                rs -> consume(rs, blackhole));
+        }
+    }
+
+    private static Void consume(java.sql.ResultSet rs, Blackhole blackhole) throws SQLException {
+        int columns = rs.getMetaData().getColumnCount();
+        while (rs.next()) {
+            for (int i = 1; i <= columns; i++) {
+                blackhole.consume(rs.getObject(i));
+            }
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.transport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search filtering: the trigram index over an in-memory table against a
+ * plain scan, and FTS5 over trips against LIKE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    private static final String TABLE_QUERY = "brake system";
+    private static final String TRIP_QUERY = "kimironko";
+    private static final int LIMIT = 200;
+
+    private List<Object[]> maintenanceRows;
+    private TableSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void loadRows(FleetState fleet) throws SQLException {
+        maintenanceRows = FleetState.readAll(CompleteTransportSystem.MAINTENANCE_QUERY + " ORDER BY m.maintenance_date DESC",
+            CompleteTransportSystem.MAINTENANCE_ROW);
+        index = TableSearchIndex.build(maintenanceRows);
+    }
+
+    @Benchmark
+    public TableSearchIndex indexBuild() {
+        return TableSearchIndex.build(maintenanceRows);
+    }
+
+    @Benchmark
+    public BitSet indexSearch() {
+        return index.search(TABLE_QUERY);
+    }
+
+    /**
+     * What filtering cost before the index: every cell of every row.
+     */
+    @Benchmark
+    public BitSet scanSearch() {
+        BitSet matches = new BitSet(maintenanceRows.size());
+        for (int row = 0; row < maintenanceRows.size(); row++) {
+            for (Object value : maintenanceRows.get(row)) {
+                if (value != null && value.toString().toLowerCase(Locale.ROOT).contains(TABLE_QUERY)) {
+                    matches.set(row);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<Integer> fullTextTrips() throws SQLException {
+        return FullTextSearch.search(FullTextSearch.Index.TRIPS, TRIP_QUERY, LIMIT);
+    }
+
+    @Benchmark
+    public List<Integer> likeTrips() throws SQLException {
+        String pattern = "%" + TRIP_QUERY + "%";
+        return DatabaseConnection.read(
+            "SELECT trip_id FROM trips WHERE order_number LIKE ? OR start_location LIKE ? OR end_location LIKE ? " +
+            "OR status LIKE ? OR notes LIKE ? LIMIT " + LIMIT,
+            pstmt -> {
+                for (int i = 1; i <= 5; i++) {
+                    pstmt.setString(i, pattern);
+                }
+            },
+            rs -> {
+                List<Integer> ids = new ArrayList<>();
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+                return ids;
+            });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.transport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The queries behind the load*Data() loaders and the first page of the paged
+ * trips table, mapped to rows exactly as the tables do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableLoadBenchmark {
+    private static final int PAGE_SIZE = 200;
+
+    @Benchmark
+    public List<Object[]> loadDrivers(FleetState fleet) throws SQLException {
+        return FleetState.readAll(CompleteTransportSystem.DRIVERS_QUERY + " ORDER BY driver_id",
+            CompleteTransportSystem.DRIVER_ROW);
+    }
+
+    @Benchmark
+    public List<Object[]> loadVehicles(FleetState fleet) throws SQLException {
+        return FleetState.readAll(CompleteTransportSystem.VEHICLES_QUERY + " ORDER BY v.vehicle_id",
+            CompleteTransportSystem.VEHICLE_ROW);
+    }
+
+    @Benchmark
+    public List<Object[]> loadRoutes(FleetState fleet) throws SQLException {
+        return FleetState.readAll(CompleteTransportSystem.ROUTES_QUERY + " ORDER BY route_id",
+            CompleteTransportSystem.ROUTE_ROW);
+    }
+
+    @Benchmark
+    public List<Object[]> loadMaintenance(FleetState fleet) throws SQLException {
+        return FleetState.readAll(CompleteTransportSystem.MAINTENANCE_QUERY + " ORDER BY m.maintenance_date DESC",
+            CompleteTransportSystem.MAINTENANCE_ROW);
+    }
+
+    @Benchmark
+    public List<Object[]> tripsFirstPage(FleetState fleet) throws SQLException {
+        return FleetState.readAll(CompleteTransportSystem.TRIPS_SELECT + " " + CompleteTransportSystem.TRIPS_FROM +
+            " ORDER BY t.date DESC, t.trip_id DESC LIMIT " + PAGE_SIZE, CompleteTransportSystem.TRIP_ROW);
+    }
+
+    @Benchmark
+    public int tripsCount(FleetState fleet) throws SQLException {
+        return DatabaseConnection.read("SELECT COUNT(*) FROM trips t", rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+
+    /**
+     * The legacy writer-connection helper, for comparison with the pooled read.
+     */
+    @Benchmark
+    public void loadDriversLegacy(FleetState fleet, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = DatabaseConnection.executeQuery(CompleteTransportSystem.DRIVERS_QUERY + " ORDER BY driver_id")) {
+            while (rs.next()) {
+                blackhole.consume(CompleteTransportSystem.DRIVER_ROW.map(rs));
+            }
+            rs.getStatement().close();
+        }
+    }
+}
\ No newline at end of file